@@ -0,0 +1,84 @@
+package com.management_system.library.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * The full {@code /api/books} request path (dispatch, argument binding,
+ * service, repository and JSON encoding) through MockMvc, without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookControllerBenchmark {
+
+    private static final AtomicLong ISBNS = new AtomicLong();
+
+    @Param({ "caffeine", "none" })
+    public String cache;
+
+    private LibraryFixture fixture;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = LibraryFixture.start(true, cache, 1_000, 20);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) fixture.context()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] getBookById() throws Exception {
+        return mockMvc.perform(get("/api/books/{id}", fixture.randomBookId()))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getBooksByAuthorId() throws Exception {
+        return mockMvc.perform(get("/api/books/author/{authorId}", fixture.randomAuthorId()))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getBooksPage() throws Exception {
+        return mockMvc.perform(get("/api/books").param("after", fixture.randomBookId().toString())
+                .param("limit", "100"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] createBook() throws Exception {
+        String body = "{\"title\":\"Benchmark book\",\"isbn\":\"BENCH-" + ISBNS.incrementAndGet()
+                + "\",\"publicationDate\":\"2020-01-01\",\"author\":{\"id\":" + fixture.randomAuthorId() + "}}";
+        return mockMvc.perform(post("/api/books").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,93 @@
+package com.management_system.library.benchmark;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.BookService;
+
+/**
+ * Reads and writes through {@link BookService} and {@link AuthorService} on an
+ * embedded H2 catalog, with the caches on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final AtomicLong ISBNS = new AtomicLong();
+
+    @Param({ "caffeine", "none" })
+    public String cache;
+
+    private LibraryFixture fixture;
+    private BookService bookService;
+    private AuthorService authorService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = LibraryFixture.start(false, cache, 1_000, 20);
+        bookService = fixture.bean(BookService.class);
+        authorService = fixture.bean(AuthorService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Optional<Book> getBookById() {
+        return bookService.getBookById(fixture.randomBookId());
+    }
+
+    @Benchmark
+    public Optional<Author> getAuthorById() {
+        return authorService.getAuthorById(fixture.randomAuthorId());
+    }
+
+    @Benchmark
+    public List<Book> getBooksByAuthorId() {
+        return bookService.getBooksByAuthorId(fixture.randomAuthorId());
+    }
+
+    @Benchmark
+    public CursorPage<Book> getBooksPage() {
+        return bookService.getBooksAfter(fixture.randomBookId(), 100);
+    }
+
+    @Benchmark
+    public Book saveBook() {
+        Author author = new Author();
+        author.setId(fixture.randomAuthorId());
+        Book book = new Book();
+        book.setTitle("Benchmark book");
+        book.setIsbn("BENCH-" + ISBNS.incrementAndGet());
+        book.setPublicationDate(new Date());
+        book.setAuthor(author);
+        return bookService.saveBook(book);
+    }
+}
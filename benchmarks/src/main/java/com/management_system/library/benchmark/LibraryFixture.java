@@ -0,0 +1,124 @@
+package com.management_system.library.benchmark;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.management_system.library.LibraryApplication;
+
+/**
+ * Starts the library application on a private in-memory H2 database and seeds
+ * it with a catalog of the requested size. Rows are inserted with JDBC batches
+ * so setup stays fast and nothing is pre-loaded into the caches.
+ * <p>
+ * Setting the {@code bench.jdbc.url} system property, with
+ * {@code bench.jdbc.username} and {@code bench.jdbc.password}, runs against
+ * that database instead. It must be a scratch database: it is migrated and
+ * emptied before seeding.
+ */
+final class LibraryFixture implements AutoCloseable {
+
+    private static final AtomicLong DATABASES = new AtomicLong();
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> authorIds;
+    private final List<Long> bookIds;
+
+    private LibraryFixture(ConfigurableApplicationContext context, List<Long> authorIds, List<Long> bookIds) {
+        this.context = context;
+        this.authorIds = authorIds;
+        this.bookIds = bookIds;
+    }
+
+    static LibraryFixture start(boolean web, String cacheType, int authors, int booksPerAuthor) {
+        return start(web, cacheType, authors, booksPerAuthor, List.of());
+    }
+
+    /** Starts with additional application properties, given as {@code name=value}. */
+    static LibraryFixture start(boolean web, String cacheType, int authors, int booksPerAuthor,
+            List<String> properties) {
+        SpringApplication application = new SpringApplication(LibraryApplication.class);
+        application.setWebApplicationType(web ? WebApplicationType.SERVLET : WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.driver-class-name=",
+                "--spring.cache.type=" + cacheType,
+                "--library.rate-limit.enabled=false",
+                "--library.admission.enabled=false",
+                "--logging.level.root=WARN"));
+        if (isExternalDatabase()) {
+            args.add("--spring.datasource.url=" + System.getProperty("bench.jdbc.url"));
+            args.add("--spring.datasource.username=" + System.getProperty("bench.jdbc.username", ""));
+            args.add("--spring.datasource.password=" + System.getProperty("bench.jdbc.password", ""));
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:bench-" + DATABASES.incrementAndGet()
+                    + ";DB_CLOSE_DELAY=-1");
+            args.add("--spring.datasource.username=sa");
+            args.add("--spring.datasource.password=");
+        }
+        properties.forEach(property -> args.add("--" + property));
+        ConfigurableApplicationContext context = application.run(args.toArray(String[]::new));
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        if (isExternalDatabase()) {
+            for (String table : List.of("change_event", "author_stats", "book", "author")) {
+                jdbc.update("delete from " + table);
+            }
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        List<Object[]> authorRows = new ArrayList<>();
+        for (int a = 0; a < authors; a++) {
+            authorRows.add(new Object[] { "Author " + a, now, now });
+        }
+        jdbc.batchUpdate("insert into author (name, birthdate, version, last_modified) values (?, ?, 0, ?)",
+                authorRows);
+        List<Long> authorIds = jdbc.queryForList("select id from author order by id", Long.class);
+
+        List<Object[]> bookRows = new ArrayList<>();
+        for (Long authorId : authorIds) {
+            for (int b = 0; b < booksPerAuthor; b++) {
+                bookRows.add(new Object[] {
+                        "Book " + authorId + "-" + b, "SEED-" + authorId + "-" + b, now, authorId, now });
+            }
+        }
+        jdbc.batchUpdate("insert into book (title, isbn, publication_date, author_id, version, last_modified) "
+                + "values (?, ?, ?, ?, 0, ?)", bookRows);
+        jdbc.update("insert into author_stats (author_id, book_count, first_publication_date, last_publication_date) "
+                + "select author_id, count(*), min(publication_date), max(publication_date) from book "
+                + "group by author_id");
+        List<Long> bookIds = jdbc.queryForList("select id from book order by id", Long.class);
+        return new LibraryFixture(context, authorIds, bookIds);
+    }
+
+    static boolean isExternalDatabase() {
+        return System.getProperty("bench.jdbc.url") != null;
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long randomAuthorId() {
+        return authorIds.get(ThreadLocalRandom.current().nextInt(authorIds.size()));
+    }
+
+    Long randomBookId() {
+        return bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
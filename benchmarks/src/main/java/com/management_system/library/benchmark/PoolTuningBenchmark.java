@@ -0,0 +1,145 @@
+package com.management_system.library.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.dto.BulkImportReport;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.BookService;
+import com.management_system.library.service.BulkImportService;
+
+/**
+ * Throughput of reads and single writes under concurrent load, and of bulk
+ * imports, with each group of settings from
+ * {@code application-production.properties} applied on its own and all together. The caches are off so that every call
+ * reaches the database. The driver settings are MySQL's and are only applied
+ * when {@code bench.jdbc.url} points at a MySQL database; on the embedded H2
+ * catalog the {@code driver} case runs the base configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class PoolTuningBenchmark {
+
+    private static final String PROFILE = "application-production.properties";
+    private static final String DRIVER = "spring.datasource.hikari.data-source-properties.";
+    private static final String HIBERNATE = "spring.jpa.properties.";
+    private static final String DOCS = "springdoc.";
+    private static final int IMPORT_SIZE = 100;
+    private static final AtomicLong ISBNS = new AtomicLong();
+
+    @Param({ "base", "pool", "driver", "hibernate", "production" })
+    public String settings;
+
+    private LibraryFixture fixture;
+    private BookService bookService;
+    private BulkImportService bulkImportService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = LibraryFixture.start(false, "none", 1_000, 20, properties(settings));
+        bookService = fixture.bean(BookService.class);
+        bulkImportService = fixture.bean(BulkImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Book getBookById() {
+        return bookService.getBookById(fixture.randomBookId()).orElseThrow();
+    }
+
+    @Benchmark
+    public CursorPage<Book> findBooksByAuthor() {
+        BookQuery query = new BookQuery(null, null, List.of(fixture.randomAuthorId()), null, null,
+                BookQuery.SortKey.PUBLICATION_DATE, false);
+        return bookService.findBooks(query, null, 20);
+    }
+
+    @Benchmark
+    public Book saveBook() {
+        Author author = new Author();
+        author.setId(fixture.randomAuthorId());
+        Book book = new Book();
+        book.setTitle("Benchmark book");
+        book.setIsbn("POOL-" + ISBNS.incrementAndGet());
+        book.setPublicationDate(new Date());
+        book.setAuthor(author);
+        return bookService.saveBook(book);
+    }
+
+    /**
+     * Books imported per second by one client. Concurrent imports over the same
+     * authors queue on the statistics rows, which would hide the batching.
+     */
+    @Benchmark
+    @Threads(1)
+    @OperationsPerInvocation(IMPORT_SIZE)
+    public BulkImportReport importBooks() throws IOException {
+        StringBuilder csv = new StringBuilder("title,isbn,publicationDate,authorId\n");
+        for (int i = 0; i < IMPORT_SIZE; i++) {
+            csv.append("Imported book,POOL-").append(ISBNS.incrementAndGet()).append(",2020-01-01,")
+                    .append(fixture.randomAuthorId()).append('\n');
+        }
+        return bulkImportService.importBooksCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /** The properties of the profile that belong to the named group. */
+    static List<String> properties(String settings) {
+        Properties profile = new Properties();
+        try (InputStream in = PoolTuningBenchmark.class.getClassLoader().getResourceAsStream(PROFILE)) {
+            profile.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        boolean mysql = LibraryFixture.isExternalDatabase()
+                && System.getProperty("bench.jdbc.url").startsWith("jdbc:mysql:");
+        List<String> selected = new ArrayList<>();
+        for (String name : profile.stringPropertyNames()) {
+            if (name.startsWith(DOCS)) {
+                continue; // StartupBenchmark covers the API docs
+            }
+            String group = name.startsWith(DRIVER) ? "driver" : name.startsWith(HIBERNATE) ? "hibernate" : "pool";
+            if ((settings.equals(group) || settings.equals("production")) && (mysql || !group.equals("driver"))) {
+                selected.add(name + "=" + profile.getProperty(name));
+            }
+        }
+        return selected;
+    }
+}
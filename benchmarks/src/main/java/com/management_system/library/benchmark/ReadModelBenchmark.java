@@ -0,0 +1,142 @@
+package com.management_system.library.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.readmodel.AuthorRow;
+import com.management_system.library.readmodel.BookRow;
+import com.management_system.library.readmodel.CatalogReadModel;
+import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.BookService;
+
+/**
+ * Lookups by id through the services with the caches off, answered by the
+ * database ({@code jpa}) or by the in-memory read model ({@code read-model}),
+ * and straight from the read model's rows. Run with {@code -prof gc} to see
+ * the row lookups allocate nothing. Setup prints the heap the read model takes
+ * per book.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadModelBenchmark {
+
+    private static final int AUTHORS = 5_000;
+    private static final int BOOKS_PER_AUTHOR = 20;
+
+    @State(Scope.Benchmark)
+    public static class Services {
+
+        @Param({ "jpa", "read-model" })
+        public String source;
+
+        LibraryFixture fixture;
+        BookService bookService;
+        AuthorService authorService;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = start(source.equals("read-model"));
+            bookService = fixture.bean(BookService.class);
+            authorService = fixture.bean(AuthorService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Rows {
+
+        LibraryFixture fixture;
+        CatalogReadModel readModel;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            fixture = start(true);
+            readModel = fixture.bean(CatalogReadModel.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+
+    /**
+     * Starts the application on a seeded catalog. The seed rows are inserted
+     * after startup and outside the change feed, so the read model is built
+     * again once they are in.
+     */
+    private static LibraryFixture start(boolean readModel) {
+        LibraryFixture fixture = LibraryFixture.start(false, "none", AUTHORS, BOOKS_PER_AUTHOR,
+                List.of("library.read-model.enabled=" + readModel));
+        if (readModel) {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            CatalogReadModel model = fixture.bean(CatalogReadModel.class);
+            System.gc();
+            long before = memory.getHeapMemoryUsage().getUsed();
+            model.rebuild();
+            System.gc();
+            long after = memory.getHeapMemoryUsage().getUsed();
+            System.out.printf("%nRead model heap: about %d bytes per book%n",
+                    (after - before) / (AUTHORS * BOOKS_PER_AUTHOR));
+        }
+        return fixture;
+    }
+
+    @Benchmark
+    public Optional<Book> getBookById(Services services) {
+        return services.bookService.getBookById(services.fixture.randomBookId());
+    }
+
+    @Benchmark
+    public Optional<Author> getAuthorById(Services services) {
+        return services.authorService.getAuthorById(services.fixture.randomAuthorId());
+    }
+
+    @Benchmark
+    public List<Book> getBooksByAuthorId(Services services) {
+        return services.bookService.getBooksByAuthorId(services.fixture.randomAuthorId());
+    }
+
+    @Benchmark
+    public BookRow bookRow(Rows rows) {
+        return rows.readModel.bookRow(rows.fixture.randomBookId());
+    }
+
+    /** An author's books with the author's name, as a listing page would read them. */
+    @Benchmark
+    public void authorWithBookRows(Rows rows, Blackhole blackhole) {
+        long authorId = rows.fixture.randomAuthorId();
+        AuthorRow author = rows.readModel.authorRow(authorId);
+        blackhole.consume(rows.readModel.authorName(author));
+        for (long bookId : rows.readModel.bookIdsOf(authorId)) {
+            blackhole.consume(rows.readModel.bookRow(bookId));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.management_system.library.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.management_system.library.dto.SnapshotReport;
+import com.management_system.library.readmodel.CatalogReadModel;
+
+/**
+ * How long the read model takes to become ready: reading the whole catalog
+ * from the database, as an instance without a snapshot does, or mapping the
+ * snapshot file and catching up from the change feed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReadModelStartBenchmark {
+
+    private LibraryFixture fixture;
+    private CatalogReadModel readModel;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("library-snapshot-");
+        fixture = LibraryFixture.start(false, "none", 20_000, 25, List.of("library.read-model.enabled=true",
+                "library.read-model.snapshot.file=" + directory.resolve("catalog.snapshot")));
+        readModel = fixture.bean(CatalogReadModel.class);
+        SnapshotReport report = readModel.exportSnapshot();
+        System.out.printf("%nSnapshot: %d books, %d bytes%n", report.books(), report.bytes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        fixture.close();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void readFromDatabase() {
+        readModel.rebuild();
+    }
+
+    @Benchmark
+    public void mapSnapshot() {
+        readModel.start();
+    }
+}
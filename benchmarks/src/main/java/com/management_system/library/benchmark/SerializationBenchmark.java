@@ -0,0 +1,93 @@
+package com.management_system.library.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+/**
+ * Jackson encoding of book and author lists at several sizes, using the same
+ * defaults Spring Boot applies to its {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int BOOKS_PER_AUTHOR = 10;
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+    private List<Author> authors;
+    private List<BookSummary> summaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        books = new ArrayList<>(size);
+        authors = new ArrayList<>();
+        summaries = new ArrayList<>(size);
+        Author author = null;
+        for (int i = 0; i < size; i++) {
+            if (i % BOOKS_PER_AUTHOR == 0) {
+                author = new Author();
+                author.setId((long) authors.size() + 1);
+                author.setName("Author " + author.getId());
+                author.setBirthdate(new Date());
+                author.setBooks(new ArrayList<>());
+                authors.add(author);
+            }
+            Book book = new Book();
+            book.setId((long) i + 1);
+            book.setTitle("Book number " + i);
+            book.setIsbn("978-0-000-" + String.format("%05d", i) + "-0");
+            book.setPublicationDate(new Date());
+            book.setAuthor(author);
+            author.getBooks().add(book);
+            books.add(book);
+            summaries.add(new BookSummary(book.getId(), book.getTitle(), book.getIsbn(), book.getPublicationDate(),
+                    author.getId(), author.getName()));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeBooks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] writeAuthors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    @Benchmark
+    public byte[] writeBookSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
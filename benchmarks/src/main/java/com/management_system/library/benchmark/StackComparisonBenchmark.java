@@ -0,0 +1,284 @@
+package com.management_system.library.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.hc.client5.http.HttpHostConnectException;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * The same HTTP workload against the servlet application and its WebFlux
+ * flavour, each started in its own JVM on the same database. The servlet
+ * application runs from this class path, which has the H2 driver; the reactive
+ * one from the executable jar that {@code mvn install} builds in the
+ * library-reactive module.
+ * <p>
+ * By default each opens an H2 file database that this trial migrated, seeded
+ * with {@value #AUTHORS} authors of {@value #BOOKS_PER_AUTHOR} books each and
+ * closed again, so neither pays for a network hop the other does not.
+ * Setting {@code bench.jdbc.url} and {@code bench.r2dbc.url} to the same
+ * database, with {@code bench.jdbc.username} and {@code bench.jdbc.password},
+ * runs against that database instead. As for {@link LibraryFixture}, it must
+ * be a scratch database: it is migrated and emptied before seeding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(StackComparisonBenchmark.THREADS)
+@Fork(1)
+public class StackComparisonBenchmark {
+
+    static final int THREADS = 32;
+    static final int AUTHORS = 200;
+    static final int BOOKS_PER_AUTHOR = 50;
+    private static final String SERVLET_MAIN_CLASS = "com.management_system.library.LibraryApplication";
+    private static final Path REACTIVE_JAR = Path.of("..", "library-reactive", "target",
+            "library-reactive-0.0.1-SNAPSHOT-exec.jar");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({ "servlet", "reactive" })
+    public String stack;
+
+    private CloseableHttpClient client;
+    private Path databaseDirectory;
+    private Process application;
+    private String baseUrl;
+    private long[] bookIds;
+    private long[] authorIds;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) throws Exception {
+        client = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(params.getThreads())
+                        .setMaxConnPerRoute(params.getThreads())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(REQUEST_TIMEOUT))
+                        .build())
+                .build();
+        String jdbcUrl = System.getProperty("bench.jdbc.url");
+        String r2dbcUrl = System.getProperty("bench.r2dbc.url");
+        String user = System.getProperty("bench.jdbc.username", "sa");
+        String password = System.getProperty("bench.jdbc.password", "");
+        if (jdbcUrl == null) {
+            databaseDirectory = Files.createTempDirectory("compare-");
+            Path file = databaseDirectory.resolve("library").toAbsolutePath();
+            jdbcUrl = "jdbc:h2:file:" + file + ";DB_CLOSE_ON_EXIT=FALSE";
+            r2dbcUrl = "r2dbc:h2:file:///" + file + ";DB_CLOSE_ON_EXIT=FALSE";
+        }
+        String vendor = jdbcUrl.startsWith("jdbc:mysql:") ? "mysql" : "h2";
+        Flyway.configure()
+                .dataSource(jdbcUrl, user, password)
+                .locations("classpath:db/migration/" + vendor)
+                .load()
+                .migrate();
+        seed(jdbcUrl, user, password);
+
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=" + port,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        if (stack.equals("servlet")) {
+            arguments.addAll(List.of(
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.driver-class-name=",
+                    "--spring.datasource.username=" + user,
+                    "--spring.datasource.password=" + password,
+                    "--library.rate-limit.enabled=false",
+                    "--library.admission.enabled=false"));
+        } else {
+            arguments.addAll(List.of(
+                    "--spring.r2dbc.url=" + r2dbcUrl,
+                    "--spring.r2dbc.username=" + user,
+                    "--spring.r2dbc.password=" + password));
+        }
+        application = launch(arguments);
+        Process launched = application;
+        Runtime.getRuntime().addShutdownHook(new Thread(launched::destroy));
+        awaitReady();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        client.close();
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+        if (databaseDirectory != null) {
+            try (Stream<Path> files = Files.walk(databaseDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int getBookById() throws Exception {
+        return get("/api/books/" + bookIds[ThreadLocalRandom.current().nextInt(bookIds.length)]);
+    }
+
+    @Benchmark
+    public int getBooksPage() throws Exception {
+        long after = bookIds[ThreadLocalRandom.current().nextInt(bookIds.length - 100)];
+        return get("/api/books?limit=100&after=" + after);
+    }
+
+    @Benchmark
+    public int getBooksByAuthorId() throws Exception {
+        return get("/api/books/author/" + authorIds[ThreadLocalRandom.current().nextInt(authorIds.length)]);
+    }
+
+    private int get(String path) throws Exception {
+        return client.execute(new HttpGet(baseUrl + path), response -> {
+            if (response.getCode() != 200) {
+                throw new IllegalStateException(path + " answered " + response.getCode());
+            }
+            return EntityUtils.toByteArray(response.getEntity()).length;
+        });
+    }
+
+    private void seed(String url, String user, String password) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String table : List.of("change_event", "author_stats", "book", "author")) {
+                    statement.executeUpdate("delete from " + table);
+                }
+            }
+            insertCatalog(connection);
+            connection.commit();
+            authorIds = ids(connection, "select id from author order by id");
+            bookIds = ids(connection, "select id from book order by id");
+        }
+    }
+
+    private static void insertCatalog(Connection connection) throws Exception {
+        Timestamp now = Timestamp.from(Instant.now());
+        try (PreparedStatement author = connection.prepareStatement(
+                "insert into author (name, birthdate, version, last_modified) values (?, ?, 0, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement book = connection.prepareStatement("insert into book "
+                        + "(title, isbn, publication_date, author_id, version, last_modified) "
+                        + "values (?, ?, ?, ?, 0, ?)")) {
+            for (int a = 0; a < AUTHORS; a++) {
+                author.setString(1, "Author " + a);
+                author.setTimestamp(2, now);
+                author.setTimestamp(3, now);
+                author.executeUpdate();
+                long authorId;
+                try (ResultSet keys = author.getGeneratedKeys()) {
+                    keys.next();
+                    authorId = keys.getLong(1);
+                }
+                for (int b = 0; b < BOOKS_PER_AUTHOR; b++) {
+                    book.setString(1, "Book " + a + "-" + b);
+                    book.setString(2, "compare-" + a + "-" + b);
+                    book.setTimestamp(3, now);
+                    book.setLong(4, authorId);
+                    book.setTimestamp(5, now);
+                    book.addBatch();
+                }
+                book.executeBatch();
+            }
+        }
+    }
+
+    private static long[] ids(Connection connection, String sql) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            while (result.next()) {
+                ids.add(result.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private Process launch(List<String> arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (stack.equals("servlet")) {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(SERVLET_MAIN_CLASS);
+        } else {
+            if (!Files.exists(REACTIVE_JAR)) {
+                throw new IllegalStateException(REACTIVE_JAR + " is missing; run mvn install in library-reactive");
+            }
+            command.add("-jar");
+            command.add(REACTIVE_JAR.toString());
+        }
+        command.addAll(arguments);
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private void awaitReady() throws Exception {
+        HttpGet request = new HttpGet(baseUrl + "/api/books?limit=1");
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("The application exited with " + application.exitValue());
+            }
+            try {
+                if (client.execute(request, response -> response.getCode()) == 200) {
+                    return;
+                }
+            } catch (HttpHostConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("The application did not answer within " + START_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
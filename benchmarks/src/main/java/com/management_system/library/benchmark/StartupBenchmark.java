@@ -0,0 +1,171 @@
+package com.management_system.library.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from launching the application in a new JVM until it has served its
+ * first {@code /api/books} request, which is what an instance started by the
+ * autoscaler waits for. Each measurement starts a fresh process on an
+ * in-memory H2 catalog:
+ * <ul>
+ * <li>{@code default} runs as configured, with the API docs;</li>
+ * <li>{@code no-docs} switches springdoc off, as the production profile does;</li>
+ * <li>{@code cds} adds a class data sharing archive recorded by a training run;</li>
+ * <li>{@code aot} runs the ahead-of-time processed context, which needs the
+ * library jar built with {@code mvn -Pfast-start install};</li>
+ * <li>{@code aot-cds} combines the two.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.management_system.library.LibraryApplication";
+    private static final String AOT_INITIALIZER = MAIN_CLASS + "__ApplicationContextInitializer";
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({ "default", "no-docs", "cds", "aot", "aot-cds" })
+    public String mode;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<String> jvmOptions = new ArrayList<>();
+    private Path archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        if (mode.startsWith("aot")) {
+            try {
+                Class.forName(AOT_INITIALIZER, false, getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("The library jar has no ahead-of-time classes; "
+                        + "build it with mvn -Pfast-start install", e);
+            }
+            jvmOptions.add("-Dspring.aot.enabled=true");
+        }
+        if (mode.endsWith("cds")) {
+            archive = Files.createTempFile("library-", ".jsa");
+            Files.delete(archive);
+            List<String> training = new ArrayList<>(jvmOptions);
+            training.add("-XX:ArchiveClassesAtExit=" + archive);
+            training.add("-Xlog:cds=off");
+            training.add("-Dspring.context.exit=onRefresh");
+            int exit = launch(training, freePort()).waitFor();
+            if (exit != 0 || !Files.exists(archive)) {
+                throw new IllegalStateException("The training run exited with " + exit);
+            }
+            jvmOptions.add("-XX:SharedArchiveFile=" + archive);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (archive != null) {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @Benchmark
+    public int firstRequest() throws Exception {
+        int port = freePort();
+        Process process = launch(jvmOptions, port);
+        try {
+            return awaitFirstResponse(process, port);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private int awaitFirstResponse(Process process, int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/books?limit=1"))
+                .build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue());
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("The application did not answer within " + START_TIMEOUT);
+    }
+
+    private Process launch(List<String> options, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        command.add("-cp");
+        command.add(applicationClasspath());
+        command.add(MAIN_CLASS);
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        if (!mode.equals("default")) {
+            command.add("--springdoc.api-docs.enabled=false");
+            command.add("--springdoc.swagger-ui.enabled=false");
+        }
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    /**
+     * The jars on this JVM's class path. Class data sharing cannot archive
+     * classes loaded from directories, and the application needs none of the
+     * benchmark classes.
+     */
+    private static String applicationClasspath() {
+        return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> entry.endsWith(".jar"))
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
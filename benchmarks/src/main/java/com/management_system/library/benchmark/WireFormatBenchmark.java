@@ -0,0 +1,109 @@
+package com.management_system.library.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+/**
+ * Encode time of a {@code List<Book>} response in each negotiable format and
+ * content coding, against plain Jackson JSON. The bytes each combination puts
+ * on the wire are printed once per trial, since JMH only reports times.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int BOOKS_PER_AUTHOR = 10;
+
+    /** The level the compression filter uses by default. */
+    private static final int ZSTD_LEVEL = 3;
+
+    @Param({ "json", "smile", "cbor" })
+    public String format;
+
+    @Param({ "identity", "gzip", "zstd" })
+    public String coding;
+
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> books;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        books = new ArrayList<>(size);
+        Author author = null;
+        for (int i = 0; i < size; i++) {
+            if (i % BOOKS_PER_AUTHOR == 0) {
+                author = new Author();
+                author.setId((long) i / BOOKS_PER_AUTHOR + 1);
+                author.setName("Author " + author.getId());
+                author.setBirthdate(new Date());
+            }
+            Book book = new Book();
+            book.setId((long) i + 1);
+            book.setTitle("Book number " + i);
+            book.setIsbn("978-0-000-" + String.format("%05d", i) + "-0");
+            book.setPublicationDate(new Date());
+            book.setAuthor(author);
+            book.setVersion(0L);
+            books.add(book);
+        }
+        System.out.printf("%n%s/%s, %d books: %d bytes on the wire%n", format, coding, size, encodeBooks().length);
+    }
+
+    @Benchmark
+    public byte[] encodeBooks() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoded(bytes)) {
+            objectMapper.writeValue(out, books);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OutputStream encoded(OutputStream out) throws IOException {
+        return switch (coding) {
+            case "gzip" -> new GZIPOutputStream(out, 8192, true);
+            case "zstd" -> new ZstdOutputStream(out, ZSTD_LEVEL);
+            default -> out;
+        };
+    }
+}
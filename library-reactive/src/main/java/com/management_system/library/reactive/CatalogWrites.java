@@ -0,0 +1,65 @@
+package com.management_system.library.reactive;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * The bookkeeping every write does inside its transaction, as the servlet
+ * application's services do: recording the change in the change feed, which
+ * the servlet application's sequencer numbers, and keeping the author
+ * statistics in step with the books.
+ */
+@Component
+class CatalogWrites {
+
+    @Autowired
+    private DatabaseClient client;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    /** The current time, bound as the database stores modification times. */
+    Object now() {
+        boolean zoned = connectionFactory.getMetadata().getName().equalsIgnoreCase("H2");
+        return Rows.timestamp(Instant.now(), zoned);
+    }
+
+    /**
+     * The type and operation are written as literals: the H2 driver cannot
+     * bind a string to an enum column. Both are enum constant names.
+     */
+    Mono<Void> recordChange(EntityType type, long id, Operation operation, Long version) {
+        DatabaseClient.GenericExecuteSpec insert = client.sql(
+                "insert into change_event (entity_type, entity_id, operation, version, changed_at) "
+                        + "values ('" + type.name() + "', :id, '" + operation.name() + "', :version, :changedAt)")
+                .bind("id", id)
+                .bind("changedAt", now());
+        insert = version == null ? insert.bindNull("version", Long.class) : insert.bind("version", version);
+        return insert.then();
+    }
+
+    /**
+     * Recomputes the author's statistics from the book table. Portable SQL in
+     * place of the servlet application's dialect-specific upsert.
+     */
+    Mono<Void> recountAuthor(long authorId) {
+        return client.sql("delete from author_stats where author_id = :authorId")
+                .bind("authorId", authorId)
+                .then()
+                .then(client.sql("insert into author_stats "
+                        + "(author_id, book_count, first_publication_date, last_publication_date) "
+                        + "select author_id, count(*), min(publication_date), max(publication_date) from book "
+                        + "where author_id = :authorId group by author_id")
+                        .bind("authorId", authorId)
+                        .then());
+    }
+}
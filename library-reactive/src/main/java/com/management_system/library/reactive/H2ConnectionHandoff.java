@@ -0,0 +1,52 @@
+package com.management_system.library.reactive;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hands pooled H2 connections to their borrowers on another thread. The H2
+ * driver runs statements on the calling thread, so a connection going back
+ * to the pool is passed straight to the next waiting request, whose query
+ * runs and releases it in turn, all inside the release call: under steady
+ * load one event loop ends up serving every queued request and never gets
+ * back to its own sockets. Drivers with their own I/O, such as MySQL's,
+ * complete on their own threads and are left alone.
+ */
+@Configuration
+class H2ConnectionHandoff {
+
+    @Bean
+    static BeanPostProcessor h2ConnectionHandoffPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory factory
+                        && factory.getMetadata().getName().equalsIgnoreCase("H2")) {
+                    return new HandoffConnectionFactory(factory);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private record HandoffConnectionFactory(ConnectionFactory delegate) implements ConnectionFactory {
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.from(delegate.create()).publishOn(Schedulers.boundedElastic());
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return delegate.getMetadata();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.management_system.library.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.management_system.library.controller.ConditionalRequests;
+import com.management_system.library.controller.RequestValidation;
+import com.management_system.library.dto.BatchItem;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The author endpoints of the servlet application's {@code AuthorController}
+ * on WebFlux; see {@link ReactiveBookController}.
+ */
+@RestController
+@RequestMapping("/api/authors")
+public class ReactiveAuthorController {
+
+    @Autowired
+    private ReactiveAuthorService authorService;
+
+    @GetMapping(params = "!limit", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Author> getAllAuthors() {
+        return authorService.getAllAuthors();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPage<Author>> getAuthorsPage(@RequestParam(required = false) Long after,
+            @RequestParam Integer limit) {
+        return authorService.getAuthorsAfter(after, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Author>> getAuthorById(@PathVariable Long id) {
+        return authorService.getAuthorById(id)
+                .map(author -> ConditionalRequests.ok(author, author.getVersion(), author.getLastModified()))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Author>> createAuthor(@RequestBody Author author) {
+        return authorService.createAuthor(author).map(saved -> new ResponseEntity<>(saved, HttpStatus.CREATED));
+    }
+
+    @PostMapping("/batch-get")
+    public Mono<ResponseEntity<?>> getAuthorsByIds(@RequestBody List<Long> ids) {
+        String invalid = RequestValidation.invalidIds(ids);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(invalid));
+        }
+        return authorService.getAuthorsByIds(ids).map(found -> ResponseEntity.ok(BatchItem.inOrder(ids, found)));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Author>> updateAuthor(@PathVariable Long id, @RequestBody Author authorDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return authorService.getAuthorById(id)
+                .flatMap(author -> {
+                    if (!ConditionalRequests.matches(ifMatch, author.getVersion())) {
+                        return Mono.just(new ResponseEntity<Author>(HttpStatus.PRECONDITION_FAILED));
+                    }
+                    if (ifMatch == null && authorDetails.getVersion() != null) {
+                        author.setVersion(authorDetails.getVersion());
+                    }
+                    author.setName(authorDetails.getName());
+                    author.setBirthdate(authorDetails.getBirthdate());
+                    return authorService.updateAuthor(author)
+                            .map(saved -> ConditionalRequests.ok(saved, saved.getVersion(), saved.getLastModified()))
+                            .onErrorReturn(OptimisticLockingFailureException.class,
+                                    new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED));
+                })
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteAuthor(@PathVariable Long id) {
+        return authorService.deleteAuthor(id)
+                .map(deleted -> new ResponseEntity<>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+}
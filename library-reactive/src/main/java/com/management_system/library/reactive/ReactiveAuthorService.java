@@ -0,0 +1,131 @@
+package com.management_system.library.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Author reads and writes over R2DBC, with the same transaction boundaries as
+ * {@link ReactiveBookService}.
+ */
+@Service
+public class ReactiveAuthorService {
+
+    @Autowired
+    private DatabaseClient client;
+
+    @Autowired
+    private TransactionalOperator transactions;
+
+    @Autowired
+    private CatalogWrites writes;
+
+    public Flux<Author> getAllAuthors() {
+        return client.sql(Rows.AUTHOR + "order by a.id").map(Rows::author).all();
+    }
+
+    /**
+     * Keyset page of authors ordered by id, starting after the given id.
+     */
+    public Mono<CursorPage<Author>> getAuthorsAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return client.sql(Rows.AUTHOR + "where a.id > :after order by a.id limit :limit")
+                .bind("after", after == null ? 0L : after)
+                .bind("limit", pageSize)
+                .map(Rows::author)
+                .all()
+                .collectList()
+                .map(authors -> CursorPage.of(authors, pageSize, Author::getId));
+    }
+
+    public Mono<Author> getAuthorById(Long id) {
+        return client.sql(Rows.AUTHOR + "where a.id = :id").bind("id", id).map(Rows::author).one();
+    }
+
+    /** The authors with the given ids, keyed by id; ids with no author are left out. */
+    public Mono<Map<Long, Author>> getAuthorsByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return client.sql(Rows.AUTHOR + "where a.id in (:ids)")
+                .bind("ids", ids)
+                .map(Rows::author)
+                .all()
+                .collectMap(Author::getId);
+    }
+
+    public Mono<Author> createAuthor(Author author) {
+        Mono<Author> create = client.sql("insert into author (name, birthdate, version, last_modified) "
+                + "values (:name, :birthdate, 0, :lastModified)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("name", author.getName())
+                .bind("birthdate", Rows.local(author.getBirthdate()))
+                .bind("lastModified", writes.now())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> writes.recordChange(EntityType.AUTHOR, id, Operation.CREATED, 0L)
+                        .then(getAuthorById(id)));
+        return transactions.transactional(create);
+    }
+
+    /**
+     * Updates the author if it still has the version it carries. Fails with
+     * {@link OptimisticLockingFailureException} when the version is stale.
+     */
+    public Mono<Author> updateAuthor(Author author) {
+        Mono<Author> update = client.sql("update author set name = :name, birthdate = :birthdate, "
+                + "version = version + 1, last_modified = :lastModified where id = :id and version = :version")
+                .bind("name", author.getName())
+                .bind("birthdate", Rows.local(author.getBirthdate()))
+                .bind("lastModified", writes.now())
+                .bind("id", author.getId())
+                .bind("version", author.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new OptimisticLockingFailureException(
+                                "Author " + author.getId() + " is no longer at version " + author.getVersion()))
+                        : writes.recordChange(EntityType.AUTHOR, author.getId(), Operation.UPDATED,
+                                author.getVersion() + 1))
+                .then(getAuthorById(author.getId()));
+        return transactions.transactional(update);
+    }
+
+    /**
+     * Deletes the author with their books and statistics and returns whether
+     * the author existed. The books' rows are locked first so the change feed
+     * gets a deletion for exactly the books the statement removes.
+     */
+    public Mono<Boolean> deleteAuthor(Long id) {
+        Mono<Boolean> delete = client.sql("select id from book where author_id = :id for update")
+                .bind("id", id)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList()
+                .flatMap(bookIds -> client.sql("delete from book where author_id = :id").bind("id", id).then()
+                        .then(client.sql("delete from author_stats where author_id = :id").bind("id", id).then())
+                        .then(client.sql("delete from author where id = :id").bind("id", id).fetch()
+                                .rowsUpdated())
+                        .flatMap(deleted -> deleted == 0 ? Mono.just(false)
+                                : writes.recordChange(EntityType.AUTHOR, id, Operation.DELETED, null)
+                                        .then(Flux.fromIterable(bookIds)
+                                                .concatMap(bookId -> writes.recordChange(EntityType.BOOK, bookId,
+                                                        Operation.DELETED, null))
+                                                .then())
+                                        .thenReturn(true)));
+        return transactions.transactional(delete);
+    }
+}
@@ -0,0 +1,120 @@
+package com.management_system.library.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.management_system.library.controller.ConditionalRequests;
+import com.management_system.library.controller.RequestValidation;
+import com.management_system.library.dto.BatchItem;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Book;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The book endpoints of the servlet application's {@code BookController} on
+ * WebFlux, answering the same requests with the same bodies and statuses.
+ * The full listing is streamed as rows arrive, as a JSON array or, for
+ * {@code Accept: application/x-ndjson}, one book per line; the database is
+ * read only as fast as the client takes the response.
+ */
+@RestController
+@RequestMapping("/api/books")
+public class ReactiveBookController {
+
+    @Autowired
+    private ReactiveBookService bookService;
+
+    @GetMapping(params = { "!limit", "!after" }, produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<Book> getAllBooks() {
+        return bookService.getAllBooks();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPage<Book>> getBooksPage(@RequestParam(required = false) Long after,
+            @RequestParam Integer limit) {
+        return bookService.getBooksAfter(after, limit);
+    }
+
+    /** Conditional GETs are answered with 304 from the ETag and Last-Modified set here. */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Book>> getBookById(@PathVariable Long id) {
+        return bookService.getBookById(id)
+                .map(book -> ConditionalRequests.ok(book, book.getVersion(), book.getLastModified()))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/author/{authorId}")
+    public Flux<Book> getBooksByAuthorId(@PathVariable Long authorId) {
+        return bookService.getBooksByAuthorId(authorId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createBook(@RequestBody Book book) {
+        String invalid = RequestValidation.invalidBook(book);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(invalid));
+        }
+        return bookService.createBook(book).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/batch-get")
+    public Mono<ResponseEntity<?>> getBooksByIds(@RequestBody List<Long> ids) {
+        String invalid = RequestValidation.invalidIds(ids);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(invalid));
+        }
+        return bookService.getBooksByIds(ids).map(found -> ResponseEntity.ok(BatchItem.inOrder(ids, found)));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateBook(@PathVariable Long id, @RequestBody Book bookDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String invalid = RequestValidation.invalidBook(bookDetails);
+        if (invalid != null) {
+            return Mono.just(ResponseEntity.badRequest().body(invalid));
+        }
+        return bookService.getBookById(id)
+                .<ResponseEntity<?>>flatMap(book -> {
+                    if (!ConditionalRequests.matches(ifMatch, book.getVersion())) {
+                        return Mono.just(new ResponseEntity<Book>(HttpStatus.PRECONDITION_FAILED));
+                    }
+                    if (ifMatch == null && bookDetails.getVersion() != null) {
+                        book.setVersion(bookDetails.getVersion());
+                    }
+                    book.setTitle(bookDetails.getTitle());
+                    book.setIsbn(bookDetails.getIsbn());
+                    book.setPublicationDate(bookDetails.getPublicationDate());
+                    book.setAuthor(bookDetails.getAuthor());
+                    return bookService.updateBook(book)
+                            .map(saved -> ConditionalRequests.ok(saved, saved.getVersion(), saved.getLastModified()))
+                            .onErrorReturn(OptimisticLockingFailureException.class,
+                                    new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED));
+                })
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteBook(@PathVariable Long id) {
+        return bookService.deleteBook(id)
+                .map(deleted -> new ResponseEntity<>(deleted ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND));
+    }
+}
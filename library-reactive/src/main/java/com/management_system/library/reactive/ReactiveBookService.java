@@ -0,0 +1,151 @@
+package com.management_system.library.reactive;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Book reads and writes over R2DBC. Listings are streamed from the driver as
+ * the subscriber requests them. Each write runs in one transaction together
+ * with its change feed entry and the author statistics.
+ */
+@Service
+public class ReactiveBookService {
+
+    @Autowired
+    private DatabaseClient client;
+
+    @Autowired
+    private TransactionalOperator transactions;
+
+    @Autowired
+    private CatalogWrites writes;
+
+    public Flux<Book> getAllBooks() {
+        return client.sql(Rows.BOOK_WITH_AUTHOR + "order by b.id").map(Rows::book).all();
+    }
+
+    /**
+     * Keyset page of books ordered by id, starting after the given id.
+     */
+    public Mono<CursorPage<Book>> getBooksAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        return client.sql(Rows.BOOK_WITH_AUTHOR + "where b.id > :after order by b.id limit :limit")
+                .bind("after", after == null ? 0L : after)
+                .bind("limit", pageSize)
+                .map(Rows::book)
+                .all()
+                .collectList()
+                .map(books -> CursorPage.of(books, pageSize, Book::getId));
+    }
+
+    public Mono<Book> getBookById(Long id) {
+        return client.sql(Rows.BOOK_WITH_AUTHOR + "where b.id = :id").bind("id", id).map(Rows::book).one();
+    }
+
+    public Flux<Book> getBooksByAuthorId(Long authorId) {
+        return client.sql(Rows.BOOK_WITH_AUTHOR + "where b.author_id = :authorId order by b.id")
+                .bind("authorId", authorId)
+                .map(Rows::book)
+                .all();
+    }
+
+    /** The books with the given ids, keyed by id; ids with no book are left out. */
+    public Mono<Map<Long, Book>> getBooksByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return client.sql(Rows.BOOK_WITH_AUTHOR + "where b.id in (:ids)")
+                .bind("ids", ids)
+                .map(Rows::book)
+                .all()
+                .collectMap(Book::getId);
+    }
+
+    /**
+     * Inserts the book, whose author is given by id, and returns it as stored.
+     */
+    public Mono<Book> createBook(Book book) {
+        Mono<Book> create = client.sql("insert into book (title, isbn, publication_date, author_id, version, "
+                + "last_modified) values (:title, :isbn, :publicationDate, :authorId, 0, :lastModified)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("title", book.getTitle())
+                .bind("isbn", book.getIsbn())
+                .bind("publicationDate", Rows.local(book.getPublicationDate()))
+                .bind("authorId", book.getAuthor().getId())
+                .bind("lastModified", writes.now())
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(id -> writes.recountAuthor(book.getAuthor().getId())
+                        .then(writes.recordChange(EntityType.BOOK, id, Operation.CREATED, 0L))
+                        .then(getBookById(id)));
+        return transactions.transactional(create);
+    }
+
+    /**
+     * Updates the book if it still has the version it carries, moving it to
+     * another author if that changed, and returns it as stored. Fails with
+     * {@link OptimisticLockingFailureException} when the version is stale.
+     */
+    public Mono<Book> updateBook(Book book) {
+        Mono<Book> update = client.sql("select author_id from book where id = :id")
+                .bind("id", book.getId())
+                .map(row -> row.get("author_id", Long.class))
+                .one()
+                .flatMap(previousAuthorId -> client.sql("update book set title = :title, isbn = :isbn, "
+                        + "publication_date = :publicationDate, author_id = :authorId, version = version + 1, "
+                        + "last_modified = :lastModified where id = :id and version = :version")
+                        .bind("title", book.getTitle())
+                        .bind("isbn", book.getIsbn())
+                        .bind("publicationDate", Rows.local(book.getPublicationDate()))
+                        .bind("authorId", book.getAuthor().getId())
+                        .bind("lastModified", writes.now())
+                        .bind("id", book.getId())
+                        .bind("version", book.getVersion())
+                        .fetch()
+                        .rowsUpdated()
+                        .flatMap(updated -> {
+                            if (updated == 0) {
+                                return Mono.error(new OptimisticLockingFailureException(
+                                        "Book " + book.getId() + " is no longer at version " + book.getVersion()));
+                            }
+                            Mono<Void> stats = writes.recountAuthor(book.getAuthor().getId());
+                            if (!previousAuthorId.equals(book.getAuthor().getId())) {
+                                stats = stats.then(writes.recountAuthor(previousAuthorId));
+                            }
+                            return stats.then(writes.recordChange(EntityType.BOOK, book.getId(), Operation.UPDATED,
+                                    book.getVersion() + 1));
+                        })
+                        .then(getBookById(book.getId())));
+        return transactions.transactional(update);
+    }
+
+    /** Deletes the book and returns whether it existed. */
+    public Mono<Boolean> deleteBook(Long id) {
+        Mono<Boolean> delete = client.sql("select author_id from book where id = :id")
+                .bind("id", id)
+                .map(row -> row.get("author_id", Long.class))
+                .one()
+                .flatMap(authorId -> client.sql("delete from book where id = :id")
+                        .bind("id", id)
+                        .then()
+                        .then(writes.recountAuthor(authorId))
+                        .then(writes.recordChange(EntityType.BOOK, id, Operation.DELETED, null))
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+        return transactions.transactional(delete);
+    }
+}
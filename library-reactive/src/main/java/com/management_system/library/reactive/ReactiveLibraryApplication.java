@@ -0,0 +1,18 @@
+package com.management_system.library.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The book and author APIs on WebFlux and R2DBC, for deployments that serve
+ * many slow or long-lived connections. It shares the model, DTOs and request
+ * checks of the servlet application and works on the same database, whose
+ * schema the servlet application migrates and whose change feed it numbers.
+ */
+@SpringBootApplication
+public class ReactiveLibraryApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveLibraryApplication.class, args);
+    }
+}
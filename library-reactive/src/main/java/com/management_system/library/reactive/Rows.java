@@ -0,0 +1,81 @@
+package com.management_system.library.reactive;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+import io.r2dbc.spi.Readable;
+
+/**
+ * Maps result rows to the shared model. Dates are stored without a zone in
+ * the JVM's zone, as Hibernate stores {@link Date}; modification times are
+ * instants.
+ */
+final class Rows {
+
+    static final String AUTHOR_COLUMNS = "a.id as a_id, a.name as a_name, a.birthdate as a_birthdate, "
+            + "a.version as a_version, a.last_modified as a_last_modified";
+    static final String BOOK_WITH_AUTHOR = "select b.id as b_id, b.title as b_title, b.isbn as b_isbn, "
+            + "b.publication_date as b_publication_date, b.version as b_version, "
+            + "b.last_modified as b_last_modified, " + AUTHOR_COLUMNS + " "
+            + "from book b join author a on a.id = b.author_id ";
+    static final String AUTHOR = "select " + AUTHOR_COLUMNS + " from author a ";
+
+    private Rows() {
+    }
+
+    static Book book(Readable row) {
+        Book book = new Book();
+        book.setId(row.get("b_id", Long.class));
+        book.setTitle(row.get("b_title", String.class));
+        book.setIsbn(row.get("b_isbn", String.class));
+        book.setPublicationDate(date(row.get("b_publication_date", LocalDateTime.class)));
+        book.setVersion(row.get("b_version", Long.class));
+        book.setLastModified(instant(row.get("b_last_modified")));
+        book.setAuthor(author(row));
+        return book;
+    }
+
+    static Author author(Readable row) {
+        Author author = new Author();
+        author.setId(row.get("a_id", Long.class));
+        author.setName(row.get("a_name", String.class));
+        author.setBirthdate(date(row.get("a_birthdate", LocalDateTime.class)));
+        author.setVersion(row.get("a_version", Long.class));
+        author.setLastModified(instant(row.get("a_last_modified")));
+        return author;
+    }
+
+    static LocalDateTime local(Date date) {
+        return date == null ? null : LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    private static Date date(LocalDateTime value) {
+        return value == null ? null : Date.from(value.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * A modification time to bind: H2 keeps it with its offset, MySQL in a
+     * zoneless column as UTC, as Hibernate writes it.
+     */
+    static Object timestamp(Instant instant, boolean zoned) {
+        return zoned ? instant.atOffset(ZoneOffset.UTC) : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /** H2 returns its time-zoned column as an offset date-time, MySQL a zoneless one in UTC. */
+    private static Instant instant(Object value) {
+        if (value instanceof OffsetDateTime time) {
+            return time.toInstant();
+        }
+        if (value instanceof LocalDateTime time) {
+            return time.toInstant(ZoneOffset.UTC);
+        }
+        return (Instant) value;
+    }
+}
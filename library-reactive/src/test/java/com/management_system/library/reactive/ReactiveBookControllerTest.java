@@ -0,0 +1,226 @@
+package com.management_system.library.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ReactiveBookControllerTest {
+
+    private static final AtomicInteger ISBNS = new AtomicInteger();
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private DatabaseClient database;
+
+    @Test
+    void testCreateGetAndConditionalGet() {
+        Author author = createAuthor("Ursula");
+        Book book = createBook("The Dispossessed", author);
+
+        assertThat(book.getId()).isNotNull();
+        assertThat(book.getVersion()).isZero();
+        assertThat(book.getLastModified()).isNotNull();
+        assertThat(book.getAuthor().getName()).isEqualTo("Ursula");
+
+        client.get().uri("/api/books/{id}", book.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("The Dispossessed")
+                .jsonPath("$.author.id").isEqualTo(author.getId());
+
+        client.get().uri("/api/books/{id}", book.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.get().uri("/api/books/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testUpdateChecksIfMatch() {
+        Author author = createAuthor("Octavia");
+        Book book = createBook("Kindred", author);
+        book.setTitle("Parable of the Sower");
+
+        client.put().uri("/api/books/{id}", book.getId())
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+
+        client.put().uri("/api/books/{id}", book.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Parable of the Sower");
+
+        // the body's version is checked when no If-Match is sent
+        client.put().uri("/api/books/{id}", book.getId())
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void testDeleteKeepsStatsAndChangeFeed() {
+        Author author = createAuthor("Iain");
+        Book first = createBook("Consider Phlebas", author);
+        createBook("Use of Weapons", author);
+        assertThat(bookCount(author)).isEqualTo(2);
+
+        client.delete().uri("/api/books/{id}", first.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        client.delete().uri("/api/books/{id}", first.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        assertThat(bookCount(author)).isEqualTo(1);
+        List<String> operations = database.sql("select operation from change_event "
+                + "where entity_type = 'BOOK' and entity_id = :id order by id")
+                .bind("id", first.getId())
+                .map(row -> row.get("operation", String.class))
+                .all()
+                .collectList()
+                .block();
+        assertThat(operations).containsExactly("CREATED", "DELETED");
+    }
+
+    @Test
+    void testStreamsBooksAsNdjson() {
+        Author author = createAuthor("Stanislaw");
+        Book book = createBook("Solaris", author);
+
+        Flux<Book> books = client.get().uri("/api/books")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Book.class)
+                .getResponseBody();
+
+        StepVerifier.create(books.filter(streamed -> streamed.getId().equals(book.getId())))
+                .assertNext(streamed -> assertThat(streamed.getTitle()).isEqualTo("Solaris"))
+                .verifyComplete();
+
+        client.get().uri("/api/books/author/{authorId}", author.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].isbn").isEqualTo(book.getIsbn());
+    }
+
+    @Test
+    void testSharesRequestValidation() {
+        Book book = new Book();
+        book.setTitle("Orphan");
+        book.setIsbn("orphan");
+        book.setPublicationDate(new Date());
+
+        client.post().uri("/api/books")
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Author must be provided.");
+
+        Book stored = createBook("Kindred", createAuthor("Octavia"));
+        client.put().uri("/api/books/{id}", stored.getId())
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Author must be provided.");
+
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().toList();
+        client.post().uri("/api/books/batch-get")
+                .bodyValue(ids)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("At most 1000 ids per request.");
+    }
+
+    @Test
+    void testDeleteAuthorRemovesBooks() {
+        Author author = createAuthor("Jack");
+        Book book = createBook("The Dying Earth", author);
+
+        client.delete().uri("/api/authors/{id}", author.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        client.post().uri("/api/books/batch-get")
+                .bodyValue(List.of(book.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].found").isEqualTo(false);
+        client.get().uri("/api/authors/{id}", author.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Author createAuthor(String name) {
+        Author author = new Author();
+        author.setName(name);
+        author.setBirthdate(new Date(0));
+        return client.post().uri("/api/authors")
+                .bodyValue(author)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Author.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private Book createBook(String title, Author author) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setIsbn("isbn-" + ISBNS.incrementAndGet());
+        book.setPublicationDate(new Date());
+        book.setAuthor(author);
+        return client.post().uri("/api/books")
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Book.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private long bookCount(Author author) {
+        Map<String, Object> stats = database.sql("select book_count from author_stats where author_id = :id")
+                .bind("id", author.getId())
+                .fetch()
+                .one()
+                .block();
+        return ((Number) stats.get("book_count")).longValue();
+    }
+}
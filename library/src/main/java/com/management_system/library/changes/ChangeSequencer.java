@@ -0,0 +1,151 @@
+package com.management_system.library.changes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeSequence;
+import com.management_system.library.repository.ChangeEventRepository;
+import com.management_system.library.repository.ChangeSequenceRepository;
+
+/**
+ * Numbers committed change feed entries. Writers cannot take a sequence number
+ * themselves: one handed out inside a transaction that commits after a later
+ * one would appear behind a consumer's cursor and be missed. Instead a single
+ * thread repeatedly locks the {@link ChangeSequence} row and numbers the
+ * entries that have committed without one, in insertion order. The row lock
+ * keeps several application instances from numbering the same entries.
+ * <p>
+ * Local commits wake the thread at once; it also polls every
+ * {@code poll-interval} to pick up entries committed by other instances and to
+ * let the {@link ChangeStream} push what they numbered.
+ */
+@Component
+public class ChangeSequencer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeSequencer.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    @Autowired
+    private ChangeEventRepository eventRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ChangeStream stream;
+
+    @Value("${library.changes.poll-interval:500ms}")
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    @Value("${library.changes.batch-size:500}")
+    private int batchSize = 500;
+
+    private final Semaphore wakeups = new Semaphore(0);
+
+    private Thread worker;
+    private volatile boolean running;
+
+    /** Asks for committed entries to be numbered now rather than at the next poll. */
+    public void wake() {
+        wakeups.release();
+    }
+
+    /**
+     * Numbers up to {@code batch-size} waiting entries in one transaction and
+     * returns how many there were.
+     */
+    public int sequenceBatch() {
+        return transactionTemplate.execute(status -> {
+            ChangeSequence sequence = sequenceRepository.lockById(ChangeSequence.ID).orElseGet(this::createSequence);
+            List<ChangeEvent> waiting = eventRepository.findBySeqIsNullOrderByIdAsc(Limit.of(batchSize));
+            long seq = sequence.getLastSeq();
+            for (ChangeEvent event : waiting) {
+                event.setSeq(++seq);
+            }
+            sequence.setLastSeq(seq);
+            return waiting.size();
+        });
+    }
+
+    /**
+     * Creates the counter row on first use. If another instance creates it at
+     * the same time, one of the two transactions fails and is retried.
+     */
+    private ChangeSequence createSequence() {
+        Long newest = eventRepository.findNewestSeq();
+        return sequenceRepository.saveAndFlush(new ChangeSequence(newest == null ? 0 : newest));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "change-sequencer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Numbers what has committed so far and stops. Entries committed later are
+     * numbered by the next instance to run.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        wake();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void run() {
+        long backoffMillis = 0;
+        while (running) {
+            try {
+                wakeups.tryAcquire(backoffMillis > 0 ? backoffMillis : pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                wakeups.drainPermits();
+                int sequenced;
+                do {
+                    sequenced = sequenceBatch();
+                } while (sequenced == batchSize && running);
+                backoffMillis = 0;
+                stream.signal();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                backoffMillis = Math.min(Math.max(backoffMillis * 2, 500), MAX_BACKOFF_MILLIS);
+                log.warn("Could not number change feed entries, retrying in {} ms: {}", backoffMillis,
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+    }
+}
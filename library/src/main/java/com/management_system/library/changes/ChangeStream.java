@@ -0,0 +1,170 @@
+package com.management_system.library.changes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.repository.ChangeEventRepository;
+
+/**
+ * Pushes the change feed to server-sent event subscribers. Each event carries
+ * its sequence number as the SSE id, so a client that reconnects with
+ * {@code Last-Event-ID} resumes exactly where it stopped. Whenever the
+ * {@link ChangeSequencer} has run, one dispatcher thread reads the new entries
+ * once for each distinct subscriber position and writes them to every
+ * subscriber at that position; subscribers that are caught up share a
+ * position, so this is usually a single query however many are connected.
+ * Idle connections get a comment every {@code heartbeat-interval} so that
+ * proxies keep them open.
+ */
+@Component
+public class ChangeStream implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStream.class);
+
+    @Autowired
+    private ChangeEventRepository eventRepository;
+
+    @Value("${library.changes.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${library.changes.stream-timeout:30m}")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    @Value("${library.changes.heartbeat-interval:15s}")
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    @Value("${library.changes.max-subscribers:200}")
+    private int maxSubscribers = 200;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long lastHeartbeat = System.nanoTime();
+
+    /**
+     * Opens a stream of the changes after {@code since}, or returns empty when
+     * {@code max-subscribers} streams are already open.
+     */
+    public Optional<SseEmitter> subscribe(long since) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since);
+        emitter.onTimeout(emitter::complete);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        signal();
+        return Optional.of(emitter);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /** Schedules a dispatch unless one is already waiting to run. */
+    public void signal() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        dispatchPending.set(false);
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, List<Subscriber>> byPosition = subscribers.stream()
+                    .collect(Collectors.groupingBy(Subscriber::position));
+            byPosition.forEach(this::catchUp);
+            if (System.nanoTime() - lastHeartbeat >= heartbeatInterval.toNanos()) {
+                lastHeartbeat = System.nanoTime();
+                subscribers.forEach(subscriber -> send(subscriber, SseEmitter.event().comment("keep-alive").build()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not push changes to {} subscribers", subscribers.size(), e);
+        }
+    }
+
+    private void catchUp(long position, List<Subscriber> group) {
+        List<ChangeEvent> events;
+        do {
+            events = eventRepository.findBySeqGreaterThanOrderBySeqAsc(position, Limit.of(batchSize));
+            for (ChangeEvent event : events) {
+                Set<DataWithMediaType> data = SseEmitter.event()
+                        .id(String.valueOf(event.getSeq()))
+                        .name("change")
+                        .data(event, MediaType.APPLICATION_JSON)
+                        .build();
+                for (Subscriber subscriber : group) {
+                    if (subscriber.open && send(subscriber, data)) {
+                        subscriber.position = event.getSeq();
+                    }
+                }
+                position = event.getSeq();
+            }
+        } while (events.size() == batchSize && group.stream().anyMatch(subscriber -> subscriber.open));
+    }
+
+    private boolean send(Subscriber subscriber, Set<DataWithMediaType> data) {
+        try {
+            subscriber.emitter.send(data);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            subscriber.open = false;
+            subscribers.remove(subscriber);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        volatile long position;
+        volatile boolean open = true;
+
+        Subscriber(SseEmitter emitter, long position) {
+            this.emitter = emitter;
+            this.position = position;
+        }
+
+        long position() {
+            return position;
+        }
+    }
+}
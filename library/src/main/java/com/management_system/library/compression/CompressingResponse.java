@@ -0,0 +1,262 @@
+package com.management_system.library.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Holds back the first {@code minResponseSize} bytes of a response. Once more
+ * than that has been written, and the content type is one of the compressible
+ * ones, the rest of the body goes through the negotiated coding; smaller
+ * bodies are sent as they are when the response finishes. The declared content
+ * length is withheld until that decision because it no longer applies once
+ * compressed, and a compressed body's ETag names the coding.
+ */
+class CompressingResponse extends HttpServletResponseWrapper {
+
+    private final ContentCoding coding;
+    private final String ifNoneMatch;
+    private final List<MimeType> mimeTypes;
+    private final int minResponseSize;
+    private final int zstdLevel;
+
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private OutputStream target;
+    private boolean compressing;
+    private long declaredLength = -1;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CompressingResponse(HttpServletResponse response, ContentCoding coding, String ifNoneMatch,
+            List<MimeType> mimeTypes, int minResponseSize, int zstdLevel) {
+        super(response);
+        this.coding = coding;
+        this.ifNoneMatch = ifNoneMatch;
+        this.mimeTypes = mimeTypes;
+        this.minResponseSize = minResponseSize;
+        this.zstdLevel = zstdLevel;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target != null) {
+            target.flush();
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (target == null) {
+            declaredLength = length;
+        } else if (!compressing) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (isContentLength(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (isContentLength(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (isContentLength(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (isContentLength(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (target == null) {
+            pending.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (target == null) {
+            pending.reset();
+            declaredLength = -1;
+        }
+    }
+
+    /**
+     * Sends whatever is still held back and ends the compressed stream. A 304
+     * answering the tag of a compressed body names that tag again.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (target == null) {
+            if (pending.size() == 0) {
+                String etag = getHeader(HttpHeaders.ETAG);
+                if (getStatus() == SC_NOT_MODIFIED && etag != null && ifNoneMatch != null
+                        && ifNoneMatch.contains(coding.tag(etag))) {
+                    super.setHeader(HttpHeaders.ETAG, coding.tag(etag));
+                }
+                if (declaredLength >= 0) {
+                    super.setContentLengthLong(declaredLength);
+                }
+                return;
+            }
+            start(false, true);
+        }
+        if (compressing) {
+            target.close();
+        } else {
+            target.flush();
+        }
+    }
+
+    private ServletOutputStream stream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[] { (byte) b }, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    if (target == null) {
+                        if (declaredLength >= 0 && declaredLength <= minResponseSize || !isCompressible()) {
+                            start(false, false);
+                        } else if (pending.size() + length <= minResponseSize) {
+                            pending.write(bytes, offset, length);
+                            return;
+                        } else {
+                            start(true, false);
+                        }
+                    }
+                    target.write(bytes, offset, length);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    // Held-back bytes wait for the size decision; the message
+                    // converters flush after every body, however small.
+                    if (target != null) {
+                        target.flush();
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    throw new UnsupportedOperationException("Non-blocking writes are not supported");
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    private void start(boolean compress, boolean complete) throws IOException {
+        compressing = compress;
+        if (compress) {
+            super.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null) {
+                // A strong tag belongs to one byte sequence; the compressed one is another
+                super.setHeader(HttpHeaders.ETAG, coding.tag(etag));
+            }
+            target = coding.wrap(getResponse().getOutputStream(), zstdLevel);
+        } else {
+            if (declaredLength >= 0) {
+                super.setContentLengthLong(declaredLength);
+            } else if (complete) {
+                super.setContentLengthLong(pending.size());
+            }
+            target = getResponse().getOutputStream();
+        }
+        pending.writeTo(target);
+        pending = new ByteArrayOutputStream(0);
+    }
+
+    private boolean isCompressible() {
+        if (getHeader(HttpHeaders.CONTENT_ENCODING) != null || getContentType() == null) {
+            return false;
+        }
+        try {
+            MimeType contentType = MimeTypeUtils.parseMimeType(getContentType());
+            return mimeTypes.stream().anyMatch(type -> type.equalsTypeAndSubtype(contentType));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isContentLength(String name) {
+        return HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+}
@@ -0,0 +1,97 @@
+package com.management_system.library.compression;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Compresses API responses with zstd, or gzip for clients that do not accept
+ * zstd. This replaces Tomcat's {@code server.compression}, which only knows
+ * gzip and would compress a zstd body a second time. Async responses (the
+ * NDJSON streams) are finished on their last dispatch.
+ * <p>
+ * Every response varies by Accept-Encoding, 304s and uncompressed ones too,
+ * so shared caches keep the codings apart. A compressed body's ETag names its
+ * coding; the request's validators have it taken off again before they reach
+ * the application, which only knows the uncompressed tags.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private final List<MimeType> mimeTypes;
+    private final int minResponseSize;
+    private final int zstdLevel;
+
+    public CompressionFilter(List<MimeType> mimeTypes, int minResponseSize, int zstdLevel) {
+        this.mimeTypes = mimeTypes;
+        this.minResponseSize = minResponseSize;
+        this.zstdLevel = zstdLevel;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse compressing = WebUtils.getNativeResponse(response, CompressingResponse.class);
+        if (compressing == null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            ContentCoding coding = ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (coding == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            compressing = new CompressingResponse(response, coding, request.getHeader(HttpHeaders.IF_NONE_MATCH),
+                    mimeTypes, minResponseSize, zstdLevel);
+            request = new UntaggedRequest(request, coding);
+        }
+        chain.doFilter(request, compressing);
+        if (!request.isAsyncStarted()) {
+            compressing.finish();
+        }
+    }
+
+    /** Shows the application the If-None-Match and If-Match tags without the coding. */
+    private static final class UntaggedRequest extends HttpServletRequestWrapper {
+
+        private final ContentCoding coding;
+
+        UntaggedRequest(HttpServletRequest request, ContentCoding coding) {
+            super(request);
+            this.coding = coding;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return value != null && isValidator(name) ? coding.untag(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (values == null || !isValidator(name)) {
+                return values;
+            }
+            return Collections.enumeration(Collections.list(values).stream().map(coding::untag).toList());
+        }
+
+        private static boolean isValidator(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.management_system.library.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.util.StringUtils;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+/**
+ * The response content codings offered, in order of preference.
+ */
+enum ContentCoding {
+
+    ZSTD("zstd") {
+        @Override
+        OutputStream wrap(OutputStream out, int zstdLevel) throws IOException {
+            return new ZstdOutputStream(out, zstdLevel);
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        OutputStream wrap(OutputStream out, int zstdLevel) throws IOException {
+            // Sync flush so streamed responses reach the client as they are written
+            return new GZIPOutputStream(out, 8192, true);
+        }
+    };
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    abstract OutputStream wrap(OutputStream out, int zstdLevel) throws IOException;
+
+    /**
+     * The ETag of a body sent in this coding: the uncompressed body's tag,
+     * weak or strong, with the coding appended, as in {@code "5-zstd"}.
+     */
+    String tag(String etag) {
+        int end = etag.lastIndexOf('"');
+        return end <= 0 ? etag : etag.substring(0, end) + "-" + token + etag.substring(end);
+    }
+
+    /**
+     * An If-None-Match or If-Match header with the tags made by {@link #tag}
+     * turned back into the uncompressed body's, which are what the
+     * application compares them with.
+     */
+    String untag(String header) {
+        return header.replace("-" + token + "\"", "\"");
+    }
+
+    /**
+     * The preferred coding the {@code Accept-Encoding} header allows, or
+     * {@code null} when the client accepts none of them.
+     */
+    static ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        for (ContentCoding coding : values()) {
+            if (accepts(acceptEncoding, coding.token)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    private static boolean accepts(String acceptEncoding, String token) {
+        for (String coding : StringUtils.tokenizeToStringArray(acceptEncoding, ",")) {
+            String[] parts = StringUtils.tokenizeToStringArray(coding, ";");
+            if (parts.length > 0 && parts[0].equalsIgnoreCase(token)) {
+                return parts.length == 1 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String[] pair = StringUtils.tokenizeToStringArray(parameter, "=");
+        try {
+            return pair.length == 2 && pair[0].equalsIgnoreCase("q") && Double.parseDouble(pair[1]) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.management_system.library.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Read-through caches for single books, single authors and per-author book
+ * lists. Size, TTL and statistics come from {@code spring.cache.caffeine.spec};
+ * set {@code spring.cache.type=none} to switch caching off. The cache advice
+ * runs outside the transaction advice, so a hit never opens a transaction.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String AUTHORS = "authors";
+    public static final String BOOKS_BY_AUTHOR = "booksByAuthor";
+}
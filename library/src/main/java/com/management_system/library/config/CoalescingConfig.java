@@ -0,0 +1,29 @@
+package com.management_system.library.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.management_system.library.service.ReadCoalescer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent database reads of the same book, author or author's
+ * book list, which the caches alone do not: every caller that misses while the
+ * entry loads runs its own query. Set {@code library.coalescing.enabled=false}
+ * to give each caller its own query again.
+ */
+@Configuration
+public class CoalescingConfig {
+
+    @Bean
+    public ReadCoalescer readCoalescer(MeterRegistry registry,
+            @Value("${library.coalescing.enabled:true}") boolean enabled,
+            @Value("${library.coalescing.stripes:64}") int stripes,
+            @Value("${library.coalescing.window:0ms}") Duration window) {
+        return enabled ? new ReadCoalescer(stripes, window, registry) : ReadCoalescer.disabled();
+    }
+}
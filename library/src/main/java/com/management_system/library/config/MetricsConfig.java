@@ -0,0 +1,59 @@
+package com.management_system.library.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import com.management_system.library.metrics.RepositoryCallRecorder;
+import com.management_system.library.metrics.RequestMetricsFilter;
+import com.management_system.library.metrics.RequestStatsTaskDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the request-level instrumentation: the metrics filter in front of the
+ * API, a repository listener that charges each repository call to the current
+ * request, and a task decorator that carries the request along to the
+ * application task executor, where the streaming responses are written.
+ * Per-route latency timers ({@code http.server.requests}) and per-method
+ * repository timers ({@code spring.data.repository.invocations}) are Spring
+ * Boot's own.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry registry,
+            @Value("${library.metrics.slow-request-threshold:500ms}") Duration slowThreshold) {
+        FilterRegistrationBean<RequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new RequestMetricsFilter(registry, slowThreshold));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    public RequestStatsTaskDecorator requestStatsTaskDecorator() {
+        return new RequestStatsTaskDecorator();
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryCallRecorderPostProcessor() {
+        RepositoryCallRecorder recorder = new RepositoryCallRecorder();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(recorder));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.management_system.library.config;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.management_system.library.ratelimit.AdmissionFilter;
+import com.management_system.library.ratelimit.EventStreamRequests;
+import com.management_system.library.ratelimit.PoolWaitMonitor;
+import com.management_system.library.ratelimit.RateLimitFilter;
+import com.management_system.library.ratelimit.RequestCosts;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Puts the per-client rate limiter and the concurrency limiter in front of
+ * the API, just after the metrics filter so that refused requests are still
+ * counted. Each can be switched off on its own.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "library.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(MeterRegistry registry,
+            @Value("${library.rate-limit.requests-per-second:50}") double requestsPerSecond,
+            @Value("${library.rate-limit.burst:100}") int burst,
+            @Value("${library.rate-limit.client-header:X-API-Key}") String clientHeader,
+            @Value("${library.rate-limit.api-keys:}") Set<String> apiKeys,
+            @Value("${library.rate-limit.full-listing-cost:20}") int fullListingCost,
+            @Value("${library.rate-limit.bulk-cost:50}") int bulkCost,
+            @Value("${library.rate-limit.batch-cost:5}") int batchCost) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                requestsPerSecond, burst, clientHeader, apiKeys, new RequestCosts(fullListingCost, bulkCost, batchCost),
+                registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 11);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.admission.enabled", havingValue = "true", matchIfMissing = true)
+    public PoolWaitMonitor poolWaitMonitor(MeterRegistry registry,
+            @Value("${library.admission.max-pool-wait:50ms}") Duration maxPoolWait) {
+        return new PoolWaitMonitor(registry, maxPoolWait);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.admission.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(MeterRegistry registry,
+            PoolWaitMonitor poolWaitMonitor,
+            @Qualifier("requestMappingHandlerMapping") HandlerMapping handlerMapping,
+            @Value("${library.admission.max-concurrent:100}") int maxConcurrent,
+            @Value("${library.admission.max-concurrent-under-pressure:20}") int maxConcurrentUnderPressure) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(new AdmissionFilter(
+                maxConcurrent, maxConcurrentUnderPressure, poolWaitMonitor,
+                new EventStreamRequests(handlerMapping), registry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 12);
+        return registration;
+    }
+}
@@ -0,0 +1,75 @@
+package com.management_system.library.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.management_system.library.datasource.PrimaryPinFilter;
+import com.management_system.library.datasource.ReadWriteDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replaces the single auto-configured pool with a primary and one pool per read
+ * replica when {@code library.datasource.replica-urls} is set. Replicas share
+ * the primary's credentials and {@code spring.datasource.hikari} settings.
+ * Read-only transactions go to the replicas; writes, and reads by clients that
+ * wrote within the sticky window, go to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "library.datasource", name = "replica-urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReadWriteDataSource dataSource(DataSourceProperties properties, Environment environment,
+            ObjectProvider<MeterRegistry> registry,
+            @Value("${library.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${library.datasource.replica-retry-interval:30s}") Duration retryInterval) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl(), "primary");
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = pool(properties, environment, url.trim(), "replica-" + (replicas.size() + 1));
+            registry.ifAvailable(meters -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meters)));
+            replicas.add(replica);
+        }
+        ReadWriteDataSource dataSource = new ReadWriteDataSource(primary, replicas, retryInterval);
+        registry.ifAvailable(meters -> Gauge.builder("library.datasource.replicas.available",
+                dataSource.getReplicaPool(), pool -> pool.availableReplicas())
+                .description("Read replicas not currently skipped after a connection failure")
+                .register(meters));
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PrimaryPinFilter> primaryPinFilter(
+            @Value("${library.datasource.sticky-window:5s}") Duration stickyWindow) {
+        FilterRegistrationBean<PrimaryPinFilter> registration = new FilterRegistrationBean<>(
+                new PrimaryPinFilter(stickyWindow));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String url,
+            String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,62 @@
+package com.management_system.library.config;
+
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.management_system.library.compression.CompressionFilter;
+import com.management_system.library.controller.VaryByAccept;
+
+/**
+ * Response encodings besides plain JSON. Clients that send
+ * {@code Accept: application/x-jackson-smile} or {@code application/cbor} get
+ * the same Jackson model in a binary format; JSON stays the default because its
+ * converter comes first. Bodies of the listed types are compressed by
+ * {@link CompressionFilter}: zstd when the client accepts it, gzip otherwise.
+ * Responses under {@code /api} vary by both headers.
+ */
+@Configuration
+public class ResponseFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VaryByAccept()).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.compression.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(
+            @Value("${library.compression.mime-types}") String[] mimeTypes,
+            @Value("${library.compression.min-response-size:2KB}") DataSize minResponseSize,
+            @Value("${library.compression.zstd-level:3}") int zstdLevel) {
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(new CompressionFilter(
+                Arrays.stream(mimeTypes).map(MimeType::valueOf).toList(), (int) minResponseSize.toBytes(), zstdLevel));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        return registration;
+    }
+}
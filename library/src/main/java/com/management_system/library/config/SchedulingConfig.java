@@ -0,0 +1,13 @@
+package com.management_system.library.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} maintenance jobs, such as the nightly author
+ * statistics rebuild.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
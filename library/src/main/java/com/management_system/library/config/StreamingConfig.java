@@ -0,0 +1,26 @@
+package com.management_system.library.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Timeout of the asynchronous MVC responses that do not set their own, which
+ * are the NDJSON exports of all books and all authors. Left to the container
+ * they would end after 30 seconds, part way through a large export. The SSE
+ * change stream keeps its own {@code library.changes.stream-timeout}.
+ */
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+
+    @Value("${library.export.stream-timeout:30m}")
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(streamTimeout.toMillis());
+    }
+}
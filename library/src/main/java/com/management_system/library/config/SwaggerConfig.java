@@ -1,12 +1,17 @@
 package com.management_system.library.config;
 
 import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-
-
+/**
+ * The OpenAPI document groups. Springdoc builds a document on the first request
+ * for it rather than at startup; the production profile switches the API docs
+ * off, and with them this configuration, so instances skip springdoc entirely.
+ */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Bean
@@ -0,0 +1,57 @@
+package com.management_system.library.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Reports which request threading mode is active.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21 runtime, Spring
+ * Boot runs Tomcat requests, {@code @Async} work and MVC async responses on
+ * virtual threads, so a request blocked on JDBC no longer holds a platform
+ * thread. The Hikari pool stays the limit on database concurrency in both
+ * modes: however many virtual threads are in flight, at most
+ * {@code spring.datasource.hikari.maximum-pool-size} statements reach MySQL,
+ * and callers that cannot get a connection within
+ * {@code spring.datasource.hikari.connection-timeout} fail instead of queueing
+ * without bound.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        int poolSize = poolSize(event.getApplicationContext().getBeanProvider(DataSource.class));
+        if (!virtualThreadsRequested) {
+            log.info("Serving requests on up to {} platform threads with {} database connections",
+                    tomcatMaxThreads, poolSize);
+        } else if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "serving requests on up to {} platform threads", Runtime.version().feature(), tomcatMaxThreads);
+        } else {
+            log.info("Serving requests on virtual threads with {} database connections", poolSize);
+        }
+    }
+
+    private static int poolSize(ObjectProvider<DataSource> dataSource) {
+        DataSource ds = dataSource.getIfAvailable();
+        return ds instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : -1;
+    }
+}
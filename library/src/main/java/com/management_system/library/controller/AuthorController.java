@@ -1,9 +1,17 @@
 package com.management_system.library.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +20,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.dto.BatchItem;
+import com.management_system.library.dto.AuthorSummary;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.dto.ResourceVersion;
 import com.management_system.library.model.Author;
+import com.management_system.library.model.AuthorStats;
 import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.AuthorStatsService;
+import com.management_system.library.service.BulkImportService;
+import com.management_system.library.writebehind.MutationType;
+import com.management_system.library.writebehind.WriteBehindQueue;
 
 @RestController
 @RequestMapping("/api/authors")
@@ -24,32 +46,148 @@ public class AuthorController {
     @Autowired
     private AuthorService authorService;
 
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private WriteBehindQueue writeBehindQueue;
+
     @GetMapping
     public List<Author> getAllAuthors() {
         return authorService.getAllAuthors();
     }
 
+    @GetMapping(params = "limit")
+    public CursorPage<Author> getAuthorsPage(@RequestParam(required = false) Long after,
+            @RequestParam Integer limit) {
+        return authorService.getAuthorsAfter(after, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAuthors() {
+        StreamingResponseBody body = out -> authorService.streamAllAuthors(author -> writeLine(out, author));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/summaries")
+    public CursorPage<AuthorSummary> getAuthorSummaries(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return authorService.getAuthorSummariesAfter(after, limit);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Author> getAuthorById(@PathVariable Long id) {
+    public ResponseEntity<Author> getAuthorById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isConditional(request)) {
+            Optional<ResourceVersion> version = authorService.getAuthorVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (ConditionalRequests.checkNotModified(request, version.get())) {
+                return null;
+            }
+        }
         return authorService.getAuthorById(id)
-                .map(author -> new ResponseEntity<>(author, HttpStatus.OK))
+                .map(author -> ConditionalRequests.ok(request, author, author.getVersion(), author.getLastModified()))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<AuthorStats> getAuthorStats(@PathVariable Long id) {
+        return authorStatsService.getStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/stats")
+    public CursorPage<AuthorStats> getAuthorStatsPage(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return authorStatsService.getStatsAfter(after, limit);
+    }
+
+    @GetMapping(value = "/stats", params = "ids")
+    public ResponseEntity<?> getAuthorStatsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > BatchItem.MAX_IDS) {
+            return ResponseEntity.badRequest().body("At most " + BatchItem.MAX_IDS + " ids per request.");
+        }
+        return ResponseEntity.ok(authorStatsService.getStats(ids));
+    }
+
+    @PostMapping("/stats/rebuild")
+    public int rebuildAuthorStats() {
+        return authorStatsService.rebuild();
+    }
+
     @PostMapping
     public ResponseEntity<Author> createAuthor(@RequestBody Author author) {
         return new ResponseEntity<>(authorService.saveAuthor(author), HttpStatus.CREATED);
     }
 
+    @PostMapping(headers = WriteBehindResponses.PREFER_ASYNC)
+    public ResponseEntity<?> createAuthorAsync(@RequestBody Author author) throws IOException {
+        if (writeBehindQueue == null) {
+            return createAuthor(author);
+        }
+        return WriteBehindResponses.accept(writeBehindQueue, MutationType.CREATE_AUTHOR, null, author);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getAuthorsByIds(@RequestBody List<Long> ids) {
+        String invalid = RequestValidation.invalidIds(ids);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        return ResponseEntity.ok(BatchItem.inOrder(ids, authorService.getAuthorsByIds(ids)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importAuthorsJson(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(bulkImportService.importAuthorsJson(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importAuthorsCsv(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(bulkImportService.importAuthorsCsv(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Author> updateAuthor(@PathVariable Long id, @RequestBody Author authorDetails) {
-        return authorService.getAuthorById(id)
-                .map(author -> {
-                    author.setName(authorDetails.getName());
-                    author.setBirthdate(authorDetails.getBirthdate());
-                    return new ResponseEntity<>(authorService.saveAuthor(author), HttpStatus.OK);
-                })
-                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Author> updateAuthor(@PathVariable Long id, @RequestBody Author authorDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request) {
+        try {
+            return authorService.updateAuthor(id, authorDetails,
+                    ifMatch == null ? null : version -> ConditionalRequests.matches(ifMatch, version))
+                    .map(saved -> ConditionalRequests.ok(request, saved, saved.getVersion(), saved.getLastModified()))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    @PutMapping(value = "/{id}", headers = WriteBehindResponses.PREFER_ASYNC)
+    public ResponseEntity<?> updateAuthorAsync(@PathVariable Long id, @RequestBody Author authorDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request)
+            throws IOException {
+        if (writeBehindQueue == null) {
+            return updateAuthor(id, authorDetails, ifMatch, request);
+        }
+        Long version = ConditionalRequests.version(ifMatch);
+        if (version != null) {
+            authorDetails.setVersion(version);
+        }
+        return WriteBehindResponses.accept(writeBehindQueue, MutationType.UPDATE_AUTHOR, id, authorDetails);
     }
 
     @DeleteMapping("/{id}")
@@ -61,4 +199,13 @@ public class AuthorController {
                 })
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
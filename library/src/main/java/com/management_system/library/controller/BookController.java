@@ -1,9 +1,20 @@
 package com.management_system.library.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +23,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.dto.BatchItem;
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.BulkDeleteReport;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.dto.ResourceVersion;
 import com.management_system.library.model.Book;
 import com.management_system.library.service.BookService;
+import com.management_system.library.service.BulkImportService;
+import com.management_system.library.writebehind.MutationType;
+import com.management_system.library.writebehind.WriteBehindQueue;
 
 @RestController
 @RequestMapping("/api/books")
@@ -24,15 +49,81 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
-    @GetMapping
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private WriteBehindQueue writeBehindQueue;
+
+    @GetMapping(params = { "!limit", "!after", "!publishedFrom", "!publishedBefore", "!authorId", "!title",
+            "!titlePrefix", "!sort" })
     public List<Book> getAllBooks() {
         return bookService.getAllBooks();
     }
 
+    @GetMapping(params = { "limit", "!publishedFrom", "!publishedBefore", "!authorId", "!title", "!titlePrefix",
+            "!sort" })
+    public CursorPage<Book> getBooksPage(@RequestParam(required = false) Long after,
+            @RequestParam Integer limit) {
+        return bookService.getBooksAfter(after, limit);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> findBooks(
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) Date publishedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) Date publishedBefore,
+            @RequestParam(name = "authorId", required = false) List<Long> authorIds,
+            @RequestParam(name = "title", required = false) String titleContains,
+            @RequestParam(required = false) String titlePrefix,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        Optional<BookQuery> query = new BookQuery(publishedFrom, publishedBefore, authorIds, titleContains,
+                titlePrefix, BookQuery.SortKey.ID, false).sortedBy(sort);
+        if (query.isEmpty()) {
+            return ResponseEntity.badRequest().body("Books can be sorted by id, title or publicationDate.");
+        }
+        try {
+            return ResponseEntity.ok(bookService.findBooks(query.get(), after, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE, params = { "!limit", "!after", "!publishedFrom",
+            "!publishedBefore", "!authorId", "!title", "!titlePrefix", "!sort" })
+    public ResponseEntity<StreamingResponseBody> streamBooks() {
+        StreamingResponseBody body = out -> bookService.streamAllBooks(book -> writeLine(out, book));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/summaries")
+    public CursorPage<BookSummary> getBookSummaries(@RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return bookService.getBookSummariesAfter(after, limit);
+    }
+
+    @GetMapping("/search")
+    public List<BookSummary> searchBooks(@RequestParam String q, @RequestParam(required = false) Integer limit) {
+        return bookService.searchBooks(q, limit);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable Long id) {
+    public ResponseEntity<Book> getBookById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isConditional(request)) {
+            Optional<ResourceVersion> version = bookService.getBookVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (ConditionalRequests.checkNotModified(request, version.get())) {
+                return null;
+            }
+        }
         return bookService.getBookById(id)
-                .map(book -> new ResponseEntity<>(book, HttpStatus.OK))
+                .map(book -> ConditionalRequests.ok(request, book, book.getVersion(), book.getLastModified()))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -43,24 +134,87 @@ public class BookController {
 
     @PostMapping
     public ResponseEntity<?> createBook(@RequestBody Book book) {
-        if (book.getAuthor() == null || book.getAuthor().getId() == null) {
-            return ResponseEntity.badRequest().body("Author must be provided.");
+        String invalid = RequestValidation.invalidBook(book);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(invalid);
         }
         Book savedBook = bookService.saveBook(book);
         return ResponseEntity.ok(savedBook);
     }
 
+    @PostMapping(headers = WriteBehindResponses.PREFER_ASYNC)
+    public ResponseEntity<?> createBookAsync(@RequestBody Book book) throws IOException {
+        if (writeBehindQueue == null) {
+            return createBook(book);
+        }
+        String invalid = RequestValidation.invalidBook(book);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        return WriteBehindResponses.accept(writeBehindQueue, MutationType.CREATE_BOOK, null, book);
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<?> getBooksByIds(@RequestBody List<Long> ids) {
+        String invalid = RequestValidation.invalidIds(ids);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        return ResponseEntity.ok(BatchItem.inOrder(ids, bookService.getBooksByIds(ids)));
+    }
+
+    @PostMapping("/batch-delete")
+    public ResponseEntity<?> deleteBooksByIds(@RequestBody List<Long> ids) {
+        String invalid = RequestValidation.invalidIds(ids);
+        if (invalid != null) {
+            return ResponseEntity.badRequest().body(invalid);
+        }
+        return ResponseEntity.ok(new BulkDeleteReport(bookService.deleteBooks(ids)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importBooksJson(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(bulkImportService.importBooksJson(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importBooksCsv(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(bulkImportService.importBooksCsv(body));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book bookDetails) {
-        return bookService.getBookById(id)
-                .map(book -> {
-                    book.setTitle(bookDetails.getTitle());
-                    book.setIsbn(bookDetails.getIsbn());
-                    book.setPublicationDate(bookDetails.getPublicationDate());
-                    book.setAuthor(bookDetails.getAuthor());
-                    return new ResponseEntity<>(bookService.saveBook(book), HttpStatus.OK);
-                })
-                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book bookDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request) {
+        try {
+            return bookService.updateBook(id, bookDetails,
+                    ifMatch == null ? null : version -> ConditionalRequests.matches(ifMatch, version))
+                    .map(saved -> ConditionalRequests.ok(request, saved, saved.getVersion(), saved.getLastModified()))
+                    .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+
+    @PutMapping(value = "/{id}", headers = WriteBehindResponses.PREFER_ASYNC)
+    public ResponseEntity<?> updateBookAsync(@PathVariable Long id, @RequestBody Book bookDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, WebRequest request)
+            throws IOException {
+        if (writeBehindQueue == null) {
+            return updateBook(id, bookDetails, ifMatch, request);
+        }
+        Long version = ConditionalRequests.version(ifMatch);
+        if (version != null) {
+            bookDetails.setVersion(version);
+        }
+        return WriteBehindResponses.accept(writeBehindQueue, MutationType.UPDATE_BOOK, id, bookDetails);
     }
 
     @DeleteMapping("/{id}")
@@ -72,4 +226,18 @@ public class BookController {
                 })
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
+
+    @DeleteMapping(params = "authorId")
+    public ResponseEntity<BulkDeleteReport> deleteBooksByAuthor(@RequestParam Long authorId) {
+        return ResponseEntity.ok(new BulkDeleteReport(bookService.deleteBooksByAuthor(authorId)));
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
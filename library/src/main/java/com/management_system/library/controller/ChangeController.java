@@ -0,0 +1,71 @@
+package com.management_system.library.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.management_system.library.changes.ChangeStream;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.service.ChangeFeedService;
+
+/**
+ * Incremental sync for downstream consumers: poll {@code GET /api/changes}
+ * with the last {@code nextCursor}, or keep a server-sent event stream open on
+ * the same path. A position older than the retention window is answered with
+ * 410 Gone; the consumer then rescans and continues from {@code /head}.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ChangeStream changeStream;
+
+    @GetMapping
+    public ResponseEntity<CursorPage<ChangeEvent>> getChanges(@RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        if (since < 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (changeFeedService.isExpired(since)) {
+            return new ResponseEntity<>(HttpStatus.GONE);
+        }
+        return ResponseEntity.ok(changeFeedService.getChangesAfter(since, limit));
+    }
+
+    @GetMapping("/head")
+    public long getHeadSeq() {
+        return changeFeedService.getHeadSeq();
+    }
+
+    /**
+     * Streams the changes after {@code Last-Event-ID}, after {@code since}, or
+     * from now on when neither is given.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long position = lastEventId != null ? lastEventId : since;
+        if (position == null) {
+            position = changeFeedService.getHeadSeq();
+        } else if (position < 0) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } else if (changeFeedService.isExpired(position)) {
+            return new ResponseEntity<>(HttpStatus.GONE);
+        }
+        return changeStream.subscribe(position)
+                .map(ResponseEntity::ok)
+                .orElse(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+}
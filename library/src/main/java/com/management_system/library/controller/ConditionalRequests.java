@@ -0,0 +1,175 @@
+package com.management_system.library.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.management_system.library.dto.ResourceVersion;
+
+/**
+ * ETag and Last-Modified handling shared by the book and author endpoints. The
+ * ETag of a resource is its JPA version, so validators can be checked against
+ * a version-only query instead of the loaded entity. The methods that do not
+ * take a servlet request are public for the reactive controllers.
+ * <p>
+ * A version is sent as JSON, Smile or CBOR depending on the Accept header,
+ * and each of those is a different representation, so the format is chosen
+ * here and named in the ETag: {@code "5"} for JSON, {@code "5-smile"} and
+ * {@code "5-cbor"} for the binary formats. If-Match compares versions only,
+ * whichever format the client last read.
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Checks the request's If-None-Match and If-Modified-Since headers against
+     * the representation it would be sent; when that is unchanged the 304
+     * status and validators are already written.
+     */
+    static boolean checkNotModified(WebRequest request, ResourceVersion version) {
+        Instant lastModified = version.lastModified();
+        Format format = Format.negotiate(request);
+        return request.checkNotModified(format == null ? version.etag() : format.etag(version.version()),
+                lastModified == null ? -1 : lastModified.toEpochMilli());
+    }
+
+    /**
+     * A 200 response in the format the request negotiates, with that
+     * format's ETag. Without an acceptable format the body is left for the
+     * message converters to refuse.
+     */
+    static <T> ResponseEntity<T> ok(WebRequest request, T body, Long version, Instant lastModified) {
+        Format format = Format.negotiate(request);
+        if (format == null) {
+            return ok(body, version, lastModified);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(format.type);
+        if (version != null) {
+            response.eTag(format.etag(version));
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+
+    public static <T> ResponseEntity<T> ok(T body, Long version, Instant lastModified) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (version != null) {
+            response.eTag(new ResourceVersion(version, lastModified).etag());
+        }
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * The version named by an If-Match header holding a single strong ETag,
+     * in any of the formats, or null for any other header.
+     */
+    public static Long version(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        for (Format format : Format.values()) {
+            if (!format.suffix.isEmpty() && opaque.endsWith(format.suffix)) {
+                opaque = opaque.substring(0, opaque.length() - format.suffix.length());
+                break;
+            }
+        }
+        try {
+            return Long.valueOf(opaque);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Strong comparison of an If-Match header against the current version. A
+     * missing header or {@code *} matches any existing resource.
+     */
+    public static boolean matches(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            Long named = version(candidate);
+            if (named != null && named.equals(version)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The formats of a book or author, JSON first as the default, and their ETag suffixes. */
+    private enum Format {
+        JSON(MediaType.APPLICATION_JSON, ""),
+        SMILE(new MediaType("application", "x-jackson-smile"), "-smile"),
+        CBOR(MediaType.APPLICATION_CBOR, "-cbor");
+
+        private final MediaType type;
+        private final String suffix;
+
+        Format(MediaType type, String suffix) {
+            this.type = type;
+            this.suffix = suffix;
+        }
+
+        String etag(Long version) {
+            return "\"" + version + suffix + "\"";
+        }
+
+        /**
+         * The format the Accept header prefers, as the message converters
+         * would pick it: highest quality first, then the most specific media
+         * range, then converter order. Null when none is acceptable.
+         */
+        static Format negotiate(WebRequest request) {
+            String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+            List<MediaType> ranges;
+            try {
+                ranges = accept == null ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(List.of(accept));
+            } catch (InvalidMediaTypeException e) {
+                return null;
+            }
+            Format best = null;
+            double bestQuality = 0;
+            int bestSpecificity = -1;
+            for (Format format : values()) {
+                double quality = 0;
+                int specificity = -1;
+                for (MediaType range : ranges) {
+                    int rangeSpecificity = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+                    if (range.includes(format.type) && rangeSpecificity > specificity) {
+                        specificity = rangeSpecificity;
+                        quality = range.getQualityValue();
+                    }
+                }
+                if (quality > bestQuality || quality > 0 && quality == bestQuality && specificity > bestSpecificity) {
+                    best = format;
+                    bestQuality = quality;
+                    bestSpecificity = specificity;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.management_system.library.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.management_system.library.dto.SnapshotReport;
+import com.management_system.library.readmodel.CatalogReadModel;
+
+@RestController
+@RequestMapping("/api/read-model")
+public class ReadModelController {
+
+    @Autowired(required = false)
+    private CatalogReadModel readModel;
+
+    /** Writes the catalog snapshot that new instances start from. */
+    @PostMapping("/snapshot")
+    public ResponseEntity<SnapshotReport> exportSnapshot() {
+        if (readModel == null || !readModel.hasSnapshotFile()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(readModel.exportSnapshot());
+    }
+}
@@ -0,0 +1,34 @@
+package com.management_system.library.controller;
+
+import java.util.List;
+
+import com.management_system.library.dto.BatchItem;
+import com.management_system.library.model.Book;
+
+/**
+ * Request body checks shared by the servlet and reactive controllers. Each
+ * returns the message for a 400 response, or {@code null} when the input is
+ * acceptable.
+ */
+public final class RequestValidation {
+
+    private RequestValidation() {
+    }
+
+    public static String invalidIds(List<Long> ids) {
+        if (ids.size() > BatchItem.MAX_IDS) {
+            return "At most " + BatchItem.MAX_IDS + " ids per request.";
+        }
+        if (ids.contains(null)) {
+            return "Ids must not be null.";
+        }
+        return null;
+    }
+
+    public static String invalidBook(Book book) {
+        if (book.getAuthor() == null || book.getAuthor().getId() == null) {
+            return "Author must be provided.";
+        }
+        return null;
+    }
+}
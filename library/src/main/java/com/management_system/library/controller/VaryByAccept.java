@@ -0,0 +1,24 @@
+package com.management_system.library.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Marks API responses as varying by Accept, 304s included: the same URL is
+ * sent as JSON, Smile or CBOR, and a shared cache must not hand one client's
+ * format to another. Async dispatches pass through again, so the header is
+ * only added once.
+ */
+public class VaryByAccept implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT)) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return true;
+    }
+}
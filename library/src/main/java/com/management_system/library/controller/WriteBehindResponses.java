@@ -0,0 +1,42 @@
+package com.management_system.library.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.management_system.library.writebehind.MutationType;
+import com.management_system.library.writebehind.QueueFullException;
+import com.management_system.library.writebehind.WriteBehindQueue;
+import com.management_system.library.writebehind.WriteStatus;
+
+/**
+ * Turns a queued mutation into a 202 pointing at its status, or a 503 with
+ * Retry-After when the queue is full.
+ */
+final class WriteBehindResponses {
+
+    /**
+     * Request header condition selecting the asynchronous variant of a write
+     * endpoint (RFC 7240). Without a write-behind queue the request is served
+     * synchronously, as the preference allows.
+     */
+    static final String PREFER_ASYNC = "Prefer=respond-async";
+
+    private WriteBehindResponses() {
+    }
+
+    static ResponseEntity<?> accept(WriteBehindQueue queue, MutationType type, Long targetId, Object payload)
+            throws IOException {
+        try {
+            WriteStatus status = queue.submit(type, targetId, payload);
+            return ResponseEntity.accepted().location(URI.create("/api/writes/" + status.trackingId())).body(status);
+        } catch (QueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfter().toSeconds()))
+                    .body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.management_system.library.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.management_system.library.writebehind.WriteBehindQueue;
+import com.management_system.library.writebehind.WriteStatus;
+
+@RestController
+@RequestMapping("/api/writes")
+public class WriteController {
+
+    @Autowired(required = false)
+    private WriteBehindQueue writeBehindQueue;
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<WriteStatus> getWriteStatus(@PathVariable String trackingId) {
+        if (writeBehindQueue == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return writeBehindQueue.status(trackingId)
+                .map(status -> new ResponseEntity<>(status, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,65 @@
+package com.management_system.library.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Logs a warning when a connection pool saturates, that is when every
+ * connection is in use and threads are queueing for one, and again when it
+ * recovers. Reads Hikari's pool gauges, so the primary and every replica pool
+ * are covered.
+ */
+@Component
+@ConditionalOnProperty(name = "library.datasource.log-saturation", havingValue = "true", matchIfMissing = true)
+public class PoolSaturationLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolSaturationLogger.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /** Saturated pools and when they were first seen saturated. */
+    private final Map<String, Long> saturatedSince = new HashMap<>();
+
+    @Scheduled(fixedDelayString = "${library.datasource.saturation-check-interval:PT10S}")
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        for (Gauge pending : registry.find("hikaricp.connections.pending").gauges()) {
+            String pool = pending.getId().getTag("pool");
+            double waiting = pending.value();
+            double active = gauge("hikaricp.connections.active", pool);
+            double max = gauge("hikaricp.connections.max", pool);
+            if (waiting > 0 && active >= max) {
+                if (saturatedSince.putIfAbsent(pool, now) == null) {
+                    log.warn("Connection pool {} is saturated: {} of {} connections in use, {} threads waiting",
+                            pool, (long) active, (long) max, (long) waiting);
+                }
+            } else {
+                Long since = saturatedSince.remove(pool);
+                if (since != null) {
+                    log.info("Connection pool {} recovered after {} ms saturated", pool, now - since);
+                }
+            }
+        }
+    }
+
+    synchronized Set<String> saturatedPools() {
+        return Set.copyOf(saturatedSince.keySet());
+    }
+
+    private double gauge(String name, String pool) {
+        Gauge gauge = registry.find(name).tag("pool", pool).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+}
@@ -0,0 +1,25 @@
+package com.management_system.library.datasource;
+
+/**
+ * Thread-local flag that sends every connection request on the current thread
+ * to the primary, so a client reads its own writes while replicas catch up.
+ */
+public final class PrimaryPin {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryPin() {
+    }
+
+    public static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.management_system.library.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gives clients read-your-writes consistency across requests. A write request
+ * runs pinned to the primary and sets a cookie that keeps the client's reads on
+ * the primary for the sticky window, long enough for replicas to catch up.
+ */
+public class PrimaryPinFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "LIBRARY_PRIMARY_UNTIL";
+
+    private final Duration stickyWindow;
+
+    public PrimaryPinFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (isWrite(request)) {
+            PrimaryPin.pin();
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyWindow.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, stickyWindow.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (pinnedUntil(request) > now) {
+            PrimaryPin.pin();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PrimaryPin.clear();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !method.equals("GET") && !method.equals("HEAD") && !method.equals("OPTIONS");
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.management_system.library.datasource;
+
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the
+ * primary. Connections are fetched lazily, on the first statement, so the
+ * transaction's read-only flag is known by the time a target is chosen.
+ */
+public class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final ReplicaPoolDataSource replicaPool;
+
+    public ReadWriteDataSource(DataSource primary, List<? extends DataSource> replicas, Duration retryInterval) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaPool = new ReplicaPoolDataSource(primary, replicas, retryInterval);
+        setReadOnlyDataSource(replicaPool);
+    }
+
+    public ReplicaPoolDataSource getReplicaPool() {
+        return replicaPool;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.management_system.library.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Hands out read connections from a set of replicas in round-robin order. A
+ * replica that fails to produce a connection is skipped for the retry interval;
+ * when no replica is available, or the thread is pinned to the primary, the
+ * connection comes from the primary instead.
+ */
+public class ReplicaPoolDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPoolDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPoolDataSource(DataSource primary, List<? extends DataSource> replicas, Duration retryInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryIntervalNanos = retryInterval.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!PrimaryPin.isPinned()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.isAvailable()) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.markDown();
+                        log.warn("Replica {} unavailable, retrying in {} ms: {}", replica.dataSource,
+                                retryIntervalNanos / 1_000_000, e.getMessage());
+                    }
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    /**
+     * Number of replicas currently taking reads.
+     */
+    public int availableReplicas() {
+        return (int) replicas.stream().filter(Replica::isAvailable).count();
+    }
+
+    private final class Replica {
+
+        private final DataSource dataSource;
+        private volatile long downUntil;
+        private volatile boolean down;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable() {
+            return !down || System.nanoTime() - downUntil >= 0;
+        }
+
+        private void markDown() {
+            downUntil = System.nanoTime() + retryIntervalNanos;
+            down = true;
+        }
+    }
+}
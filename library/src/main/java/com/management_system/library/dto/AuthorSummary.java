@@ -0,0 +1,9 @@
+package com.management_system.library.dto;
+
+import java.util.Date;
+
+/**
+ * Flat view of an author with the number of books they have written.
+ */
+public record AuthorSummary(Long id, String name, Date birthdate, long bookCount) {
+}
@@ -0,0 +1,26 @@
+package com.management_system.library.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of a batch lookup, answered in request order. {@code item} is
+ * omitted when nothing exists under {@code id}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItem<T>(Long id, boolean found, T item) {
+
+    /** Most ids a single batch request may ask for. */
+    public static final int MAX_IDS = 1000;
+
+    public static <T> List<BatchItem<T>> inOrder(List<Long> ids, Map<Long, T> found) {
+        return ids.stream()
+                .map(id -> {
+                    T item = found.get(id);
+                    return new BatchItem<>(id, item != null, item);
+                })
+                .toList();
+    }
+}
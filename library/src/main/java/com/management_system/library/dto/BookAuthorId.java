@@ -0,0 +1,8 @@
+package com.management_system.library.dto;
+
+/**
+ * A stored book's id with the id of its author, read when books are deleted
+ * without being loaded.
+ */
+public record BookAuthorId(Long bookId, Long authorId) {
+}
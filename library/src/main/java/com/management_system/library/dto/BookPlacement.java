@@ -0,0 +1,10 @@
+package com.management_system.library.dto;
+
+import java.util.Date;
+
+/**
+ * The author and publication date a stored book is counted under in the
+ * author statistics.
+ */
+public record BookPlacement(Long authorId, Date publicationDate) {
+}
@@ -0,0 +1,52 @@
+package com.management_system.library.dto;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filters and order for the book listing. Every filter is optional:
+ * {@code publishedFrom} is inclusive and {@code publishedBefore} exclusive,
+ * {@code authorIds} matches any of the authors, {@code titleContains} matches
+ * anywhere in the title ignoring case and {@code titlePrefix} matches the
+ * start of the title as stored. Ties in the sort key are broken by id.
+ */
+public record BookQuery(Date publishedFrom, Date publishedBefore, List<Long> authorIds, String titleContains,
+        String titlePrefix, SortKey sortBy, boolean descending) {
+
+    public enum SortKey {
+        ID("id"), TITLE("title"), PUBLICATION_DATE("publicationDate");
+
+        private final String property;
+
+        SortKey(String property) {
+            this.property = property;
+        }
+
+        public String property() {
+            return property;
+        }
+    }
+
+    public static final BookQuery ALL = new BookQuery(null, null, null, null, null, SortKey.ID, false);
+
+    /**
+     * Reads a sort parameter such as {@code title} or {@code -publicationDate},
+     * where a leading minus sorts descending, into this query's order. Empty
+     * when the property cannot be sorted on.
+     */
+    public Optional<BookQuery> sortedBy(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Optional.of(this);
+        }
+        boolean desc = sort.startsWith("-");
+        String property = desc ? sort.substring(1) : sort;
+        for (SortKey key : SortKey.values()) {
+            if (key.property.equals(property)) {
+                return Optional.of(new BookQuery(publishedFrom, publishedBefore, authorIds, titleContains,
+                        titlePrefix, key, desc));
+            }
+        }
+        return Optional.empty();
+    }
+}
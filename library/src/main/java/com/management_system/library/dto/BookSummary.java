@@ -0,0 +1,10 @@
+package com.management_system.library.dto;
+
+import java.util.Date;
+
+/**
+ * Flat view of a book with its author's name, loaded with a single join.
+ */
+public record BookSummary(Long id, String title, String isbn, Date publicationDate, Long authorId,
+        String authorName) {
+}
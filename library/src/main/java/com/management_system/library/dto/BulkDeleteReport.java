@@ -0,0 +1,8 @@
+package com.management_system.library.dto;
+
+/**
+ * Outcome of a bulk delete: how many rows existed and were deleted. Ids that
+ * matched nothing are not counted.
+ */
+public record BulkDeleteReport(int deleted) {
+}
@@ -0,0 +1,14 @@
+package com.management_system.library.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were read, how many were written and
+ * why each rejected row was rejected. Row numbers start at 1 and count data rows
+ * only, so a CSV header line is not numbered.
+ */
+public record BulkImportReport(int received, int imported, List<RowError> errors) {
+
+    public record RowError(int row, String message) {
+    }
+}
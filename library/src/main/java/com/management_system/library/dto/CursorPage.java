@@ -0,0 +1,26 @@
+package com.management_system.library.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is the id to pass
+ * as {@code after} to fetch the following page, or {@code null} on the last page.
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static <T> CursorPage<T> of(List<T> items, int limit, Function<T, Long> idOf) {
+        Long nextCursor = items.size() < limit ? null : idOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,14 @@
+package com.management_system.library.dto;
+
+import java.time.Instant;
+
+/**
+ * Version and last modification time of a stored entity, loaded without the
+ * entity itself to answer conditional requests.
+ */
+public record ResourceVersion(Long version, Instant lastModified) {
+
+    public String etag() {
+        return "\"" + version + "\"";
+    }
+}
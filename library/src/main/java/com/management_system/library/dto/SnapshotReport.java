@@ -0,0 +1,8 @@
+package com.management_system.library.dto;
+
+/**
+ * A catalog snapshot that was written: the last change feed entry it
+ * contains, how many authors and books it holds and its size in bytes.
+ */
+public record SnapshotReport(long position, int authors, int books, long bytes) {
+}
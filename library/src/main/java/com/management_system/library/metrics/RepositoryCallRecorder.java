@@ -0,0 +1,16 @@
+package com.management_system.library.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+/**
+ * Adds the time of every repository method call to the current request.
+ */
+public class RepositoryCallRecorder implements RepositoryMethodInvocationListener {
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        RequestStats.recordRepositoryCall(invocation.getDuration(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,219 @@
+package com.management_system.library.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Records per-route response sizes, error counts and SQL statement counts for
+ * each request, and logs requests slower than the configured threshold with
+ * the database work they did. Latency timers per route come from Spring Boot's
+ * own {@code http.server.requests} instrumentation.
+ * <p>
+ * Asynchronous requests, the NDJSON exports and the SSE change stream, are
+ * recorded when their response completes rather than when the handler
+ * returns, so that their body, their database work on the async thread and
+ * their full duration are counted.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final Duration slowThreshold;
+
+    public RequestMetricsFilter(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = registry;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStats stats = RequestStats.begin();
+        CountingResponse counting = new CountingResponse(response);
+        Throwable failure = null;
+        try {
+            chain.doFilter(request, counting);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            RequestStats.end();
+            if (failure == null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Completion(request, response, counting, stats, start));
+            } else {
+                record(request, response.getStatus(), failure, counting.bytes, stats, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, Throwable failure, long bytes, RequestStats stats,
+            long nanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+
+        DistributionSummary.builder("library.http.response.size")
+                .description("Response body size")
+                .baseUnit("bytes")
+                .tags("method", method, "uri", route)
+                .register(registry)
+                .record(bytes);
+        DistributionSummary.builder("library.http.request.sql.statements")
+                .description("SQL statements issued while handling a request")
+                .tags("method", method, "uri", route)
+                .register(registry)
+                .record(stats.getSqlStatements());
+        if (failure != null || status >= 400) {
+            Counter.builder("library.http.errors")
+                    .description("Requests that ended in an error status or exception")
+                    .tags("method", method, "uri", route, "status", failure != null ? "500" : String.valueOf(status),
+                            "exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+        }
+        if (nanos >= slowThreshold.toNanos()) {
+            log.warn("Slow request {} {} ({}) took {} ms: {} SQL statements, {} repository calls in {} ms, {} bytes",
+                    method, request.getRequestURI(), route, nanos / 1_000_000, stats.getSqlStatements(),
+                    stats.getRepositoryCalls(), stats.getRepositoryNanos() / 1_000_000, bytes);
+        }
+    }
+
+    /** Records an asynchronous request once its response is complete. */
+    private final class Completion implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final CountingResponse counting;
+        private final RequestStats stats;
+        private final long start;
+        private Throwable failure;
+
+        Completion(HttpServletRequest request, HttpServletResponse response, CountingResponse counting,
+                RequestStats stats, long start) {
+            this.request = request;
+            this.response = response;
+            this.counting = counting;
+            this.stats = stats;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response.getStatus(), failure, counting.bytes, stats, System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failure = event.getThrowable();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /** Counts the bytes (or characters, for writers) of the response body. */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytes;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                ServletOutputStream delegate = super.getOutputStream();
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                PrintWriter delegate = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] cbuf, int off, int len) {
+                        delegate.write(cbuf, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() {
+                        delegate.close();
+                    }
+                });
+            }
+            return writer;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.management_system.library.metrics;
+
+/**
+ * Per-request counters for database work, held in a thread local between
+ * {@link #begin()} and {@link #end()}. Tasks the request hands to the
+ * application executor, such as a streaming response, carry its counters
+ * with them through {@link RequestStatsTaskDecorator}; other work done outside
+ * a tracked request is not counted.
+ */
+public final class RequestStats {
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private int repositoryCalls;
+    private long repositoryNanos;
+
+    private RequestStats() {
+    }
+
+    static RequestStats begin() {
+        RequestStats stats = new RequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    /** Charges the work of the current thread to the given counters, or to none when null. */
+    static void bind(RequestStats stats) {
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+    }
+
+    static void recordSqlStatement() {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.sqlStatements++;
+        }
+    }
+
+    static void recordRepositoryCall(long nanos) {
+        RequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.repositoryCalls++;
+            stats.repositoryNanos += nanos;
+        }
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    public long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+}
@@ -0,0 +1,28 @@
+package com.management_system.library.metrics;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Charges the database work of a task to the request that submitted it, such
+ * as an NDJSON export written on an MVC async thread. Spring Boot applies the
+ * decorator to its application task executor.
+ */
+public class RequestStatsTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        RequestStats stats = RequestStats.current();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestStats previous = RequestStats.current();
+            RequestStats.bind(stats);
+            try {
+                task.run();
+            } finally {
+                RequestStats.bind(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.management_system.library.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares against the current request.
+ * Registered through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestStats.recordSqlStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,65 @@
+package com.management_system.library.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Records how long after the JVM started the application became ready and
+ * served its first API request, as the gauges {@code library.startup.ready.time}
+ * and {@code library.startup.first.request.time}. Unlike Spring Boot's own
+ * {@code application.ready.time}, both include the JVM's start and the class
+ * loading before {@code main}, which is what an instance started by the
+ * autoscaler waits for.
+ */
+@Component
+public class StartupTimes {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimes.class);
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private final AtomicBoolean firstRequestServed = new AtomicBoolean();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        long uptime = uptimeMillis();
+        record("library.startup.ready.time", "Time from the JVM's start until the application was ready", uptime);
+        log.info("Ready {} ms after the JVM started", uptime);
+    }
+
+    @EventListener
+    public void requestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestServed.get() || event.getFailureCause() != null || !event.getRequestUrl().startsWith("/api/")) {
+            return;
+        }
+        if (firstRequestServed.compareAndSet(false, true)) {
+            long uptime = uptimeMillis();
+            record("library.startup.first.request.time",
+                    "Time from the JVM's start until the first API request was served", uptime);
+            log.info("Served the first API request {} ms after the JVM started", uptime);
+        }
+    }
+
+    private void record(String name, String description, long millis) {
+        TimeGauge.builder(name, () -> millis, TimeUnit.MILLISECONDS)
+                .description(description)
+                .register(registry);
+    }
+
+    private static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
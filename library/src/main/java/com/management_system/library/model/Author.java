@@ -1,8 +1,13 @@
 package com.management_system.library.model;
 
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +15,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 
 @Entity
 public class Author {
@@ -24,9 +30,16 @@ public class Author {
     @Column(nullable = false)
     private Date birthdate;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Book> books;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
    
     public Long getId() {
         return id;
@@ -59,4 +72,20 @@ public class Author {
     public void setBooks(List<Book> books) {
         this.books = books;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
 }
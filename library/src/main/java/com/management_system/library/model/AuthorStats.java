@@ -0,0 +1,72 @@
+package com.management_system.library.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Precomputed book count and publication range of one author, kept up to date
+ * by the book write paths so that reading it never touches the book table. A
+ * missing row means the author has no books yet.
+ */
+@Entity
+public class AuthorStats {
+
+    @Id
+    private Long authorId;
+
+    @Column(nullable = false)
+    private long bookCount;
+
+    private Date firstPublicationDate;
+
+    private Date lastPublicationDate;
+
+    public AuthorStats() {
+    }
+
+    public AuthorStats(Long authorId, long bookCount, Date firstPublicationDate, Date lastPublicationDate) {
+        this.authorId = authorId;
+        this.bookCount = bookCount;
+        this.firstPublicationDate = firstPublicationDate;
+        this.lastPublicationDate = lastPublicationDate;
+    }
+
+    public static AuthorStats empty(Long authorId) {
+        return new AuthorStats(authorId, 0, null, null);
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public long getBookCount() {
+        return bookCount;
+    }
+
+    public void setBookCount(long bookCount) {
+        this.bookCount = bookCount;
+    }
+
+    public Date getFirstPublicationDate() {
+        return firstPublicationDate;
+    }
+
+    public void setFirstPublicationDate(Date firstPublicationDate) {
+        this.firstPublicationDate = firstPublicationDate;
+    }
+
+    public Date getLastPublicationDate() {
+        return lastPublicationDate;
+    }
+
+    public void setLastPublicationDate(Date lastPublicationDate) {
+        this.lastPublicationDate = lastPublicationDate;
+    }
+}
@@ -1,16 +1,26 @@
 package com.management_system.library.model;
 
+import java.time.Instant;
 import java.util.Date;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "ix_book_author_publication", columnList = "author_id, publicationDate"),
+        @Index(name = "ix_book_publication", columnList = "publicationDate, id"),
+        @Index(name = "ix_book_title", columnList = "title, id") })
 public class Book {
 
     @Id
@@ -30,6 +40,12 @@ public class Book {
     @JoinColumn(name = "author_id", nullable = false)
     private Author author;
 
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+
    
     public Long getId() {
         return id;
@@ -70,4 +86,20 @@ public class Book {
     public void setAuthor(Author author) {
         this.author = author;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
 }
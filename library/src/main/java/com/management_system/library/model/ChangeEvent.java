@@ -0,0 +1,128 @@
+package com.management_system.library.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One entry of the change feed: a book or author was created, updated or
+ * deleted. Entries are written by the transaction that made the change and
+ * receive their {@code seq} only after it has committed, so the sequence
+ * numbers follow commit order and a consumer that has read up to some
+ * {@code seq} can never later find a smaller one. Entries carry no payload;
+ * consumers load the current state by id.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "ux_change_event_seq", columnList = "seq", unique = true),
+        @Index(name = "ix_change_event_changed_at", columnList = "changedAt") })
+public class ChangeEvent {
+
+    public enum EntityType {
+        BOOK, AUTHOR
+    }
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    private Long version;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    public ChangeEvent() {
+    }
+
+    public ChangeEvent(EntityType entityType, Long entityId, Operation operation, Long version, Instant changedAt) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.version = version;
+        this.changedAt = changedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.management_system.library.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * The last sequence number handed out to a {@link ChangeEvent}. There is a
+ * single row; locking it serialises sequencing across application instances.
+ */
+@Entity
+public class ChangeSequence {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long lastSeq;
+
+    public ChangeSequence() {
+    }
+
+    public ChangeSequence(long lastSeq) {
+        this.id = ID;
+        this.lastSeq = lastSeq;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+}
@@ -0,0 +1,112 @@
+package com.management_system.library.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caps the API requests in progress and sheds the rest with 503 Service
+ * Unavailable and a one-second {@code Retry-After}. The cap drops from
+ * {@code maxConcurrent} to {@code maxConcurrentUnderPressure} while the
+ * {@link PoolWaitMonitor} sees requests queueing for database connections, so
+ * an overloaded pool turns new requests away at once instead of making every
+ * request wait. Streamed responses hold their slot until the stream ends;
+ * the requests {@code uncounted} matches, the server-sent event streams that
+ * hold no connection, are let through without one.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final int maxConcurrent;
+    private final int maxConcurrentUnderPressure;
+    private final PoolWaitMonitor poolWait;
+    private final Predicate<HttpServletRequest> uncounted;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter shed;
+
+    public AdmissionFilter(int maxConcurrent, int maxConcurrentUnderPressure, PoolWaitMonitor poolWait,
+            Predicate<HttpServletRequest> uncounted, MeterRegistry registry) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentUnderPressure = maxConcurrentUnderPressure;
+        this.poolWait = poolWait;
+        this.uncounted = uncounted;
+        this.shed = Counter.builder("library.admission.shed")
+                .description("Requests refused because too many were in progress")
+                .register(registry);
+        Gauge.builder("library.admission.in.flight", inFlight, AtomicInteger::get)
+                .description("API requests in progress")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (uncounted.test(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int limit = poolWait.underPressure() ? maxConcurrentUnderPressure : maxConcurrent;
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            shed.increment();
+            Rejection.send(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, 0, "Server is busy.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Release());
+            } else {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Frees the slot of an asynchronous request once, however it ends. */
+    private final class Release implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
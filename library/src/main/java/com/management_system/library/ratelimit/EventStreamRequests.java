@@ -0,0 +1,46 @@
+package com.management_system.library.ratelimit;
+
+import java.util.function.Predicate;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Matches the requests that Spring MVC will hand to a server-sent event
+ * handler, such as the change stream. The handler is looked up as the
+ * dispatcher would look it up, so a request only matches when it reaches an
+ * {@link SseEmitter} endpoint, whatever its headers say.
+ */
+public class EventStreamRequests implements Predicate<HttpServletRequest> {
+
+    private final HandlerMapping handlers;
+
+    public EventStreamRequests(HandlerMapping handlers) {
+        this.handlers = handlers;
+    }
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        HandlerExecutionChain chain;
+        try {
+            chain = handlers.getHandler(request);
+        } catch (Exception e) {
+            return false;
+        }
+        if (chain == null || !(chain.getHandler() instanceof HandlerMethod method)) {
+            return false;
+        }
+        ResolvableType type = ResolvableType.forMethodParameter(method.getReturnType());
+        if (ResponseEntity.class.equals(type.resolve())) {
+            type = type.getGeneric(0);
+        }
+        Class<?> body = type.resolve();
+        return body != null && SseEmitter.class.isAssignableFrom(body);
+    }
+}
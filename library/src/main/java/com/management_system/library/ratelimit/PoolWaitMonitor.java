@@ -0,0 +1,82 @@
+package com.management_system.library.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Follows how long requests have been waiting for a database connection,
+ * averaged over the last sampling interval of Hikari's connection acquire
+ * timers across all pools. The pool is under pressure while that average is
+ * above {@code maxWait}.
+ * <p>
+ * The acquire timers only hear of waits that have ended, and a pool that is
+ * stuck hands out nothing, so two more signals count as pressure too: a wait
+ * that timed out during the interval, and requests pending for a connection
+ * at consecutive samples with none acquired in between, which is a wait at
+ * least as long as the time since the first of those samples.
+ */
+public class PoolWaitMonitor {
+
+    private final MeterRegistry registry;
+    private final long maxWaitNanos;
+
+    private long lastCount;
+    private double lastTotalNanos;
+    private double lastTimeouts;
+    /** When pending requests were first seen with no connection acquired since, or -1. */
+    private long stalledSince = -1;
+    private volatile long recentWaitNanos;
+    private volatile boolean timedOut;
+
+    public PoolWaitMonitor(MeterRegistry registry, Duration maxWait) {
+        this.registry = registry;
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("library.admission.pool.wait", this, monitor -> monitor.recentWaitNanos / 1_000_000.0)
+                .description("Mean connection acquire time over the last sampling interval, "
+                        + "or how long requests have waited with none acquired")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${library.admission.sample-interval:PT1S}")
+    public synchronized void sample() {
+        long count = 0;
+        double totalNanos = 0;
+        for (Timer timer : registry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            totalNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double pending = 0;
+        for (Gauge gauge : registry.find("hikaricp.connections.pending").gauges()) {
+            pending += gauge.value();
+        }
+        double timeouts = 0;
+        for (Counter counter : registry.find("hikaricp.connections.timeout").counters()) {
+            timeouts += counter.count();
+        }
+        long now = System.nanoTime();
+        long acquired = count - lastCount;
+        long meanWait = acquired > 0 ? (long) ((totalNanos - lastTotalNanos) / acquired) : 0;
+        if (acquired > 0 || pending <= 0) {
+            stalledSince = -1;
+        } else if (stalledSince < 0) {
+            stalledSince = now;
+        }
+        recentWaitNanos = Math.max(meanWait, stalledSince < 0 ? 0 : now - stalledSince);
+        timedOut = timeouts > lastTimeouts;
+        lastCount = count;
+        lastTotalNanos = totalNanos;
+        lastTimeouts = timeouts;
+    }
+
+    public boolean underPressure() {
+        return timedOut || recentWaitNanos > maxWaitNanos;
+    }
+}
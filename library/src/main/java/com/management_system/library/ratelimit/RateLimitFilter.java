@@ -0,0 +1,69 @@
+package com.management_system.library.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gives each client a {@link TokenBucket} and answers 429 Too Many Requests,
+ * with the seconds until enough tokens are back in {@code Retry-After}, once
+ * it is empty. Clients are told apart by their API key header when it holds
+ * one of the configured keys, and otherwise by address, so that a client
+ * cannot take a fresh bucket by sending a new made-up key. Buckets live in a Caffeine map, so lookups do not
+ * contend on a shared lock, and idle clients are forgotten.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final double tokensPerSecond;
+    private final int capacity;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+    private final RequestCosts costs;
+    private final Counter rejected;
+    private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+
+    public RateLimitFilter(double tokensPerSecond, int capacity, String clientHeader, Set<String> apiKeys,
+            RequestCosts costs, MeterRegistry registry) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.capacity = capacity;
+        this.clientHeader = clientHeader;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.costs = costs;
+        this.rejected = Counter.builder("library.ratelimit.rejected")
+                .description("Requests refused because the client's token bucket was empty")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenBucket bucket = buckets.get(clientOf(request), client -> new TokenBucket(tokensPerSecond, capacity));
+        long wait = bucket.tryTake(costs.costOf(request), System.nanoTime());
+        if (wait > 0) {
+            rejected.increment();
+            Rejection.send(response, 429, wait, "Rate limit exceeded.");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String key = request.getHeader(clientHeader);
+        return key != null && apiKeys.contains(key) ? "key:" + key : "address:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,27 @@
+package com.management_system.library.ratelimit;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes the response for a request turned away before reaching a controller.
+ */
+final class Rejection {
+
+    private Rejection() {
+    }
+
+    static void send(HttpServletResponse response, int status, long retryAfterNanos, String message)
+            throws IOException {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
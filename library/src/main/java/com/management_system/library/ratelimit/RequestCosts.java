@@ -0,0 +1,48 @@
+package com.management_system.library.ratelimit;
+
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * How many tokens a request takes from its client's bucket. Reads of one
+ * entity cost one; requests that read or write a whole table, or many rows
+ * at once, cost more in proportion to the database work they cause. Bulk
+ * deletes are charged as bulk imports, and a snapshot export, which reads
+ * every row, as a full listing.
+ */
+public record RequestCosts(int fullListing, int bulkImport, int batchGet) {
+
+    private static final String BOOKS = "/api/books";
+    private static final String AUTHORS = "/api/authors";
+    private static final String SNAPSHOT = "/api/read-model/snapshot";
+    private static final List<String> BOOK_QUERY = List.of("limit", "after", "publishedFrom", "publishedBefore",
+            "authorId", "title", "titlePrefix", "sort");
+
+    public int costOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if ("GET".equals(method) && isFullListing(path, request)
+                || "POST".equals(method) && path.equals(SNAPSHOT)) {
+            return fullListing;
+        }
+        if ("POST".equals(method) && (path.endsWith("/bulk") || path.endsWith("/batch-delete"))) {
+            return bulkImport;
+        }
+        if ("DELETE".equals(method) && path.equals(BOOKS)) {
+            return bulkImport;
+        }
+        if ("POST".equals(method) && path.endsWith("/batch-get")) {
+            return batchGet;
+        }
+        return 1;
+    }
+
+    /** A listing without any paging or filter parameter, which returns the whole table. */
+    private static boolean isFullListing(String path, HttpServletRequest request) {
+        if (path.equals(BOOKS)) {
+            return BOOK_QUERY.stream().noneMatch(request.getParameterMap()::containsKey);
+        }
+        return path.equals(AUTHORS) && request.getParameter("limit") == null;
+    }
+}
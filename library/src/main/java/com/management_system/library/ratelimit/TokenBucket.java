@@ -0,0 +1,50 @@
+package com.management_system.library.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, kept as the single timestamp of the generic cell
+ * rate algorithm: the time at which the bucket would be full again. Taking
+ * tokens pushes that time forward, and a request is refused while it would
+ * land more than a full bucket ahead of now. Concurrent callers race on one
+ * compare-and-set, so the bucket never needs a lock or a refill thread.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final int capacity;
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double tokensPerSecond, int capacity) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacity = capacity;
+        this.capacityNanos = nanosPerToken * capacity;
+    }
+
+    /**
+     * Takes {@code tokens} from the bucket and returns 0, or, when there are
+     * not enough, takes nothing and returns the nanoseconds until there will
+     * be. A request for more than the capacity is charged the full capacity.
+     */
+    public long tryTake(int tokens, long nowNanos) {
+        long cost = Math.min(tokens, capacity) * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + cost;
+            long wait = next - nowNanos - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Whole tokens currently available. */
+    public long available(long nowNanos) {
+        long ahead = Math.max(fullAt.get(), nowNanos) - nowNanos;
+        return (capacityNanos - ahead) / nanosPerToken;
+    }
+}
@@ -0,0 +1,28 @@
+package com.management_system.library.readmodel;
+
+import java.util.Date;
+
+import com.management_system.library.model.Author;
+
+/**
+ * An author as the read model keeps it, with the name as a code into the
+ * catalog's {@link NameDictionary}.
+ */
+public record AuthorRow(long id, int nameCode, long birthdate, long version, long lastModifiedNanos) {
+
+    static AuthorRow of(Author author, int nameCode) {
+        return new AuthorRow(author.getId(), nameCode, BookRow.millis(author.getBirthdate()),
+                author.getVersion() == null ? BookRow.NONE : author.getVersion(),
+                BookRow.nanos(author.getLastModified()));
+    }
+
+    Author toAuthor(String name) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setBirthdate(birthdate == BookRow.NONE ? null : new Date(birthdate));
+        author.setVersion(version == BookRow.NONE ? null : version);
+        author.setLastModified(BookRow.instant(lastModifiedNanos));
+        return author;
+    }
+}
@@ -0,0 +1,49 @@
+package com.management_system.library.readmodel;
+
+import java.time.Instant;
+import java.util.Date;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+/**
+ * A book as the read model keeps it: its author by id, and its dates,
+ * version and modification time as primitives, with {@link #NONE} standing in
+ * for a missing value.
+ */
+public record BookRow(long id, String title, String isbn, long publicationDate, long authorId, long version,
+        long lastModifiedNanos) {
+
+    public static final long NONE = Long.MIN_VALUE;
+
+    static BookRow of(Book book) {
+        return new BookRow(book.getId(), book.getTitle(), book.getIsbn(), millis(book.getPublicationDate()),
+                book.getAuthor().getId(), book.getVersion() == null ? NONE : book.getVersion(),
+                nanos(book.getLastModified()));
+    }
+
+    /** A detached book with the given author, who must be this book's author. */
+    Book toBook(Author author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setIsbn(isbn);
+        book.setPublicationDate(publicationDate == NONE ? null : new Date(publicationDate));
+        book.setAuthor(author);
+        book.setVersion(version == NONE ? null : version);
+        book.setLastModified(instant(lastModifiedNanos));
+        return book;
+    }
+
+    static long millis(Date date) {
+        return date == null ? NONE : date.getTime();
+    }
+
+    static long nanos(Instant instant) {
+        return instant == null ? NONE : instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    static Instant instant(long nanos) {
+        return nanos == NONE ? null : Instant.ofEpochSecond(0, nanos);
+    }
+}
@@ -0,0 +1,215 @@
+package com.management_system.library.readmodel;
+
+import java.util.Arrays;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+/**
+ * One generation of the read model: books and authors by id, and the sorted
+ * ids of each author's books. Reads go straight to the sharded maps; writes
+ * are serialized on the catalog, since moving a book between authors touches
+ * several shards. A row is only replaced by one of the same or a newer
+ * version, so a reload that read the database before a local write landed
+ * cannot undo it.
+ * <p>
+ * A catalog may sit on top of a {@link MappedSnapshot}. It then reads through
+ * to the snapshot for the rows it does not hold itself, and records changes as
+ * rows shadowing the snapshot's, with removals as {@link #REMOVED_BOOK} and
+ * {@link #REMOVED_AUTHOR} markers and an empty array for an author left
+ * without books.
+ */
+final class Catalog {
+
+    private static final long[] NO_BOOKS = new long[0];
+    private static final BookRow REMOVED_BOOK = new BookRow(0, null, null, 0, 0, 0, 0);
+    private static final AuthorRow REMOVED_AUTHOR = new AuthorRow(0, 0, 0, 0, 0);
+
+    private final MappedSnapshot base;
+
+    private final ShardedLongMap<BookRow> books;
+    private final ShardedLongMap<AuthorRow> authors;
+    private final ShardedLongMap<long[]> bookIdsByAuthor;
+    private final NameDictionary names = new NameDictionary();
+
+    /** Book ids per author collected by {@link #load}, until {@link #finishLoad} sorts them in. */
+    private LongObjectMap<IdBuffer> loading = new LongObjectMap<>();
+
+    private static final class IdBuffer {
+
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    Catalog(int shards) {
+        this(shards, null);
+    }
+
+    Catalog(int shards, MappedSnapshot base) {
+        this.base = base;
+        books = new ShardedLongMap<>(shards);
+        authors = new ShardedLongMap<>(shards);
+        bookIdsByAuthor = new ShardedLongMap<>(shards);
+    }
+
+    BookRow book(long id) {
+        BookRow row = books.get(id);
+        if (row == null) {
+            return base == null ? null : base.book(id);
+        }
+        return row == REMOVED_BOOK ? null : row;
+    }
+
+    AuthorRow author(long id) {
+        AuthorRow row = authors.get(id);
+        if (row == null) {
+            return base == null ? null : base.author(id);
+        }
+        return row == REMOVED_AUTHOR ? null : row;
+    }
+
+    /** The author's book ids in ascending order. The array is shared and must not be modified. */
+    long[] bookIdsOf(long authorId) {
+        long[] ids = bookIdsByAuthor.get(authorId);
+        if (ids == null && base != null) {
+            ids = base.bookIdsOf(authorId);
+        }
+        return ids == null ? NO_BOOKS : ids;
+    }
+
+    String name(AuthorRow author) {
+        // negative codes are names kept in the snapshot
+        return author.nameCode() < 0 ? base.name(author.nameCode()) : names.decode(author.nameCode());
+    }
+
+    MappedSnapshot base() {
+        return base;
+    }
+
+    /** Books held on the heap, which leaves out those read from the snapshot. */
+    int bookCount() {
+        return books.size();
+    }
+
+    int authorCount() {
+        return authors.size();
+    }
+
+    int nameCount() {
+        return names.size();
+    }
+
+    /**
+     * Adds a book while the catalog is being built and before it is published,
+     * without the per-write copy of the author's book ids.
+     */
+    void load(Book book) {
+        BookRow row = BookRow.of(book);
+        books.put(row.id(), row);
+        IdBuffer ids = loading.get(row.authorId());
+        if (ids == null) {
+            ids = new IdBuffer();
+            loading.put(row.authorId(), ids);
+        }
+        ids.add(row.id());
+    }
+
+    void finishLoad() {
+        loading.forEach((authorId, buffer) -> {
+            long[] ids = Arrays.copyOf(buffer.ids, buffer.size);
+            Arrays.sort(ids);
+            bookIdsByAuthor.put(authorId, ids);
+        });
+        loading = null;
+    }
+
+    synchronized void putAuthor(Author author) {
+        AuthorRow current = author(author.getId());
+        AuthorRow row = AuthorRow.of(author, names.encode(author.getName()));
+        if (current == null || current.version() <= row.version()) {
+            authors.put(row.id(), row);
+        }
+    }
+
+    /** Removes the author and the author's books. */
+    synchronized void removeAuthor(long id) {
+        long[] bookIds = bookIdsOf(id);
+        if (base == null) {
+            authors.remove(id);
+            bookIdsByAuthor.remove(id);
+        } else {
+            authors.put(id, REMOVED_AUTHOR);
+            bookIdsByAuthor.put(id, NO_BOOKS);
+        }
+        for (long bookId : bookIds) {
+            if (base == null) {
+                books.remove(bookId);
+            } else {
+                books.put(bookId, REMOVED_BOOK);
+            }
+        }
+    }
+
+    synchronized void putBook(Book book) {
+        BookRow row = BookRow.of(book);
+        BookRow current = book(row.id());
+        if (current != null && current.version() > row.version()) {
+            return;
+        }
+        books.put(row.id(), row);
+        if (current == null || current.authorId() != row.authorId()) {
+            if (current != null) {
+                bookIdsByAuthor.put(current.authorId(), without(bookIdsOf(current.authorId()), current.id()));
+            }
+            bookIdsByAuthor.put(row.authorId(), with(bookIdsOf(row.authorId()), row.id()));
+        }
+    }
+
+    synchronized void removeBook(long id) {
+        BookRow removed = book(id);
+        if (removed != null) {
+            if (base == null) {
+                books.remove(id);
+            } else {
+                books.put(id, REMOVED_BOOK);
+            }
+            long[] remaining = without(bookIdsOf(removed.authorId()), id);
+            if (remaining.length == 0 && base == null) {
+                bookIdsByAuthor.remove(removed.authorId());
+            } else {
+                bookIdsByAuthor.put(removed.authorId(), remaining);
+            }
+        }
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return ids;
+        }
+        int insert = -at - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insert);
+        copy[insert] = id;
+        System.arraycopy(ids, insert, copy, insert + 1, ids.length - insert);
+        return copy;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return ids;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        System.arraycopy(ids, at + 1, copy, at, ids.length - at - 1);
+        return copy;
+    }
+}
@@ -0,0 +1,384 @@
+package com.management_system.library.readmodel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.management_system.library.dto.ResourceVersion;
+import com.management_system.library.dto.SnapshotReport;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+import com.management_system.library.repository.ChangeEventRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * A compact in-memory projection of the catalog that {@code BookService} and
+ * {@code AuthorService} read from when {@code library.read-model.enabled} is
+ * set. Rows are records in primitive-keyed maps, author names are dictionary
+ * encoded and each author's books are a sorted id array, so a book costs a
+ * fraction of a managed entity and looking up a row allocates nothing.
+ * <p>
+ * The catalog is built from the database once the application has started,
+ * and again on {@code rebuild-cron}, off to the side before it replaces the
+ * current one. This instance's writes are applied as they commit, and every
+ * {@code refresh-interval} the rows named in the change feed since the
+ * catalog was read are reloaded, which brings in writes from other instances and bulk
+ * imports. Until the first snapshot is ready the services read from the
+ * database.
+ * <p>
+ * With {@code library.read-model.snapshot.file} set, {@link #exportSnapshot}
+ * writes the catalog to that file, and an instance that finds the file at
+ * startup maps it and serves from it at once, catching up from the change
+ * feed position recorded in it instead of reading the whole catalog. A file
+ * that cannot be read is logged and the catalog is read from the database.
+ */
+@Component
+@ConditionalOnProperty(name = "library.read-model.enabled", havingValue = "true")
+public class CatalogReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogReadModel.class);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private ChangeEventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${library.read-model.shards:16}")
+    private int shards = 16;
+
+    @Value("${library.read-model.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${library.read-model.snapshot.file:}")
+    private String snapshotFile = "";
+
+    private final Object exportLock = new Object();
+
+    private volatile Catalog catalog;
+
+    /** Sequence number of the last change feed entry applied. */
+    private long position;
+
+    public boolean isReady() {
+        return catalog != null;
+    }
+
+    public BookRow bookRow(long id) {
+        return catalog.book(id);
+    }
+
+    public AuthorRow authorRow(long id) {
+        return catalog.author(id);
+    }
+
+    /** The author's book ids in ascending order. The array is shared and must not be modified. */
+    public long[] bookIdsOf(long authorId) {
+        return catalog.bookIdsOf(authorId);
+    }
+
+    public String authorName(AuthorRow author) {
+        return catalog.name(author);
+    }
+
+    public Book findBook(long id) {
+        Catalog current = catalog;
+        BookRow row = current.book(id);
+        return row == null ? null : row.toBook(toAuthor(current, row.authorId()));
+    }
+
+    /** The author's books in id order, sharing one detached author. */
+    public List<Book> findBooksByAuthor(long authorId) {
+        Catalog current = catalog;
+        long[] ids = current.bookIdsOf(authorId);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Author author = toAuthor(current, authorId);
+        return Arrays.stream(ids)
+                .mapToObj(current::book)
+                .filter(row -> row != null)
+                .map(row -> row.toBook(author))
+                .toList();
+    }
+
+    /** The books with the given ids, keyed by id; ids with no book are left out. */
+    public Map<Long, Book> findBooks(Collection<Long> ids) {
+        Catalog current = catalog;
+        Map<Long, Author> authors = new HashMap<>();
+        Map<Long, Book> found = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            BookRow row = current.book(id);
+            if (row != null) {
+                Author author = authors.computeIfAbsent(row.authorId(), authorId -> toAuthor(current, authorId));
+                found.put(id, row.toBook(author));
+            }
+        }
+        return found;
+    }
+
+    public ResourceVersion bookVersion(long id) {
+        BookRow row = catalog.book(id);
+        return row == null ? null : new ResourceVersion(row.version() == BookRow.NONE ? null : row.version(),
+                BookRow.instant(row.lastModifiedNanos()));
+    }
+
+    public Author findAuthor(long id) {
+        Catalog current = catalog;
+        AuthorRow row = current.author(id);
+        return row == null ? null : row.toAuthor(current.name(row));
+    }
+
+    /** The authors with the given ids, keyed by id; ids with no author are left out. */
+    public Map<Long, Author> findAuthors(Collection<Long> ids) {
+        Catalog current = catalog;
+        Map<Long, Author> found = new HashMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            AuthorRow row = current.author(id);
+            if (row != null) {
+                found.put(id, row.toAuthor(current.name(row)));
+            }
+        }
+        return found;
+    }
+
+    public ResourceVersion authorVersion(long id) {
+        AuthorRow row = catalog.author(id);
+        return row == null ? null : new ResourceVersion(row.version() == BookRow.NONE ? null : row.version(),
+                BookRow.instant(row.lastModifiedNanos()));
+    }
+
+    /** The author of a book, or one with only its id if the author row has not arrived yet. */
+    private static Author toAuthor(Catalog catalog, long authorId) {
+        AuthorRow row = catalog.author(authorId);
+        if (row != null) {
+            return row.toAuthor(catalog.name(row));
+        }
+        Author author = new Author();
+        author.setId(authorId);
+        return author;
+    }
+
+    /** Applies a committed save. Called by the services after commit. */
+    public void bookSaved(Book book) {
+        Catalog current = catalog;
+        if (current != null) {
+            current.putBook(book);
+        }
+    }
+
+    public void booksDeleted(Collection<Long> ids) {
+        Catalog current = catalog;
+        if (current != null) {
+            ids.forEach(current::removeBook);
+        }
+    }
+
+    public void authorSaved(Author author) {
+        Catalog current = catalog;
+        if (current != null) {
+            current.putAuthor(author);
+        }
+    }
+
+    /** Applies a committed author delete, which takes the author's books with it. */
+    public void authorDeleted(long id) {
+        Catalog current = catalog;
+        if (current != null) {
+            current.removeAuthor(id);
+        }
+    }
+
+    /** Maps the snapshot file if there is one, or builds the catalog from the database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!snapshotFile.isEmpty() && Files.exists(Path.of(snapshotFile))) {
+            try {
+                startFrom(MappedSnapshot.open(Path.of(snapshotFile)));
+                return;
+            } catch (IOException e) {
+                log.warn("Could not map the catalog snapshot, reading the catalog from the database: {}",
+                        e.getMessage());
+            }
+        }
+        rebuild();
+    }
+
+    private synchronized void startFrom(MappedSnapshot snapshot) {
+        long started = System.nanoTime();
+        catalog = new Catalog(shards, snapshot);
+        position = snapshot.position();
+        refresh();
+        log.info("Mapped {} books and {} authors from the snapshot of {} and caught up from position {} in {} ms",
+                snapshot.bookCount(), snapshot.authorCount(), snapshot.createdAt(), snapshot.position(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean hasSnapshotFile() {
+        return !snapshotFile.isEmpty();
+    }
+
+    /**
+     * Writes every author and book in the database to the snapshot file,
+     * replacing the previous one, for instances started later to map. The
+     * change feed position is read first, so the changes that land while the
+     * catalog is being read are applied again on top of the snapshot.
+     */
+    @Scheduled(cron = "${library.read-model.snapshot.export-cron:-}")
+    public SnapshotReport exportSnapshot() {
+        if (snapshotFile.isEmpty()) {
+            throw new IllegalStateException("library.read-model.snapshot.file is not set");
+        }
+        synchronized (exportLock) {
+            long started = System.nanoTime();
+            Long head = eventRepository.findNewestSeq();
+            SnapshotReport report = readOnly().execute(status -> {
+                try (SnapshotWriter writer = new SnapshotWriter(Path.of(snapshotFile), head == null ? 0L : head)) {
+                    try (Stream<Author> authors = authorRepository.streamAll()) {
+                        for (Author author : (Iterable<Author>) authors::iterator) {
+                            writer.addAuthor(author);
+                            entityManager.detach(author);
+                        }
+                    }
+                    try (Stream<Book> books = bookRepository.streamAll()) {
+                        for (Book book : (Iterable<Book>) books::iterator) {
+                            writer.addBook(book);
+                            entityManager.detach(book);
+                        }
+                    }
+                    return writer.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Wrote {} books and {} authors, {} bytes, to the catalog snapshot in {} ms", report.books(),
+                    report.authors(), report.bytes(), (System.nanoTime() - started) / 1_000_000);
+            return report;
+        }
+    }
+
+    /**
+     * Builds a new catalog from the database and puts it in place of the
+     * current one, then applies the changes made while it was being read.
+     */
+    @Scheduled(cron = "${library.read-model.rebuild-cron:-}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Long head = eventRepository.findNewestSeq();
+        Catalog next = new Catalog(shards);
+        readOnly().executeWithoutResult(status -> {
+            try (Stream<Author> authors = authorRepository.streamAll()) {
+                authors.forEach(author -> {
+                    next.putAuthor(author);
+                    entityManager.detach(author);
+                });
+            }
+            try (Stream<Book> books = bookRepository.streamAll()) {
+                books.forEach(book -> {
+                    next.load(book);
+                    entityManager.detach(book);
+                });
+            }
+        });
+        next.finishLoad();
+        catalog = next;
+        position = head == null ? 0L : head;
+        refresh();
+        log.info("Loaded {} books, {} authors and {} distinct author names into the read model in {} ms",
+                next.bookCount(), next.authorCount(), next.nameCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Reloads the books and authors named in the change feed since the last
+     * refresh, or removes them when they no longer exist.
+     */
+    @Scheduled(fixedDelayString = "${library.read-model.refresh-interval:PT1S}")
+    public synchronized void refresh() {
+        Catalog current = catalog;
+        if (current == null) {
+            return;
+        }
+        List<ChangeEvent> events;
+        do {
+            events = eventRepository.findBySeqGreaterThanOrderBySeqAsc(position, Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            Set<Long> bookIds = new TreeSet<>();
+            Set<Long> authorIds = new TreeSet<>();
+            for (ChangeEvent event : events) {
+                (event.getEntityType() == EntityType.BOOK ? bookIds : authorIds).add(event.getEntityId());
+            }
+            reload(current, authorIds, bookIds);
+            position = events.get(events.size() - 1).getSeq();
+        } while (events.size() == batchSize);
+    }
+
+    private void reload(Catalog current, Set<Long> authorIds, Set<Long> bookIds) {
+        readOnly().executeWithoutResult(status -> {
+            Map<Long, Author> authors = new HashMap<>();
+            authorRepository.findByIdIn(authorIds).forEach(author -> authors.put(author.getId(), author));
+            for (Long id : authorIds) {
+                Author author = authors.get(id);
+                if (author != null) {
+                    current.putAuthor(author);
+                } else {
+                    current.removeAuthor(id);
+                }
+            }
+            Map<Long, Book> books = new HashMap<>();
+            bookRepository.findByIdIn(bookIds).forEach(book -> books.put(book.getId(), book));
+            for (Long id : bookIds) {
+                Book book = books.get(id);
+                if (book != null) {
+                    current.putBook(book);
+                } else {
+                    current.removeBook(id);
+                }
+            }
+        });
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,149 @@
+package com.management_system.library.readmodel;
+
+/**
+ * An open-addressing hash map from positive {@code long} keys to values, with
+ * linear probing and backward-shift deletion, so keys are never boxed and
+ * there are no entry objects. Not thread-safe: {@link ShardedLongMap} guards
+ * each instance. A {@link #get} racing a writer never throws or loops forever,
+ * but its result only holds once the caller has validated its read.
+ */
+final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /** Keys and values are swapped together so a racing reader sees matching arrays. */
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+    }
+
+    private Table table = new Table(MIN_CAPACITY);
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        Table t = table;
+        long[] keys = t.keys;
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (int probes = 0; probes <= mask; probes++) {
+            long k = keys[slot];
+            if (k == key) {
+                return (V) t.values[slot];
+            }
+            if (k == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /** Maps {@code key}, which must be positive, to {@code value} and returns the previous value. */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("Values must not be null");
+        }
+        long[] keys = table.keys;
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) table.values[slot];
+                table.values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table.values[slot] = value;
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        long[] keys = table.keys;
+        Object[] values = table.values;
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == 0) {
+                return null;
+            }
+            slot = (slot + 1) & mask;
+        }
+        V removed = (V) values[slot];
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            // Move the entry back into the gap unless its home slot lies after the gap.
+            if (((next - slot(keys[next], mask)) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    interface EntryConsumer<V> {
+
+        void accept(long key, V value);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(EntryConsumer<? super V> consumer) {
+        Table t = table;
+        for (int i = 0; i < t.keys.length; i++) {
+            if (t.keys[i] != 0) {
+                consumer.accept(t.keys[i], (V) t.values[i]);
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < old.keys.length; i++) {
+            long key = old.keys[i];
+            if (key != 0) {
+                int slot = slot(key, mask);
+                while (resized.keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                resized.keys[slot] = key;
+                resized.values[slot] = old.values[i];
+            }
+        }
+        table = resized;
+    }
+
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) mix(key) & mask;
+    }
+}
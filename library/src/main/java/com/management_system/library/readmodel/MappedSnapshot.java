@@ -0,0 +1,210 @@
+package com.management_system.library.readmodel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * A catalog snapshot file mapped into memory and read in place, so an instance
+ * can answer lookups as soon as the file is mapped instead of after reading
+ * the catalog from the database. The rows stay off the heap; only the rows
+ * looked up are copied out.
+ * <p>
+ * The file, written by {@link SnapshotWriter}, is a fixed header followed by
+ * these sections:
+ * <ul>
+ * <li>authors, one {@value #AUTHOR_RECORD}-byte record each in id order;</li>
+ * <li>books, one {@value #BOOK_RECORD}-byte record each in id order;</li>
+ * <li>for each author, the index of its first entry in the next section, plus
+ * one entry past the end;</li>
+ * <li>the indexes of the books, grouped by author in author order;</li>
+ * <li>the names, titles and ISBNs in UTF-8, which the records point into.</li>
+ * </ul>
+ * The records being sorted makes them their own id index, searched by
+ * bisection. Each section is mapped on its own, so none may exceed 2 GB,
+ * which allows some 38 million books.
+ */
+final class MappedSnapshot {
+
+    static final int MAGIC = 0x4C424353; // "LBCS"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER = 64;
+    static final int AUTHOR_RECORD = 48;
+    static final int BOOK_RECORD = 56;
+
+    // author record layout
+    static final int AUTHOR_ID = 0;
+    static final int AUTHOR_BIRTHDATE = 8;
+    static final int AUTHOR_VERSION = 16;
+    static final int AUTHOR_LAST_MODIFIED = 24;
+    static final int AUTHOR_NAME_OFFSET = 32;
+    static final int AUTHOR_NAME_LENGTH = 40;
+
+    // book record layout; the ISBN follows the title in the strings section
+    static final int BOOK_ID = 0;
+    static final int BOOK_AUTHOR_ID = 8;
+    static final int BOOK_PUBLICATION_DATE = 16;
+    static final int BOOK_VERSION = 24;
+    static final int BOOK_LAST_MODIFIED = 32;
+    static final int BOOK_TITLE_OFFSET = 40;
+    static final int BOOK_TITLE_LENGTH = 48;
+    static final int BOOK_ISBN_LENGTH = 52;
+
+    private final Path file;
+    private final long position;
+    private final Instant createdAt;
+    private final int authorCount;
+    private final int bookCount;
+    private final ByteBuffer authors;
+    private final ByteBuffer books;
+    private final ByteBuffer bookStarts;
+    private final ByteBuffer booksByAuthor;
+    private final ByteBuffer strings;
+
+    private MappedSnapshot(Path file, FileChannel channel) throws IOException {
+        this.file = file;
+        if (channel.size() < HEADER) {
+            throw new IOException(file + " is not a catalog snapshot");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(file + " is not a catalog snapshot");
+        }
+        if (header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(file + " has snapshot format " + header.getInt(4) + ", expected " + FORMAT_VERSION);
+        }
+        position = header.getLong(8);
+        createdAt = Instant.ofEpochMilli(header.getLong(16));
+        authorCount = header.getInt(24);
+        bookCount = header.getInt(28);
+        long stringsLength = header.getLong(32);
+        if (channel.size() != HEADER + 4L * (authorCount + 1) + 4L * bookCount
+                + (long) AUTHOR_RECORD * authorCount + (long) BOOK_RECORD * bookCount + stringsLength) {
+            throw new IOException(file + " is truncated");
+        }
+        long offset = HEADER;
+        authors = map(channel, offset, (long) AUTHOR_RECORD * authorCount);
+        offset += authors.capacity();
+        books = map(channel, offset, (long) BOOK_RECORD * bookCount);
+        offset += books.capacity();
+        bookStarts = map(channel, offset, 4L * (authorCount + 1));
+        offset += bookStarts.capacity();
+        booksByAuthor = map(channel, offset, 4L * bookCount);
+        offset += booksByAuthor.capacity();
+        strings = map(channel, offset, stringsLength);
+    }
+
+    /** Maps the snapshot file. The mapping outlives the channel and is released once unreachable. */
+    static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedSnapshot(file, channel);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /** Sequence number of the last change feed entry the snapshot contains. */
+    long position() {
+        return position;
+    }
+
+    Instant createdAt() {
+        return createdAt;
+    }
+
+    int authorCount() {
+        return authorCount;
+    }
+
+    int bookCount() {
+        return bookCount;
+    }
+
+    BookRow book(long id) {
+        int index = search(books, BOOK_RECORD, bookCount, id);
+        return index < 0 ? null : bookAt(index);
+    }
+
+    private BookRow bookAt(int index) {
+        int at = index * BOOK_RECORD;
+        long textOffset = books.getLong(at + BOOK_TITLE_OFFSET);
+        int titleLength = books.getInt(at + BOOK_TITLE_LENGTH);
+        int isbnLength = books.getInt(at + BOOK_ISBN_LENGTH);
+        return new BookRow(books.getLong(at + BOOK_ID), string(textOffset, titleLength),
+                string(textOffset + Math.max(titleLength, 0), isbnLength), books.getLong(at + BOOK_PUBLICATION_DATE),
+                books.getLong(at + BOOK_AUTHOR_ID), books.getLong(at + BOOK_VERSION),
+                books.getLong(at + BOOK_LAST_MODIFIED));
+    }
+
+    /**
+     * The author, with a negative name code that {@link #name} resolves
+     * against this file rather than a {@link NameDictionary}.
+     */
+    AuthorRow author(long id) {
+        int index = search(authors, AUTHOR_RECORD, authorCount, id);
+        if (index < 0) {
+            return null;
+        }
+        int at = index * AUTHOR_RECORD;
+        return new AuthorRow(id, -index - 1, authors.getLong(at + AUTHOR_BIRTHDATE),
+                authors.getLong(at + AUTHOR_VERSION), authors.getLong(at + AUTHOR_LAST_MODIFIED));
+    }
+
+    String name(int nameCode) {
+        int at = (-nameCode - 1) * AUTHOR_RECORD;
+        return string(authors.getLong(at + AUTHOR_NAME_OFFSET), authors.getInt(at + AUTHOR_NAME_LENGTH));
+    }
+
+    /** The author's book ids in ascending order, or {@code null} if the author is not in the snapshot. */
+    long[] bookIdsOf(long authorId) {
+        int index = search(authors, AUTHOR_RECORD, authorCount, authorId);
+        if (index < 0) {
+            return null;
+        }
+        int from = bookStarts.getInt(index * 4);
+        long[] ids = new long[bookStarts.getInt(index * 4 + 4) - from];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = books.getLong(booksByAuthor.getInt((from + i) * 4) * BOOK_RECORD + BOOK_ID);
+        }
+        return ids;
+    }
+
+    /** The UTF-8 string at the offset; a length of -1 stands for {@code null}. */
+    private String string(long offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        strings.get((int) offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Index of the record with the id, by bisection over the sorted records, or -1. */
+    private static int search(ByteBuffer records, int recordSize, int count, long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = records.getLong(mid * recordSize);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+}
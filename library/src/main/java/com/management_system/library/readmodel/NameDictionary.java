@@ -0,0 +1,38 @@
+package com.management_system.library.readmodel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Author names, each stored once and referred to by an {@code int} code.
+ * Codes are never reused; a rebuilt catalog starts a new dictionary, which
+ * drops the names no author uses any more.
+ */
+final class NameDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    synchronized int encode(String name) {
+        Integer code = codes.get(name);
+        if (code != null) {
+            return code;
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = name;
+        codes.put(name, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return names[code];
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,83 @@
+package com.management_system.library.readmodel;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A {@link LongObjectMap} split by key into shards, each behind its own
+ * {@link StampedLock}. Lookups read optimistically and take the read lock only
+ * when a writer changed the same shard in the meantime, so they neither block
+ * nor allocate, and a write holds up only the readers of one shard.
+ */
+final class ShardedLongMap<V> {
+
+    private final LongObjectMap<V>[] maps;
+    private final StampedLock[] locks;
+    private final int shift;
+
+    @SuppressWarnings("unchecked")
+    ShardedLongMap(int shards) {
+        if (shards <= 0 || Integer.bitCount(shards) != 1) {
+            throw new IllegalArgumentException("The shard count must be a power of two: " + shards);
+        }
+        maps = new LongObjectMap[shards];
+        locks = new StampedLock[shards];
+        for (int i = 0; i < shards; i++) {
+            maps[i] = new LongObjectMap<>();
+            locks[i] = new StampedLock();
+        }
+        shift = 64 - Integer.numberOfTrailingZeros(shards);
+    }
+
+    V get(long key) {
+        int shard = shard(key);
+        StampedLock lock = locks[shard];
+        long stamp = lock.tryOptimisticRead();
+        V value = maps[shard].get(key);
+        if (lock.validate(stamp)) {
+            return value;
+        }
+        stamp = lock.readLock();
+        try {
+            return maps[shard].get(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    V put(long key, V value) {
+        int shard = shard(key);
+        long stamp = locks[shard].writeLock();
+        try {
+            return maps[shard].put(key, value);
+        } finally {
+            locks[shard].unlockWrite(stamp);
+        }
+    }
+
+    V remove(long key) {
+        int shard = shard(key);
+        long stamp = locks[shard].writeLock();
+        try {
+            return maps[shard].remove(key);
+        } finally {
+            locks[shard].unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (int shard = 0; shard < maps.length; shard++) {
+            long stamp = locks[shard].readLock();
+            try {
+                size += maps[shard].size();
+            } finally {
+                locks[shard].unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private int shard(long key) {
+        return shift == 64 ? 0 : (int) (LongObjectMap.mix(key) >>> shift);
+    }
+}
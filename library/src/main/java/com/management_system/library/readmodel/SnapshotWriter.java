@@ -0,0 +1,196 @@
+package com.management_system.library.readmodel;
+
+import static com.management_system.library.readmodel.MappedSnapshot.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.management_system.library.dto.SnapshotReport;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+/**
+ * Writes a catalog snapshot in the format {@link MappedSnapshot} reads. Authors
+ * are added first and then books, each in ascending id order, as the
+ * repositories stream them. The records and the strings go to separate
+ * temporary files that {@link #finish} joins behind the header and moves over
+ * the target, so an instance mapping the old file is never handed a partial
+ * one. Only the author ids and each book's author are held in memory.
+ */
+final class SnapshotWriter implements AutoCloseable {
+
+    private static final long SECTION_LIMIT = Integer.MAX_VALUE;
+
+    private final Path file;
+    private final long position;
+    private final Path authorPart;
+    private final Path bookPart;
+    private final Path stringPart;
+    private final DataOutputStream authorOut;
+    private final DataOutputStream bookOut;
+    private final DataOutputStream stringOut;
+
+    private long[] authorIds = new long[1024];
+    private int authorCount;
+    /** Index of each book's author, packed above the book's own index for sorting. */
+    private long[] bookAuthors = new long[1024];
+    private int bookCount;
+    private long stringsLength;
+    private boolean finished;
+
+    SnapshotWriter(Path file, long position) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.position = position;
+        Path directory = this.file.getParent();
+        Files.createDirectories(directory);
+        authorPart = Files.createTempFile(directory, "authors-", ".part");
+        bookPart = Files.createTempFile(directory, "books-", ".part");
+        stringPart = Files.createTempFile(directory, "strings-", ".part");
+        authorOut = open(authorPart);
+        bookOut = open(bookPart);
+        stringOut = open(stringPart);
+    }
+
+    private static DataOutputStream open(Path part) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(part), 1 << 16));
+    }
+
+    void addAuthor(Author author) throws IOException {
+        long id = author.getId();
+        if (authorCount > 0 && id <= authorIds[authorCount - 1]) {
+            throw new IllegalArgumentException("Authors must be added in ascending id order: " + id);
+        }
+        if (bookCount > 0) {
+            throw new IllegalStateException("Authors must be added before books");
+        }
+        if (authorCount == authorIds.length) {
+            authorIds = Arrays.copyOf(authorIds, authorCount * 2);
+        }
+        authorIds[authorCount++] = id;
+        checkSection((long) authorCount * AUTHOR_RECORD, "author");
+        authorOut.writeLong(id);
+        authorOut.writeLong(BookRow.millis(author.getBirthdate()));
+        authorOut.writeLong(author.getVersion() == null ? BookRow.NONE : author.getVersion());
+        authorOut.writeLong(BookRow.nanos(author.getLastModified()));
+        authorOut.writeLong(stringsLength);
+        authorOut.writeInt(writeString(author.getName()));
+        authorOut.writeInt(0);
+    }
+
+    void addBook(Book book) throws IOException {
+        long id = book.getId();
+        int author = Arrays.binarySearch(authorIds, 0, authorCount, book.getAuthor().getId());
+        if (author < 0) {
+            throw new IllegalArgumentException("Book " + id + " belongs to author " + book.getAuthor().getId()
+                    + ", who was not added");
+        }
+        if (bookCount == bookAuthors.length) {
+            bookAuthors = Arrays.copyOf(bookAuthors, bookCount * 2);
+        }
+        bookAuthors[bookCount++] = (long) author << 32 | (bookCount - 1);
+        checkSection((long) bookCount * BOOK_RECORD, "book");
+        bookOut.writeLong(id);
+        bookOut.writeLong(book.getAuthor().getId());
+        bookOut.writeLong(BookRow.millis(book.getPublicationDate()));
+        bookOut.writeLong(book.getVersion() == null ? BookRow.NONE : book.getVersion());
+        bookOut.writeLong(BookRow.nanos(book.getLastModified()));
+        bookOut.writeLong(stringsLength);
+        bookOut.writeInt(writeString(book.getTitle()));
+        bookOut.writeInt(writeString(book.getIsbn()));
+    }
+
+    /** Appends the string and returns its length in bytes, or -1 for {@code null}. */
+    private int writeString(String value) throws IOException {
+        if (value == null) {
+            return -1;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        stringOut.write(bytes);
+        stringsLength += bytes.length;
+        checkSection(stringsLength, "string");
+        return bytes.length;
+    }
+
+    private static void checkSection(long size, String section) {
+        if (size > SECTION_LIMIT) {
+            throw new IllegalStateException("The " + section + " section of the snapshot exceeds 2 GB");
+        }
+    }
+
+    /** Completes the file and puts it in place of any previous snapshot. */
+    SnapshotReport finish() throws IOException {
+        authorOut.close();
+        bookOut.close();
+        stringOut.close();
+        // Books were added in id order, so sorting by author keeps each author's books in id order.
+        long[] byAuthor = Arrays.copyOf(bookAuthors, bookCount);
+        Arrays.sort(byAuthor);
+        Path partial = Files.createTempFile(file.getParent(), "snapshot-", ".part");
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel),
+                    1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(position);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(authorCount);
+            out.writeInt(bookCount);
+            out.writeLong(stringsLength);
+            out.write(new byte[HEADER - 40]);
+            out.flush();
+            append(authorPart, channel);
+            append(bookPart, channel);
+            int next = 0;
+            for (int author = 0; author <= authorCount; author++) {
+                while (next < bookCount && (int) (byAuthor[next] >>> 32) < author) {
+                    next++;
+                }
+                out.writeInt(next);
+            }
+            for (long entry : byAuthor) {
+                out.writeInt((int) entry);
+            }
+            out.flush();
+            append(stringPart, channel);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return new SnapshotReport(position, authorCount, bookCount, Files.size(file));
+    }
+
+    /** Copies the part to the channel at its position, which advances past it. */
+    private static void append(Path part, FileChannel target) throws IOException {
+        try (FileChannel from = FileChannel.open(part, StandardOpenOption.READ)) {
+            long size = from.size();
+            for (long done = 0; done < size;) {
+                done += from.transferTo(done, size - done, target);
+            }
+        }
+    }
+
+    /** Removes the temporary files, and the partial snapshot if {@link #finish} did not complete. */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            authorOut.close();
+            bookOut.close();
+            stringOut.close();
+        }
+        Files.deleteIfExists(authorPart);
+        Files.deleteIfExists(bookPart);
+        Files.deleteIfExists(stringPart);
+    }
+}
@@ -1,10 +1,57 @@
 package com.management_system.library.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.management_system.library.dto.AuthorSummary;
+import com.management_system.library.dto.ResourceVersion;
 import com.management_system.library.model.Author;
 
+import jakarta.persistence.QueryHint;
+
 public interface AuthorRepository extends JpaRepository<Author, Long> {
 
-	
+    String STREAM_FETCH_SIZE = "500";
+
+    List<Author> findByIdIn(Collection<Long> ids);
+
+    List<Author> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a from Author a order by a.id")
+    Stream<Author> streamAll();
+
+    @Query("select new com.management_system.library.dto.AuthorSummary(a.id, a.name, a.birthdate, count(b)) "
+            + "from Author a left join a.books b where a.id > :after "
+            + "group by a.id, a.name, a.birthdate order by a.id")
+    List<AuthorSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select a.id from Author a where a.id > :after order by a.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select a.id from Author a where a.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.management_system.library.dto.ResourceVersion(a.version, a.lastModified) "
+            + "from Author a where a.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Deletes the author row without loading it. The author's books and
+     * statistics must be deleted first.
+     */
+    @Modifying
+    @Query("delete from Author a where a.id = :id")
+    int deleteAuthor(@Param("id") Long id);
 }
@@ -0,0 +1,78 @@
+package com.management_system.library.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.management_system.library.model.AuthorStats;
+
+/**
+ * Reads and maintains {@link AuthorStats}. The maintenance statements are
+ * single atomic updates, so concurrent writers to the same author do not lose
+ * each other's changes.
+ */
+public interface AuthorStatsRepository extends JpaRepository<AuthorStats, Long> {
+
+    List<AuthorStats> findByAuthorIdIn(Collection<Long> authorIds);
+
+    List<AuthorStats> findByAuthorIdGreaterThanOrderByAuthorIdAsc(Long authorId, Limit limit);
+
+    /**
+     * Counts {@code count} more books published between {@code first} and
+     * {@code last}, creating the author's row if it does not exist yet.
+     */
+    @Modifying
+    @Query("insert into AuthorStats (authorId, bookCount, firstPublicationDate, lastPublicationDate) "
+            + "values (:authorId, :count, :first, :last) "
+            + "on conflict(authorId) do update set bookCount = bookCount + excluded.bookCount, "
+            + "firstPublicationDate = least(coalesce(firstPublicationDate, excluded.firstPublicationDate), "
+            + "excluded.firstPublicationDate), "
+            + "lastPublicationDate = greatest(coalesce(lastPublicationDate, excluded.lastPublicationDate), "
+            + "excluded.lastPublicationDate)")
+    int addBooks(@Param("authorId") Long authorId, @Param("count") long count, @Param("first") Date first,
+            @Param("last") Date last);
+
+    /**
+     * Uncounts a book published on {@code date}. Must run after the book has
+     * left the author: when it held the first or last publication date, that
+     * end of the range is recomputed from the author's remaining books.
+     */
+    @Modifying
+    @Query("update AuthorStats s set s.bookCount = s.bookCount - 1, "
+            + "s.firstPublicationDate = case when s.firstPublicationDate = :date then "
+            + "(select min(b.publicationDate) from Book b where b.author.id = :authorId) "
+            + "else s.firstPublicationDate end, "
+            + "s.lastPublicationDate = case when s.lastPublicationDate = :date then "
+            + "(select max(b.publicationDate) from Book b where b.author.id = :authorId) "
+            + "else s.lastPublicationDate end "
+            + "where s.authorId = :authorId")
+    int removeBook(@Param("authorId") Long authorId, @Param("date") Date date);
+
+    @Modifying
+    @Query("delete from AuthorStats s where s.authorId = :authorId")
+    int deleteByAuthor(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("delete from AuthorStats s where s.authorId in :authorIds")
+    int deleteByAuthors(@Param("authorIds") Collection<Long> authorIds);
+
+    @Modifying
+    @Query("delete from AuthorStats s where s.authorId > :after and s.authorId <= :upTo")
+    int deleteRange(@Param("after") Long after, @Param("upTo") Long upTo);
+
+    /**
+     * Recomputes the rows of the given authors from the book table. The old rows
+     * must be deleted first.
+     */
+    @Modifying
+    @Query("insert into AuthorStats (authorId, bookCount, firstPublicationDate, lastPublicationDate) "
+            + "select b.author.id, count(b), min(b.publicationDate), max(b.publicationDate) "
+            + "from Book b where b.author.id in :authorIds group by b.author.id")
+    int insertComputed(@Param("authorIds") Collection<Long> authorIds);
+}
@@ -1,11 +1,101 @@
 package com.management_system.library.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.management_system.library.dto.BookAuthorId;
+import com.management_system.library.dto.BookPlacement;
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.ResourceVersion;
 import com.management_system.library.model.Book;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+
+    String STREAM_FETCH_SIZE = "500";
+
+    @Override
+    @EntityGraph(attributePaths = "author")
+    List<Book> findAll();
+
+    @EntityGraph(attributePaths = "author")
     List<Book> findByAuthorId(Long authorId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "author")
+    List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select b from Book b join fetch b.author order by b.id")
+    Stream<Book> streamAll();
+
+    @Query("select new com.management_system.library.dto.BookSummary(b.id, b.title, b.isbn, b.publicationDate, a.id, a.name) "
+            + "from Book b join b.author a where b.id > :after order by b.id")
+    List<BookSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    @Query("select new com.management_system.library.dto.BookSummary(b.id, b.title, b.isbn, b.publicationDate, a.id, a.name) "
+            + "from Book b join b.author a where b.isbn in :isbns")
+    List<BookSummary> findSummariesByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    @Query("select new com.management_system.library.dto.BookSummary(b.id, b.title, b.isbn, b.publicationDate, a.id, a.name) "
+            + "from Book b join b.author a where b.id in :ids")
+    List<BookSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.management_system.library.dto.BookPlacement(b.author.id, b.publicationDate) "
+            + "from Book b where b.id = :id")
+    Optional<BookPlacement> findPlacementById(@Param("id") Long id);
+
+    @Query("select b.id from Book b where b.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /** The ids of the author's books, locked for a bulk delete. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Book b where b.author.id = :authorId")
+    List<Long> lockIdsByAuthorId(@Param("authorId") Long authorId);
+
+    /** The books with the given ids and their authors, locked for a bulk delete. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.management_system.library.dto.BookAuthorId(b.id, b.author.id) from Book b "
+            + "where b.id in :ids")
+    List<BookAuthorId> lockAuthorIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes the author's books in one statement, bypassing the cascade from
+     * {@code Author.books}, which would load and delete them one at a time.
+     */
+    @Modifying
+    @Query("delete from Book b where b.author.id = :authorId")
+    int deleteByAuthor(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("delete from Book b where b.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select b.id from Book b where b.isbn in :isbns")
+    List<Long> findIdsByIsbnIn(@Param("isbns") Collection<String> isbns);
+
+    @Query("select b.isbn from Book b where b.isbn in :isbns")
+    Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    @Query("select new com.management_system.library.dto.ResourceVersion(b.version, b.lastModified) "
+            + "from Book b where b.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,90 @@
+package com.management_system.library.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.model.Book;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria for the filtered book listing. Pages are read by keyset: the
+ * cursor is the id of the last book on the previous page and the next page
+ * starts after that book's sort key, so each page is an index range read of
+ * its own rows however deep into the results it is. The caller looks the
+ * cursor book up first, since its sort key is gone once it is deleted.
+ */
+public final class BookSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> matching(BookQuery query) {
+        return (root, criteria, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.publishedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("publicationDate"), query.publishedFrom()));
+            }
+            if (query.publishedBefore() != null) {
+                predicates.add(cb.lessThan(root.get("publicationDate"), query.publishedBefore()));
+            }
+            if (query.authorIds() != null && !query.authorIds().isEmpty()) {
+                predicates.add(root.get("author").get("id").in(query.authorIds()));
+            }
+            if (query.titlePrefix() != null && !query.titlePrefix().isEmpty()) {
+                predicates.add(cb.like(root.get("title"), escapeLike(query.titlePrefix()) + "%", ESCAPE));
+            }
+            if (query.titleContains() != null && !query.titleContains().isEmpty()) {
+                predicates.add(cb.like(cb.lower(root.get("title")),
+                        "%" + escapeLike(query.titleContains().toLowerCase()) + "%", ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Books that come after the cursor book in the query's order. Only its id
+     * and the value it is sorted by are read, so for the id order a book with
+     * just its id set will do.
+     */
+    public static Specification<Book> after(BookQuery query, Book cursor) {
+        long afterId = cursor.getId();
+        return (root, criteria, cb) -> switch (query.sortBy()) {
+            case ID -> query.descending() ? cb.lessThan(root.get("id"), afterId)
+                    : cb.greaterThan(root.get("id"), afterId);
+            case TITLE -> after(root, cb, "title", cursor.getTitle(), afterId, query.descending());
+            case PUBLICATION_DATE -> after(root, cb, "publicationDate", cursor.getPublicationDate(), afterId,
+                    query.descending());
+        };
+    }
+
+    public static Sort order(BookQuery query) {
+        Sort.Direction direction = query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort byId = Sort.by(direction, "id");
+        return query.sortBy() == BookQuery.SortKey.ID ? byId
+                : Sort.by(direction, query.sortBy().property()).and(byId);
+    }
+
+    private static <Y extends Comparable<? super Y>> Predicate after(Root<Book> root, CriteriaBuilder cb,
+            String property, Y cursorKey, long afterId, boolean descending) {
+        Expression<Y> key = root.get(property);
+        Expression<Long> id = root.get("id");
+        Predicate beyond = descending ? cb.lessThan(key, cursorKey) : cb.greaterThan(key, cursorKey);
+        Predicate tied = cb.and(cb.equal(key, cursorKey),
+                descending ? cb.lessThan(id, afterId) : cb.greaterThan(id, afterId));
+        return cb.or(beyond, tied);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,33 @@
+package com.management_system.library.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.management_system.library.model.ChangeEvent;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    /** Committed entries still waiting for a sequence number, oldest first. */
+    List<ChangeEvent> findBySeqIsNullOrderByIdAsc(Limit limit);
+
+    List<ChangeEvent> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+
+    @Query("select min(e.seq) from ChangeEvent e")
+    Long findOldestSeq();
+
+    @Query("select max(e.seq) from ChangeEvent e")
+    Long findNewestSeq();
+
+    @Query("select max(e.seq) from ChangeEvent e where e.changedAt < :cutoff")
+    Long findNewestSeqBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from ChangeEvent e where e.seq <= :seq")
+    int deleteUpTo(@Param("seq") Long seq);
+}
@@ -0,0 +1,19 @@
+package com.management_system.library.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.management_system.library.model.ChangeSequence;
+
+import jakarta.persistence.LockModeType;
+
+public interface ChangeSequenceRepository extends JpaRepository<ChangeSequence, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ChangeSequence s where s.id = :id")
+    Optional<ChangeSequence> lockById(@Param("id") Integer id);
+}
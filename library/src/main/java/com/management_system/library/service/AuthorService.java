@@ -1,13 +1,32 @@
 package com.management_system.library.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.management_system.library.config.CacheConfig;
+import com.management_system.library.dto.AuthorSummary;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.dto.ResourceVersion;
 import com.management_system.library.model.Author;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.readmodel.CatalogReadModel;
 import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 public class AuthorService {
@@ -15,20 +34,191 @@ public class AuthorService {
     @Autowired
     private AuthorRepository authorRepository;
 
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ReadCoalescer coalescer;
+
+    @Autowired(required = false)
+    private CatalogReadModel readModel;
+
+    @Transactional(readOnly = true)
     public List<Author> getAllAuthors() {
         return authorRepository.findAll();
     }
 
+    /**
+     * Keyset page of authors ordered by id, starting after the given id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Author> getAuthorsAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Author> authors = authorRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+                Limit.of(pageSize));
+        return CursorPage.of(authors, pageSize, Author::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorSummary> getAuthorSummariesAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<AuthorSummary> summaries = authorRepository.findSummariesAfter(after == null ? 0L : after,
+                Limit.of(pageSize));
+        return CursorPage.of(summaries, pageSize, AuthorSummary::id);
+    }
+
+    /**
+     * Streams every author to the consumer in id order, detaching each one once
+     * consumed.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllAuthors(Consumer<Author> consumer) {
+        try (Stream<Author> authors = authorRepository.streamAll()) {
+            authors.forEach(author -> {
+                consumer.accept(author);
+                entityManager.detach(author);
+            });
+        }
+    }
+
+    /**
+     * Version and modification time of the author, read without loading the entity
+     * so that conditional requests can be answered cheaply.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getAuthorVersion(Long id) {
+        if (readModelReady()) {
+            return Optional.ofNullable(readModel.authorVersion(id));
+        }
+        return authorRepository.findVersionById(id);
+    }
+
+    /**
+     * The authors with the given ids, keyed by id; ids with no author are left out.
+     * Cached authors are used as they are and the rest are loaded in chunks.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Author> getAuthorsByIds(Collection<Long> ids) {
+        if (readModelReady()) {
+            return readModel.findAuthors(ids);
+        }
+        return BatchLookup.load(ids, cacheInvalidator.readsCache() ? cacheManager.getCache(CacheConfig.AUTHORS) : null,
+                id -> cacheInvalidator.mayCache(CacheConfig.AUTHORS, id), Author.class, authorRepository::findByIdIn,
+                Author::getId);
+    }
+
+    /**
+     * The author, with concurrent misses for the same id sharing one query run
+     * in the repository's own transaction, as for {@link BookService#getBookById}.
+     */
+    @Cacheable(cacheNames = CacheConfig.AUTHORS, condition = "@catalogCacheInvalidator.readsCache()",
+            unless = "#result == null || !@catalogCacheInvalidator.mayCache(#root.caches[0].name, #id)")
     public Optional<Author> getAuthorById(Long id) {
-        return authorRepository.findById(id);
+        if (readModelReady()) {
+            return Optional.ofNullable(readModel.findAuthor(id));
+        }
+        return coalescer.load(CacheConfig.AUTHORS, id, () -> authorRepository.findById(id));
+    }
+
+    /** Whether lookups by id can be answered from the in-memory read model. */
+    private boolean readModelReady() {
+        return readModel != null && readModel.isReady();
     }
 
+    /**
+     * Saves the author and evicts it from the caches. Cached books embed their
+     * author, so an update also evicts every book of that author. The change is
+     * recorded in the change feed in the same transaction.
+     */
+    @Transactional
     public Author saveAuthor(Author author) {
-        return authorRepository.save(author);
+        boolean update = author.getId() != null;
+        Author saved = authorRepository.save(author);
+        changeFeedService.authorSaved(saved, !update);
+        TransactionHooks.afterCommit(() -> searchIndex.putAuthor(saved.getId(), saved.getName()));
+        if (readModel != null) {
+            TransactionHooks.afterCommit(() -> readModel.authorSaved(saved));
+        }
+        if (update) {
+            evictAuthorAndBooks(saved.getId(), bookRepository.findIdsByAuthorId(saved.getId()));
+        } else {
+            cacheInvalidator.evictAuthor(saved.getId());
+        }
+        return saved;
     }
 
+    /**
+     * Applies the name and birthdate to the stored author and saves them as
+     * {@link #saveAuthor} does. The author is loaded afresh in this transaction,
+     * never taken from the cache or the read model: their instances are shared
+     * between requests, and the read model's have no book collection, which
+     * the cascade on {@code Author.books} needs. The stored version must pass
+     * the precondition, or without one equal the version in the details if
+     * they carry one; otherwise nothing is changed and an
+     * {@link OptimisticLockingFailureException} is thrown. Empty if there is no
+     * such author.
+     */
+    @Transactional
+    public Optional<Author> updateAuthor(Long id, Author details, Predicate<Long> precondition) {
+        Author author = authorRepository.findById(id).orElse(null);
+        if (author == null) {
+            return Optional.empty();
+        }
+        boolean matches = precondition != null ? precondition.test(author.getVersion())
+                : details.getVersion() == null || details.getVersion().equals(author.getVersion());
+        if (!matches) {
+            throw new OptimisticLockingFailureException(
+                    "Author " + id + " is at version " + author.getVersion() + ", not the expected one");
+        }
+        author.setName(details.getName());
+        author.setBirthdate(details.getBirthdate());
+        return Optional.of(saveAuthor(author));
+    }
+
+    /**
+     * Deletes the author with their books and statistics, and evicts all of
+     * them. The books go in one statement rather than through the cascade on
+     * {@code Author.books}, which would load and delete them one at a time;
+     * their rows are locked first, so the change feed gets a deletion for
+     * exactly the books the statement removes.
+     */
+    @Transactional
     public void deleteAuthor(Long id) {
-        authorRepository.deleteById(id);
+        List<Long> bookIds = bookRepository.lockIdsByAuthorId(id);
+        bookRepository.deleteByAuthor(id);
+        authorStatsService.authorDeleted(id);
+        authorRepository.deleteAuthor(id);
+        changeFeedService.deleted(EntityType.AUTHOR, List.of(id));
+        changeFeedService.deleted(EntityType.BOOK, bookIds);
+        TransactionHooks.afterCommit(() -> searchIndex.removeAuthor(id));
+        if (readModel != null) {
+            TransactionHooks.afterCommit(() -> readModel.authorDeleted(id));
+        }
+        evictAuthorAndBooks(id, bookIds);
+    }
+
+    private void evictAuthorAndBooks(Long authorId, List<Long> bookIds) {
+        cacheInvalidator.evictAuthor(authorId);
+        cacheInvalidator.evictBooksByAuthor(authorId);
+        bookIds.forEach(cacheInvalidator::evictBook);
     }
 
 	
@@ -0,0 +1,180 @@
+package com.management_system.library.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.management_system.library.dto.BookPlacement;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.AuthorStats;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.AuthorStatsRepository;
+
+/**
+ * Per-author book counts and publication ranges, answered from the
+ * {@link AuthorStats} summary instead of the book table. The book write paths
+ * report each change here inside their own transaction, so the summary commits
+ * or rolls back with the books. {@link #rebuild()} recounts everything from the
+ * book table, one chunk of authors per transaction, to repair drift.
+ */
+@Service
+public class AuthorStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorStatsService.class);
+
+    @Autowired
+    private AuthorStatsRepository statsRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${library.author-stats.rebuild-chunk-size:500}")
+    private int rebuildChunkSize = 500;
+
+    /**
+     * The author's statistics, all zero when the author has no books, or empty
+     * when there is no such author.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AuthorStats> getStats(Long authorId) {
+        Optional<AuthorStats> stats = statsRepository.findById(authorId);
+        if (stats.isEmpty() && authorRepository.existsById(authorId)) {
+            return Optional.of(AuthorStats.empty(authorId));
+        }
+        return stats;
+    }
+
+    /**
+     * Statistics of the given authors. Authors without books have no row and
+     * are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<AuthorStats> getStats(Collection<Long> authorIds) {
+        return statsRepository.findByAuthorIdIn(authorIds);
+    }
+
+    /**
+     * Keyset page of statistics ordered by author id, covering the authors that
+     * have books.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuthorStats> getStatsAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<AuthorStats> stats = statsRepository.findByAuthorIdGreaterThanOrderByAuthorIdAsc(
+                after == null ? 0L : after, Limit.of(pageSize));
+        return CursorPage.of(stats, pageSize, AuthorStats::getAuthorId);
+    }
+
+    /**
+     * Records a change of a book's placement; either side is {@code null} for a
+     * created or deleted book. Must be called in the writing transaction, after
+     * the book itself has been written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookChanged(BookPlacement before, BookPlacement after) {
+        if (samePlacement(before, after)) {
+            return;
+        }
+        if (before != null) {
+            // The range recomputation reads the book table, so it must see this change.
+            statsRepository.flush();
+            statsRepository.removeBook(before.authorId(), before.publicationDate());
+        }
+        if (after != null) {
+            statsRepository.addBooks(after.authorId(), 1, after.publicationDate(), after.publicationDate());
+        }
+    }
+
+    private static boolean samePlacement(BookPlacement before, BookPlacement after) {
+        // Compared by instant: the stored date comes back as a java.sql.Timestamp.
+        return before != null && after != null && Objects.equals(before.authorId(), after.authorId())
+                && before.publicationDate().getTime() == after.publicationDate().getTime();
+    }
+
+    /**
+     * Records {@code count} new books of one author published between
+     * {@code first} and {@code last}, as written by a bulk import.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void booksAdded(Long authorId, long count, Date first, Date last) {
+        statsRepository.addBooks(authorId, count, first, last);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void authorDeleted(Long authorId) {
+        statsRepository.deleteByAuthor(authorId);
+    }
+
+    /**
+     * Recounts the rows of the given authors from the book table, as after
+     * books were deleted in bulk. Must be called in the writing transaction,
+     * after the books have been deleted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recount(Collection<Long> authorIds) {
+        if (authorIds.isEmpty()) {
+            return;
+        }
+        statsRepository.deleteByAuthors(authorIds);
+        statsRepository.insertComputed(authorIds);
+    }
+
+    /**
+     * Builds the summary on first start, when it is still empty but authors
+     * exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (statsRepository.findByAuthorIdGreaterThanOrderByAuthorIdAsc(0L, Limit.of(1)).isEmpty()
+                && !authorRepository.findIdsAfter(0L, Limit.of(1)).isEmpty()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recounts every author's row from the book table and drops rows of authors
+     * that no longer exist. Returns the number of authors visited.
+     */
+    @Scheduled(cron = "${library.author-stats.rebuild-cron:-}")
+    public int rebuild() {
+        long started = System.nanoTime();
+        long after = 0L;
+        int visited = 0;
+        List<Long> authorIds;
+        do {
+            long from = after;
+            authorIds = authorRepository.findIdsAfter(from, Limit.of(rebuildChunkSize));
+            // The last chunk also clears rows above the highest remaining author.
+            long upTo = authorIds.size() < rebuildChunkSize ? Long.MAX_VALUE : authorIds.get(authorIds.size() - 1);
+            List<Long> chunk = authorIds;
+            transactionTemplate.executeWithoutResult(status -> {
+                statsRepository.deleteRange(from, upTo);
+                if (!chunk.isEmpty()) {
+                    statsRepository.insertComputed(chunk);
+                }
+            });
+            visited += authorIds.size();
+            after = upTo;
+        } while (authorIds.size() == rebuildChunkSize);
+        log.info("Rebuilt statistics of {} authors in {} ms", visited, (System.nanoTime() - started) / 1_000_000);
+        return visited;
+    }
+}
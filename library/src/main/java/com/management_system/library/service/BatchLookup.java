@@ -0,0 +1,48 @@
+package com.management_system.library.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Loads entities by id for the batch endpoints: cached entries are used as they
+ * are, the rest are read with {@code IN} queries of at most {@link #CHUNK_SIZE}
+ * ids and put into the cache, unless {@code cacheable} rejects their id.
+ */
+final class BatchLookup {
+
+    static final int CHUNK_SIZE = 500;
+
+    private BatchLookup() {
+    }
+
+    static <T> Map<Long, T> load(Collection<Long> ids, Cache cache, Predicate<Long> cacheable, Class<T> type,
+            Function<List<Long>, List<T>> loader, Function<T, Long> idOf) {
+        Map<Long, T> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T cached = cache == null ? null : cache.get(id, type);
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += CHUNK_SIZE) {
+            for (T entity : loader.apply(missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size())))) {
+                found.put(idOf.apply(entity), entity);
+                if (cache != null && cacheable.test(idOf.apply(entity))) {
+                    cache.put(idOf.apply(entity), entity);
+                }
+            }
+        }
+        return found;
+    }
+}
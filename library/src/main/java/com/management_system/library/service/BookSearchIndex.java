@@ -0,0 +1,391 @@
+package com.management_system.library.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.model.Book;
+
+/**
+ * In-memory inverted index over book titles, ISBNs and author names.
+ * <p>
+ * Terms live in a sorted dictionary so a query token can match every term it
+ * prefixes, and each title or author term of three or more characters is also
+ * registered under its single-character deletions so a token one edit away
+ * still finds it. ISBNs are matched exactly or by prefix only.
+ * Every query token must match the book in some field; books are ranked by the
+ * sum of their best match per token, weighted by match kind and field.
+ * The index keeps a flat {@link BookSummary} per book, so search results are
+ * served without touching the database. A full rebuild fills a separate index
+ * and then takes its place with {@link #replaceWith}, so searches keep the old
+ * results until the new ones are complete.
+ */
+@Component
+public class BookSearchIndex {
+
+    static final int FIELD_TITLE = 1;
+    static final int FIELD_AUTHOR = 2;
+    static final int FIELD_ISBN = 4;
+
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 500;
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.6;
+    private static final double FUZZY = 0.4;
+
+    private static final Pattern ISBN_LIKE = Pattern.compile("[0-9][0-9xX-]*");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, BookSummary> books = new HashMap<>();
+    private Map<Long, String> authorNames = new HashMap<>();
+    private Map<Long, Set<Long>> bookIdsByAuthor = new HashMap<>();
+    private NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private Map<String, Set<String>> deletions = new HashMap<>();
+
+    public void index(Book book) {
+        Long authorId = book.getAuthor() == null ? null : book.getAuthor().getId();
+        String authorName = book.getAuthor() == null ? null : book.getAuthor().getName();
+        index(new BookSummary(book.getId(), book.getTitle(), book.getIsbn(), book.getPublicationDate(), authorId,
+                authorName));
+    }
+
+    /**
+     * Adds or replaces a book. A missing author name is filled in from the names
+     * already known to the index.
+     */
+    public void index(BookSummary book) {
+        lock.writeLock().lock();
+        try {
+            put(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexAll(Collection<BookSummary> summaries) {
+        lock.writeLock().lock();
+        try {
+            summaries.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            BookSummary removed = books.remove(bookId);
+            if (removed != null) {
+                unpost(removed);
+                Set<Long> siblings = bookIdsByAuthor.get(removed.authorId());
+                if (siblings != null) {
+                    siblings.remove(bookId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records an author's current name and re-indexes that author's books.
+     */
+    public void putAuthor(Long authorId, String name) {
+        lock.writeLock().lock();
+        try {
+            authorNames.put(authorId, name);
+            for (Long bookId : List.copyOf(bookIdsByAuthor.getOrDefault(authorId, Set.of()))) {
+                BookSummary book = books.get(bookId);
+                put(new BookSummary(book.id(), book.title(), book.isbn(), book.publicationDate(), authorId, name));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeAuthor(Long authorId) {
+        lock.writeLock().lock();
+        try {
+            authorNames.remove(authorId);
+            Set<Long> bookIds = bookIdsByAuthor.remove(authorId);
+            if (bookIds != null) {
+                bookIds.forEach(bookId -> unpost(books.remove(bookId)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes over the contents of an index built off to the side in one step,
+     * leaving that index empty. Searches see either all of the old books or
+     * all of the new ones.
+     */
+    public void replaceWith(BookSearchIndex rebuilt) {
+        lock.writeLock().lock();
+        rebuilt.lock.writeLock().lock();
+        try {
+            books = rebuilt.books;
+            authorNames = rebuilt.authorNames;
+            bookIdsByAuthor = rebuilt.bookIdsByAuthor;
+            postings = rebuilt.postings;
+            deletions = rebuilt.deletions;
+            rebuilt.books = new HashMap<>();
+            rebuilt.authorNames = new HashMap<>();
+            rebuilt.bookIdsByAuthor = new HashMap<>();
+            rebuilt.postings = new TreeMap<>();
+            rebuilt.deletions = new HashMap<>();
+        } finally {
+            rebuilt.lock.writeLock().unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<BookSummary> search(String query, int limit) {
+        List<String> tokens = tokenizeQuery(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> matches = match(token);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((bookId, score) -> score + matches.get(bookId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed();
+            ranking = ranking.thenComparing(entry -> books.get(entry.getKey()).title().length())
+                    .thenComparing(Map.Entry::getKey);
+            return scores.entrySet().stream()
+                    .sorted(ranking)
+                    .limit(limit)
+                    .map(entry -> books.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Best score per book for one query token across exact, prefix and fuzzy matches. */
+    private Map<Long, Double> match(String token) {
+        Map<Long, Double> matches = new HashMap<>();
+        collect(matches, postings.get(token), EXACT);
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (Map.Entry<String, Map<Long, Integer>> entry : postings
+                    .subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                collect(matches, entry.getValue(), PREFIX);
+            }
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            for (String term : fuzzyTerms(token)) {
+                collect(matches, postings.get(term), FUZZY);
+            }
+        }
+        return matches;
+    }
+
+    private static void collect(Map<Long, Double> matches, Map<Long, Integer> posting, double kind) {
+        if (posting == null) {
+            return;
+        }
+        posting.forEach((bookId, fields) -> matches.merge(bookId, kind * fieldWeight(fields), Math::max));
+    }
+
+    private static double fieldWeight(int fields) {
+        if ((fields & FIELD_ISBN) != 0) {
+            return 3.0;
+        }
+        if ((fields & FIELD_TITLE) != 0) {
+            return 2.0;
+        }
+        return 1.0;
+    }
+
+    /** Terms within one insertion, deletion, substitution or adjacent swap of the token. */
+    private Set<String> fuzzyTerms(String token) {
+        Set<String> candidates = new HashSet<>();
+        List<String> variants = deletionsOf(token);
+        variants.add(token);
+        for (String variant : variants) {
+            candidates.addAll(deletions.getOrDefault(variant, Set.of()));
+            if (postings.containsKey(variant)) {
+                candidates.add(variant);
+            }
+        }
+        candidates.remove(token);
+        candidates.removeIf(term -> !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private void put(BookSummary book) {
+        String authorName = book.authorName() != null ? book.authorName() : authorNames.get(book.authorId());
+        BookSummary stored = new BookSummary(book.id(), book.title(), book.isbn(), book.publicationDate(),
+                book.authorId(), authorName);
+        BookSummary previous = books.put(stored.id(), stored);
+        if (previous != null) {
+            unpost(previous);
+            Set<Long> siblings = bookIdsByAuthor.get(previous.authorId());
+            if (siblings != null) {
+                siblings.remove(previous.id());
+            }
+        }
+        if (authorName != null && stored.authorId() != null) {
+            authorNames.putIfAbsent(stored.authorId(), authorName);
+        }
+        bookIdsByAuthor.computeIfAbsent(stored.authorId(), key -> new HashSet<>()).add(stored.id());
+        termsOf(stored).forEach((term, fields) -> {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(term, posting);
+                if (fields != FIELD_ISBN && term.length() >= MIN_FUZZY_LENGTH - 1) {
+                    deletionsOf(term).forEach(variant -> deletions.computeIfAbsent(variant, key -> new HashSet<>())
+                            .add(term));
+                }
+            }
+            posting.put(stored.id(), fields);
+        });
+    }
+
+    private void unpost(BookSummary book) {
+        if (book == null) {
+            return;
+        }
+        termsOf(book).keySet().forEach(term -> {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null && posting.remove(book.id()) != null && posting.isEmpty()) {
+                postings.remove(term);
+                for (String variant : deletionsOf(term)) {
+                    Set<String> terms = deletions.get(variant);
+                    if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                        deletions.remove(variant);
+                    }
+                }
+            }
+        });
+    }
+
+    private static Map<String, Integer> termsOf(BookSummary book) {
+        Map<String, Integer> terms = new HashMap<>();
+        tokenize(book.title()).forEach(term -> terms.merge(term, FIELD_TITLE, (a, b) -> a | b));
+        tokenize(book.authorName()).forEach(term -> terms.merge(term, FIELD_AUTHOR, (a, b) -> a | b));
+        String isbn = compactIsbn(book.isbn());
+        if (!isbn.isEmpty()) {
+            terms.merge(isbn, FIELD_ISBN, (a, b) -> a | b);
+        }
+        return terms;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_ALPHANUMERIC.split(fold(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /** Like {@link #tokenize} but keeps hyphenated ISBN fragments together. */
+    static List<String> tokenizeQuery(String query) {
+        List<String> tokens = new ArrayList<>();
+        if (query == null) {
+            return tokens;
+        }
+        for (String chunk : query.trim().split("\\s+")) {
+            if (ISBN_LIKE.matcher(chunk).matches()) {
+                tokens.add(compactIsbn(chunk));
+            } else {
+                tokens.addAll(tokenize(chunk));
+            }
+        }
+        tokens.removeIf(String::isEmpty);
+        return tokens;
+    }
+
+    private static String compactIsbn(String isbn) {
+        return isbn == null ? "" : NON_ALPHANUMERIC.matcher(fold(isbn)).replaceAll("");
+    }
+
+    private static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> variants = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            variants.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return variants;
+    }
+
+    /** Levenshtein distance of at most one, also accepting a single adjacent transposition. */
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        if (a.length() > b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+        int i = 0;
+        while (i < a.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == a.length()) {
+            return true;
+        }
+        if (a.length() < b.length()) {
+            return a.substring(i).equals(b.substring(i + 1));
+        }
+        if (a.substring(i + 1).equals(b.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.substring(i + 2).equals(b.substring(i + 2));
+    }
+}
@@ -0,0 +1,128 @@
+package com.management_system.library.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+/**
+ * Fills the {@link BookSearchIndex} from the database once the application
+ * has started. A build reads the catalog into a new index and swaps it in when
+ * it is complete, so searches made meanwhile are answered from the previous
+ * index, which is empty only on the first build.
+ * <p>
+ * This instance's writes are indexed as they commit. Every
+ * {@code library.search.refresh-interval} the books and authors named in the
+ * change feed since the index was read are reloaded, or dropped when they no
+ * longer exist, which brings in writes from other instances and bulk imports.
+ * An index that fell further behind than the feed's retention is built again.
+ */
+@Component
+public class BookSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndexLoader.class);
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Value("${library.search.batch-size:500}")
+    private int batchSize = 500;
+
+    /** Sequence number of the last change feed entry applied, or -1 until the index is built. */
+    private long position = -1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        long head = changeFeedService.getHeadSeq();
+        BookSearchIndex rebuilt = new BookSearchIndex();
+        authorService.streamAllAuthors(author -> rebuilt.putAuthor(author.getId(), author.getName()));
+        bookService.streamAllBooks(rebuilt::index);
+        searchIndex.replaceWith(rebuilt);
+        position = head;
+        log.info("Indexed {} books for search in {} ms", searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Reindexes the books and authors named in the change feed since the last
+     * refresh.
+     */
+    @Scheduled(fixedDelayString = "${library.search.refresh-interval:PT1S}")
+    public synchronized void refresh() {
+        if (position < 0) {
+            return;
+        }
+        if (changeFeedService.isExpired(position)) {
+            log.warn("The search index is behind the purged change feed at {}; building it again", position);
+            rebuild();
+            return;
+        }
+        int limit = CursorPage.clampLimit(batchSize);
+        CursorPage<ChangeEvent> page;
+        do {
+            page = changeFeedService.getChangesAfter(position, limit);
+            Set<Long> bookIds = new TreeSet<>();
+            Set<Long> authorIds = new TreeSet<>();
+            for (ChangeEvent event : page.items()) {
+                (event.getEntityType() == EntityType.BOOK ? bookIds : authorIds).add(event.getEntityId());
+            }
+            reload(authorIds, bookIds);
+            position = page.nextCursor();
+        } while (page.items().size() == limit);
+    }
+
+    private void reload(Set<Long> authorIds, Set<Long> bookIds) {
+        if (!authorIds.isEmpty()) {
+            Map<Long, String> names = new HashMap<>();
+            authorRepository.findByIdIn(authorIds).forEach(author -> names.put(author.getId(), author.getName()));
+            for (Long id : authorIds) {
+                String name = names.get(id);
+                if (name != null) {
+                    searchIndex.putAuthor(id, name);
+                } else {
+                    searchIndex.removeAuthor(id);
+                }
+            }
+        }
+        if (!bookIds.isEmpty()) {
+            List<BookSummary> books = bookRepository.findSummariesByIdIn(bookIds);
+            Set<Long> missing = new HashSet<>(bookIds);
+            books.forEach(book -> missing.remove(book.id()));
+            searchIndex.indexAll(books);
+            missing.forEach(searchIndex::remove);
+        }
+    }
+}
@@ -1,37 +1,352 @@
 package com.management_system.library.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.management_system.library.config.CacheConfig;
+import com.management_system.library.dto.BookAuthorId;
+import com.management_system.library.dto.BookPlacement;
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.dto.ResourceVersion;
+import com.management_system.library.model.Author;
 import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.readmodel.CatalogReadModel;
 import com.management_system.library.repository.BookRepository;
+import com.management_system.library.repository.BookSpecifications;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 public class BookService {
 
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ReadCoalescer coalescer;
+
+    @Autowired(required = false)
+    private CatalogReadModel readModel;
+
+    @Transactional(readOnly = true)
     public List<Book> getAllBooks() {
         return bookRepository.findAll();
     }
 
+    /**
+     * Keyset page of books ordered by id, starting after the given id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> getBooksAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after,
+                Limit.of(pageSize));
+        return CursorPage.of(books, pageSize, Book::getId);
+    }
+
+    /**
+     * Keyset page of the books matching the query, in its order, starting after
+     * the book with the given id. Each page reads only its own rows through the
+     * index on the sort key, with the authors fetched in the same query. Unless
+     * the order is by id, the cursor book must still exist, since the page
+     * starts after its sort key; otherwise an {@link IllegalArgumentException}
+     * is thrown.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Book> findBooks(BookQuery query, Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Specification<Book> spec = BookSpecifications.matching(query);
+        if (after != null) {
+            spec = spec.and(BookSpecifications.after(query, cursorBook(query, after)));
+        }
+        // limit before sortBy: limit() appends the current sort to itself, repeating it
+        List<Book> books = bookRepository.findBy(spec,
+                q -> q.limit(pageSize).sortBy(BookSpecifications.order(query)).project("author").all());
+        return CursorPage.of(books, pageSize, Book::getId);
+    }
+
+    private Book cursorBook(BookQuery query, Long id) {
+        if (query.sortBy() == BookQuery.SortKey.ID) {
+            Book cursor = new Book();
+            cursor.setId(id);
+            return cursor;
+        }
+        return bookRepository.findById(id).orElseThrow(() -> new IllegalArgumentException(
+                "The cursor book " + id + " no longer exists; start again from the first page."));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookSummary> getBookSummariesAfter(Long after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<BookSummary> summaries = bookRepository.findSummariesAfter(after == null ? 0L : after,
+                Limit.of(pageSize));
+        return CursorPage.of(summaries, pageSize, BookSummary::id);
+    }
+
+    /**
+     * Streams every book to the consumer in id order. Each book is detached once
+     * consumed so the persistence context does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<Book> consumer) {
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            books.forEach(book -> {
+                consumer.accept(book);
+                entityManager.detach(book);
+            });
+        }
+    }
+
+    /**
+     * Ranked prefix and typo-tolerant search over titles, ISBNs and author names,
+     * answered from the in-memory index.
+     */
+    public List<BookSummary> searchBooks(String query, Integer limit) {
+        int max = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        return searchIndex.search(query, max);
+    }
+
+    /**
+     * Version and modification time of the book, read without loading the entity
+     * so that conditional requests can be answered cheaply.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getBookVersion(Long id) {
+        if (readModelReady()) {
+            return Optional.ofNullable(readModel.bookVersion(id));
+        }
+        return bookRepository.findVersionById(id);
+    }
+
+    /**
+     * The books with the given ids, keyed by id; ids with no book are left out.
+     * Cached books are used as they are and the rest are loaded in chunks.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Book> getBooksByIds(Collection<Long> ids) {
+        if (readModelReady()) {
+            return readModel.findBooks(ids);
+        }
+        return BatchLookup.load(ids, cacheInvalidator.readsCache() ? cacheManager.getCache(CacheConfig.BOOKS) : null,
+                id -> cacheInvalidator.mayCache(CacheConfig.BOOKS, id), Book.class, bookRepository::findByIdIn,
+                Book::getId);
+    }
+
+    /**
+     * The book, with concurrent misses for the same id sharing one query. There
+     * is no transaction around the lookup, so callers waiting on another's
+     * query hold no connection; the repository call runs in its own.
+     */
+    @Cacheable(cacheNames = CacheConfig.BOOKS, condition = "@catalogCacheInvalidator.readsCache()",
+            unless = "#result == null || !@catalogCacheInvalidator.mayCache(#root.caches[0].name, #id)")
     public Optional<Book> getBookById(Long id) {
-        return bookRepository.findById(id);
+        if (readModelReady()) {
+            return Optional.ofNullable(readModel.findBook(id));
+        }
+        return coalescer.load(CacheConfig.BOOKS, id, () -> bookRepository.findById(id));
     }
 
+    /** The author's books, with concurrent misses for the same author sharing one query. */
+    @Cacheable(cacheNames = CacheConfig.BOOKS_BY_AUTHOR, condition = "@catalogCacheInvalidator.readsCache()",
+            unless = "!@catalogCacheInvalidator.mayCache(#root.caches[0].name, #authorId)")
     public List<Book> getBooksByAuthorId(Long authorId) {
-        return bookRepository.findByAuthorId(authorId);
+        if (readModelReady()) {
+            return readModel.findBooksByAuthor(authorId);
+        }
+        return coalescer.load(CacheConfig.BOOKS_BY_AUTHOR, authorId, () -> bookRepository.findByAuthorId(authorId));
+    }
+
+    /** Whether lookups by id can be answered from the in-memory read model. */
+    private boolean readModelReady() {
+        return readModel != null && readModel.isReady();
     }
 
+    /**
+     * Saves the book and evicts it from the caches together with the book lists
+     * of both its previous and its new author. An author given only by id is
+     * resolved first, since Hibernate rejects a detached reference without a
+     * version. The author statistics are updated in the same transaction,
+     * moving the book between authors if needed, and the change is recorded in
+     * the change feed.
+     */
+    @Transactional
     public Book saveBook(Book book) {
-        return bookRepository.save(book);
+        resolveAuthorReference(book);
+        BookPlacement previous = book.getId() == null ? null
+                : bookRepository.findPlacementById(book.getId()).orElse(null);
+        return save(book, previous, previous == null);
+    }
+
+    /**
+     * Applies the title, ISBN, publication date and author to the stored book
+     * and saves them as {@link #saveBook} does. The book is loaded afresh in
+     * this transaction rather than taken from the cache, the read model or a
+     * coalesced lookup, whose instances other requests are reading. The stored
+     * version must pass the precondition, or without one equal the version in
+     * the details if they carry one; otherwise nothing is changed and an
+     * {@link OptimisticLockingFailureException} is thrown. Empty if there is no
+     * such book.
+     */
+    @Transactional
+    public Optional<Book> updateBook(Long id, Book details, Predicate<Long> precondition) {
+        Book book = bookRepository.findById(id).orElse(null);
+        if (book == null) {
+            return Optional.empty();
+        }
+        boolean matches = precondition != null ? precondition.test(book.getVersion())
+                : details.getVersion() == null || details.getVersion().equals(book.getVersion());
+        if (!matches) {
+            throw new OptimisticLockingFailureException(
+                    "Book " + id + " is at version " + book.getVersion() + ", not the expected one");
+        }
+        // taken before the changes: a placement query now would flush them early
+        BookPlacement previous = placementOf(book);
+        book.setTitle(details.getTitle());
+        book.setIsbn(details.getIsbn());
+        book.setPublicationDate(details.getPublicationDate());
+        book.setAuthor(details.getAuthor());
+        resolveAuthorReference(book);
+        return Optional.of(save(book, previous, false));
     }
 
+    private Book save(Book book, BookPlacement previous, boolean created) {
+        Book saved = bookRepository.save(book);
+        authorStatsService.bookChanged(previous, placementOf(saved));
+        changeFeedService.bookSaved(saved, created);
+        TransactionHooks.afterCommit(() -> searchIndex.index(saved));
+        if (readModel != null) {
+            TransactionHooks.afterCommit(() -> readModel.bookSaved(saved));
+        }
+        cacheInvalidator.evictBook(saved.getId());
+        cacheInvalidator.evictBooksByAuthor(previous == null ? null : previous.authorId());
+        cacheInvalidator.evictBooksByAuthor(saved.getAuthor() == null ? null : saved.getAuthor().getId());
+        return saved;
+    }
+
+    private static BookPlacement placementOf(Book book) {
+        return book.getAuthor() == null ? null
+                : new BookPlacement(book.getAuthor().getId(), book.getPublicationDate());
+    }
+
+    private void resolveAuthorReference(Book book) {
+        Author author = book.getAuthor();
+        if (author != null && author.getId() != null && author.getVersion() == null) {
+            Author stored = entityManager.find(Author.class, author.getId());
+            if (stored != null) {
+                book.setAuthor(stored);
+            }
+        }
+    }
+
+    @Transactional
     public void deleteBook(Long id) {
+        BookPlacement placement = bookRepository.findPlacementById(id).orElse(null);
         bookRepository.deleteById(id);
+        if (placement != null) {
+            authorStatsService.bookChanged(placement, null);
+        }
+        changeFeedService.deleted(EntityType.BOOK, List.of(id));
+        TransactionHooks.afterCommit(() -> searchIndex.remove(id));
+        if (readModel != null) {
+            TransactionHooks.afterCommit(() -> readModel.booksDeleted(List.of(id)));
+        }
+        cacheInvalidator.evictBook(id);
+        cacheInvalidator.evictBooksByAuthor(placement == null ? null : placement.authorId());
+    }
+
+    /**
+     * Deletes every book of the author in one statement, without loading them,
+     * and returns how many there were. The rows are locked first so the change
+     * feed records exactly the books the statement removes.
+     */
+    @Transactional
+    public int deleteBooksByAuthor(Long authorId) {
+        List<Long> bookIds = bookRepository.lockIdsByAuthorId(authorId);
+        if (bookIds.isEmpty()) {
+            return 0;
+        }
+        bookRepository.deleteByAuthor(authorId);
+        authorStatsService.recount(List.of(authorId));
+        booksDeleted(bookIds);
+        cacheInvalidator.evictBooksByAuthor(authorId);
+        return bookIds.size();
+    }
+
+    /**
+     * Deletes the books with the given ids without loading them, one statement
+     * per chunk of ids, and returns how many existed. Ids are taken in
+     * ascending order so concurrent bulk deletes lock rows in the same order.
+     * The statistics of every affected author are recounted once at the end.
+     */
+    @Transactional
+    public int deleteBooks(Collection<Long> ids) {
+        List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+        List<Long> deleted = new ArrayList<>();
+        Set<Long> authorIds = new TreeSet<>();
+        for (int from = 0; from < sorted.size(); from += BatchLookup.CHUNK_SIZE) {
+            List<BookAuthorId> rows = bookRepository.lockAuthorIdsByIdIn(
+                    sorted.subList(from, Math.min(from + BatchLookup.CHUNK_SIZE, sorted.size())));
+            if (rows.isEmpty()) {
+                continue;
+            }
+            List<Long> chunk = rows.stream().map(BookAuthorId::bookId).toList();
+            bookRepository.deleteByIds(chunk);
+            deleted.addAll(chunk);
+            rows.forEach(row -> authorIds.add(row.authorId()));
+        }
+        authorStatsService.recount(authorIds);
+        booksDeleted(deleted);
+        authorIds.forEach(cacheInvalidator::evictBooksByAuthor);
+        return deleted.size();
+    }
+
+    private void booksDeleted(List<Long> bookIds) {
+        changeFeedService.deleted(EntityType.BOOK, bookIds);
+        TransactionHooks.afterCommit(() -> bookIds.forEach(searchIndex::remove));
+        if (readModel != null) {
+            TransactionHooks.afterCommit(() -> readModel.booksDeleted(bookIds));
+        }
+        bookIds.forEach(cacheInvalidator::evictBook);
     }
 }
@@ -0,0 +1,428 @@
+package com.management_system.library.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.dto.BulkImportReport;
+import com.management_system.library.dto.BulkImportReport.RowError;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+/**
+ * Streams large JSON arrays or CSV files of books and authors into the database.
+ * Rows are validated as they are read, checked against the database one chunk at
+ * a time and written with JDBC batch inserts, each chunk in its own transaction.
+ * The ids stay database-generated, so the batches go through the driver's
+ * multi-row insert rewrite rather than Hibernate's insert batching, which
+ * IDENTITY ids disable. Rows start at version 0 with the chunk's write time as
+ * their last modification, as Hibernate would have set them. Each chunk records
+ * its rows in the change feed before it commits. A chunk the database refuses
+ * is written again one row at a time, so that only the offending rows fail.
+ */
+@Service
+public class BulkImportService {
+
+    static final String INSERT_BOOK = "insert into book (title, isbn, publication_date, author_id, version, "
+            + "last_modified) values (?, ?, ?, ?, 0, ?)";
+    static final String INSERT_AUTHOR =
+            "insert into author (name, birthdate, version, last_modified) values (?, ?, 0, ?)";
+
+    static final List<String> BOOK_COLUMNS = List.of("title", "isbn", "publicationDate", "authorId");
+    static final List<String> AUTHOR_COLUMNS = List.of("name", "birthdate");
+
+    /** Length of the title, ISBN and name columns. */
+    static final int MAX_TEXT_LENGTH = 255;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private BookSearchIndex searchIndex;
+
+    @Autowired
+    private AuthorStatsService authorStatsService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Value("${library.bulk.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    public BulkImportReport importBooksJson(InputStream body) throws IOException {
+        BookImport bookImport = new BookImport();
+        readJsonArray(body, Book.class, bookImport);
+        return bookImport.finish();
+    }
+
+    public BulkImportReport importBooksCsv(InputStream body) throws IOException {
+        BookImport bookImport = new BookImport();
+        readCsv(body, BOOK_COLUMNS, BulkImportService::toBook, bookImport);
+        return bookImport.finish();
+    }
+
+    public BulkImportReport importAuthorsJson(InputStream body) throws IOException {
+        AuthorImport authorImport = new AuthorImport();
+        readJsonArray(body, Author.class, authorImport);
+        return authorImport.finish();
+    }
+
+    public BulkImportReport importAuthorsCsv(InputStream body) throws IOException {
+        AuthorImport authorImport = new AuthorImport();
+        readCsv(body, AUTHOR_COLUMNS, BulkImportService::toAuthor, authorImport);
+        return authorImport.finish();
+    }
+
+    private <T> void readJsonArray(InputStream body, Class<T> type, ChunkedImport<T> target) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    target.reject("Unexpected end of JSON array");
+                    return;
+                }
+                JsonNode node = objectMapper.readTree(parser);
+                try {
+                    target.accept(objectMapper.treeToValue(node, type));
+                } catch (JsonProcessingException e) {
+                    target.reject(e.getOriginalMessage());
+                }
+            }
+        } catch (JsonParseException e) {
+            // The stream cannot be resynchronised after a syntax error; keep what was imported.
+            target.reject("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private <T> void readCsv(InputStream body, List<String> columns, Function<Map<String, String>, T> mapper,
+            ChunkedImport<T> target) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV body is empty");
+        }
+        List<String> names = CsvParser.parseLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        if (!names.containsAll(columns)) {
+            throw new IllegalArgumentException("CSV header must contain " + String.join(",", columns));
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            T value;
+            try {
+                List<String> fields = CsvParser.parseLine(line);
+                if (fields.size() != names.size()) {
+                    throw new IllegalArgumentException(
+                            "Expected " + names.size() + " fields but found " + fields.size());
+                }
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < names.size(); i++) {
+                    row.put(names.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+                }
+                value = mapper.apply(row);
+            } catch (RuntimeException e) {
+                target.reject(e.getMessage());
+                continue;
+            }
+            target.accept(value);
+        }
+    }
+
+    private static Book toBook(Map<String, String> row) {
+        Book book = new Book();
+        book.setTitle(row.get("title"));
+        book.setIsbn(row.get("isbn"));
+        book.setPublicationDate(parseDate(row.get("publicationDate")));
+        if (row.get("authorId") != null) {
+            Author author = new Author();
+            author.setId(Long.valueOf(row.get("authorId")));
+            book.setAuthor(author);
+        }
+        return book;
+    }
+
+    private static Author toAuthor(Map<String, String> row) {
+        Author author = new Author();
+        author.setName(row.get("name"));
+        author.setBirthdate(parseDate(row.get("birthdate")));
+        return author;
+    }
+
+    private static Date parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Date.from(LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    private record PendingRow<T>(int number, T value) {
+    }
+
+    /**
+     * Buffers validated rows and hands them to {@link #writeChunk} in groups of
+     * {@code chunkSize}, collecting per-row errors along the way.
+     */
+    private abstract class ChunkedImport<T> {
+
+        private final List<PendingRow<T>> pending = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+
+        void accept(T value) {
+            received++;
+            String problem = validate(value);
+            if (problem != null) {
+                errors.add(new RowError(received, problem));
+                return;
+            }
+            pending.add(new PendingRow<>(received, value));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            received++;
+            errors.add(new RowError(received, message));
+        }
+
+        void fail(PendingRow<T> row, String message) {
+            errors.add(new RowError(row.number(), message));
+        }
+
+        BulkImportReport finish() {
+            flush();
+            errors.sort(Comparator.comparingInt(RowError::row));
+            return new BulkImportReport(received, imported, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<PendingRow<T>> chunk = List.copyOf(pending);
+            pending.clear();
+            write(chunk);
+        }
+
+        private void write(List<PendingRow<T>> rows) {
+            int reported = errors.size();
+            List<PendingRow<T>> written;
+            try {
+                written = transactionTemplate.execute(status -> writeChunk(rows));
+            } catch (DataAccessException e) {
+                // the rows failed inside the rolled back transaction are checked again below
+                errors.subList(reported, errors.size()).clear();
+                if (rows.size() == 1) {
+                    fail(rows.get(0), "Rejected by database: " + e.getMostSpecificCause().getMessage());
+                } else {
+                    // one row breaking a constraint fails the whole batch, so find it row by row
+                    rows.forEach(row -> write(List.of(row)));
+                }
+                return;
+            }
+            imported += written.size();
+            afterCommit(written);
+        }
+
+        /** Returns a message if the row can be rejected without touching the database. */
+        abstract String validate(T value);
+
+        /** Runs the database checks for a chunk, inserts the rows that pass and returns them. */
+        abstract List<PendingRow<T>> writeChunk(List<PendingRow<T>> chunk);
+
+        /** Called with the rows of a chunk once its transaction has committed. */
+        void afterCommit(List<PendingRow<T>> written) {
+        }
+    }
+
+    private class BookImport extends ChunkedImport<Book> {
+
+        private final Set<String> seenIsbns = new HashSet<>();
+
+        @Override
+        String validate(Book book) {
+            if (book.getTitle() == null || book.getTitle().isBlank()) {
+                return "Title must be provided.";
+            }
+            if (book.getTitle().length() > MAX_TEXT_LENGTH) {
+                return "Title must be at most " + MAX_TEXT_LENGTH + " characters.";
+            }
+            if (book.getIsbn() == null || book.getIsbn().isBlank()) {
+                return "ISBN must be provided.";
+            }
+            if (book.getIsbn().length() > MAX_TEXT_LENGTH) {
+                return "ISBN must be at most " + MAX_TEXT_LENGTH + " characters.";
+            }
+            if (book.getPublicationDate() == null) {
+                return "Publication date must be provided.";
+            }
+            if (book.getAuthor() == null || book.getAuthor().getId() == null) {
+                return "Author must be provided.";
+            }
+            if (!seenIsbns.add(book.getIsbn())) {
+                return "Duplicate ISBN " + book.getIsbn() + " in this import.";
+            }
+            return null;
+        }
+
+        @Override
+        List<PendingRow<Book>> writeChunk(List<PendingRow<Book>> chunk) {
+            Set<String> isbns = new HashSet<>();
+            Set<Long> authorIds = new HashSet<>();
+            for (PendingRow<Book> row : chunk) {
+                isbns.add(row.value().getIsbn());
+                authorIds.add(row.value().getAuthor().getId());
+            }
+            Set<String> existingIsbns = bookRepository.findExistingIsbns(isbns);
+            Set<Long> existingAuthors = authorRepository.findExistingIds(authorIds);
+
+            List<PendingRow<Book>> accepted = new ArrayList<>(chunk.size());
+            for (PendingRow<Book> row : chunk) {
+                Book book = row.value();
+                if (existingIsbns.contains(book.getIsbn())) {
+                    fail(row, "ISBN " + book.getIsbn() + " already exists.");
+                } else if (!existingAuthors.contains(book.getAuthor().getId())) {
+                    fail(row, "Author " + book.getAuthor().getId() + " does not exist.");
+                } else {
+                    accepted.add(row);
+                }
+            }
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+            jdbcTemplate.batchUpdate(INSERT_BOOK, accepted, accepted.size(), (ps, row) -> {
+                Book book = row.value();
+                ps.setString(1, book.getTitle());
+                ps.setString(2, book.getIsbn());
+                ps.setTimestamp(3, new Timestamp(book.getPublicationDate().getTime()));
+                ps.setLong(4, book.getAuthor().getId());
+                ps.setTimestamp(5, now, utc);
+            });
+            // in author id order, so that concurrent imports lock the statistics rows in the same order
+            accepted.stream()
+                    .map(PendingRow::value)
+                    .collect(Collectors.groupingBy(book -> book.getAuthor().getId(), TreeMap::new,
+                            Collectors.toList()))
+                    .forEach((authorId, books) -> authorStatsService.booksAdded(authorId, books.size(),
+                            books.stream().map(Book::getPublicationDate).min(Date::compareTo).get(),
+                            books.stream().map(Book::getPublicationDate).max(Date::compareTo).get()));
+            if (!accepted.isEmpty()) {
+                List<String> acceptedIsbns = accepted.stream().map(row -> row.value().getIsbn()).toList();
+                changeFeedService.created(EntityType.BOOK, bookRepository.findIdsByIsbnIn(acceptedIsbns));
+            }
+            return accepted;
+        }
+
+        @Override
+        void afterCommit(List<PendingRow<Book>> written) {
+            written.stream()
+                    .map(row -> row.value().getAuthor().getId())
+                    .distinct()
+                    .forEach(cacheInvalidator::evictBooksByAuthor);
+            List<String> isbns = written.stream().map(row -> row.value().getIsbn()).toList();
+            searchIndex.indexAll(bookRepository.findSummariesByIsbnIn(isbns));
+        }
+    }
+
+    private class AuthorImport extends ChunkedImport<Author> {
+
+        @Override
+        String validate(Author author) {
+            if (author.getName() == null || author.getName().isBlank()) {
+                return "Name must be provided.";
+            }
+            if (author.getName().length() > MAX_TEXT_LENGTH) {
+                return "Name must be at most " + MAX_TEXT_LENGTH + " characters.";
+            }
+            if (author.getBirthdate() == null) {
+                return "Birthdate must be provided.";
+            }
+            return null;
+        }
+
+        @Override
+        List<PendingRow<Author>> writeChunk(List<PendingRow<Author>> chunk) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            Calendar utc = Calendar.getInstance(TimeZone.getTimeZone(ZoneOffset.UTC));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_AUTHOR, new String[] { "id" }),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Author author = chunk.get(i).value();
+                            ps.setString(1, author.getName());
+                            ps.setTimestamp(2, new Timestamp(author.getBirthdate().getTime()));
+                            ps.setTimestamp(3, now, utc);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+            changeFeedService.created(EntityType.AUTHOR, keys.getKeyList().stream()
+                    .map(key -> ((Number) key.values().iterator().next()).longValue())
+                    .toList());
+            return chunk;
+        }
+    }
+}
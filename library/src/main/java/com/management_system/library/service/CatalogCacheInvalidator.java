@@ -0,0 +1,100 @@
+package com.management_system.library.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.management_system.library.config.CacheConfig;
+import com.management_system.library.datasource.PrimaryPin;
+
+/**
+ * Evicts cache entries after writes, and stops coalesced reads of them from
+ * being shared further. Services call this once the repository call has
+ * returned, so the change is committed before readers can reload it. Inside a
+ * longer transaction the entry is evicted again when it completes, in case a
+ * reader reloaded the old row in between.
+ * <p>
+ * With read replicas, a read just after a write may still get the old row
+ * from a replica. Requests pinned to the primary therefore read past the
+ * caches, and for the sticky window after a write the entry is not cached
+ * again, so no replica's stale copy outlives the window. The cached lookups
+ * ask {@link #readsCache} and {@link #mayCache} through the bean's name.
+ */
+@Component("catalogCacheInvalidator")
+public class CatalogCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ReadCoalescer coalescer;
+
+    @Value("${library.datasource.replica-urls:}")
+    private String replicaUrls = "";
+
+    @Value("${library.datasource.sticky-window:5s}")
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    /** Until when, in {@link System#nanoTime} terms, each recently written entry is kept out of its cache. */
+    private final Map<Entry, Long> uncacheableUntil = new ConcurrentHashMap<>();
+    private volatile long nextSweep;
+
+    public void evictBook(Long bookId) {
+        evict(CacheConfig.BOOKS, bookId);
+    }
+
+    public void evictAuthor(Long authorId) {
+        evict(CacheConfig.AUTHORS, authorId);
+    }
+
+    public void evictBooksByAuthor(Long authorId) {
+        evict(CacheConfig.BOOKS_BY_AUTHOR, authorId);
+    }
+
+    /** Whether the current request may be answered from the caches; not when it is pinned to the primary. */
+    public boolean readsCache() {
+        return !PrimaryPin.isPinned();
+    }
+
+    /** Whether a freshly loaded entry may be cached; not within the sticky window after a write to it. */
+    public boolean mayCache(String cacheName, Long key) {
+        Long until = uncacheableUntil.get(new Entry(cacheName, key));
+        return until == null || System.nanoTime() - until >= 0;
+    }
+
+    private void evict(String cacheName, Long key) {
+        if (key == null) {
+            return;
+        }
+        keepUncached(cacheName, key);
+        TransactionHooks.afterCompletion(() -> keepUncached(cacheName, key));
+        coalescer.forget(cacheName, key);
+        TransactionHooks.afterCompletion(() -> coalescer.forget(cacheName, key));
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+            TransactionHooks.afterCompletion(() -> cache.evict(key));
+        }
+    }
+
+    private void keepUncached(String cacheName, Long key) {
+        if (replicaUrls.isBlank() || stickyWindow.isZero()) {
+            return;
+        }
+        long now = System.nanoTime();
+        uncacheableUntil.put(new Entry(cacheName, key), now + stickyWindow.toNanos());
+        if (now - nextSweep >= 0) {
+            nextSweep = now + stickyWindow.toNanos();
+            uncacheableUntil.values().removeIf(until -> now - until >= 0);
+        }
+    }
+
+    private record Entry(String cacheName, Long key) {
+    }
+}
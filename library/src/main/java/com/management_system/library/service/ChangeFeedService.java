@@ -0,0 +1,146 @@
+package com.management_system.library.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.management_system.library.changes.ChangeSequencer;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+import com.management_system.library.model.ChangeSequence;
+import com.management_system.library.repository.ChangeEventRepository;
+import com.management_system.library.repository.ChangeSequenceRepository;
+
+/**
+ * The change feed of books and authors. The write paths record each change
+ * here inside their own transaction, so an entry exists exactly when its
+ * change has committed; the {@link ChangeSequencer} then numbers committed
+ * entries in commit order. Consumers read the feed from the last sequence
+ * number they have seen. Entries older than {@code retention} are purged, and
+ * a consumer that fell further behind than that has to rescan.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    @Autowired
+    private ChangeEventRepository eventRepository;
+
+    @Autowired
+    private ChangeSequenceRepository sequenceRepository;
+
+    @Autowired
+    private ChangeSequencer sequencer;
+
+    @Value("${library.changes.retention:7d}")
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Records a create or update of the book. The pending changes are flushed
+     * first so the entry carries the version the update produced.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookSaved(Book book, boolean created) {
+        eventRepository.flush();
+        record(List.of(new ChangeEvent(EntityType.BOOK, book.getId(), created ? Operation.CREATED : Operation.UPDATED,
+                book.getVersion(), Instant.now())));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void authorSaved(Author author, boolean created) {
+        eventRepository.flush();
+        record(List.of(new ChangeEvent(EntityType.AUTHOR, author.getId(),
+                created ? Operation.CREATED : Operation.UPDATED, author.getVersion(), Instant.now())));
+    }
+
+    /**
+     * Records entities inserted outside Hibernate, such as by the bulk import,
+     * which all start at version 0.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(EntityType type, Collection<Long> ids) {
+        Instant now = Instant.now();
+        record(ids.stream().map(id -> new ChangeEvent(type, id, Operation.CREATED, 0L, now)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(EntityType type, Collection<Long> ids) {
+        Instant now = Instant.now();
+        record(ids.stream().map(id -> new ChangeEvent(type, id, Operation.DELETED, null, now)).toList());
+    }
+
+    private void record(List<ChangeEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        eventRepository.saveAll(events);
+        TransactionHooks.afterCommit(sequencer::wake);
+    }
+
+    /**
+     * The changes numbered after {@code since}, in sequence order. Unlike other
+     * listings the cursor is never {@code null}: it is the sequence number to
+     * continue from, and a page shorter than the limit means the consumer has
+     * caught up.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ChangeEvent> getChangesAfter(long since, Integer limit) {
+        List<ChangeEvent> events = eventRepository.findBySeqGreaterThanOrderBySeqAsc(since,
+                Limit.of(CursorPage.clampLimit(limit)));
+        return new CursorPage<>(events, events.isEmpty() ? since : events.get(events.size() - 1).getSeq());
+    }
+
+    /**
+     * The sequence number of the latest change. A consumer that loads the full
+     * catalog can follow the feed from the value read just before it started.
+     */
+    @Transactional(readOnly = true)
+    public long getHeadSeq() {
+        return sequenceRepository.findById(ChangeSequence.ID).map(ChangeSequence::getLastSeq).orElse(0L);
+    }
+
+    /**
+     * Whether changes after {@code since} have already been purged, so reading
+     * from there would silently skip some.
+     */
+    @Transactional(readOnly = true)
+    public boolean isExpired(long since) {
+        Long oldest = eventRepository.findOldestSeq();
+        if (oldest != null) {
+            return since < oldest - 1;
+        }
+        return since < getHeadSeq();
+    }
+
+    /**
+     * Deletes the entries older than {@code retention}. Everything up to the
+     * newest such entry goes, so the remaining sequence numbers stay contiguous.
+     */
+    @Scheduled(cron = "${library.changes.purge-cron:-}")
+    @Transactional
+    public int purgeExpired() {
+        Long upTo = eventRepository.findNewestSeqBefore(Instant.now().minus(retention));
+        if (upTo == null) {
+            return 0;
+        }
+        int purged = eventRepository.deleteUpTo(upTo);
+        log.info("Purged {} change feed entries up to sequence {}", purged, upTo);
+        return purged;
+    }
+}
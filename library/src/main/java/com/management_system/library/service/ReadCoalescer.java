@@ -0,0 +1,218 @@
+package com.management_system.library.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.management_system.library.datasource.PrimaryPin;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Single-flight loading for hot reads: while a lookup for a key is running,
+ * concurrent callers for the same key wait for it and share its result
+ * instead of each running the query. With a non-zero window the result stays
+ * shared for that long after the lookup finishes, so a burst that arrives
+ * just after still takes one query. Failures are passed to every waiting
+ * caller and never kept.
+ * <p>
+ * Keys are spread over lock stripes, each guarding its own map of lookups, so
+ * callers for different keys rarely contend. Callers pinned to the primary
+ * only share with each other, so a client reading its own write never gets a
+ * replica's answer. Callers inside a transaction always run their own lookup:
+ * its entities belong to their persistence context, which may change them,
+ * and must not be handed to anyone else. {@link #forget} drops a key after a
+ * write, so later callers start a fresh lookup rather than join one that may
+ * predate it.
+ * <p>
+ * Every call is counted in {@code library.coalescing.calls}, tagged with the
+ * kind of lookup and whether it {@code loaded}, {@code joined} a running
+ * lookup or {@code reused} a finished one; the last two are the queries saved.
+ */
+public class ReadCoalescer {
+
+    private final Stripe[] stripes;
+    private final long windowNanos;
+    private final MeterRegistry registry;
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(int stripes, Duration window, MeterRegistry registry) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("At least one stripe is needed, got " + stripes);
+        }
+        this.stripes = new Stripe[stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.windowNanos = window.toNanos();
+        this.registry = registry;
+    }
+
+    private ReadCoalescer() {
+        this.stripes = new Stripe[0];
+        this.windowNanos = 0;
+        this.registry = null;
+    }
+
+    /** A coalescer that runs every loader itself and counts nothing. */
+    public static ReadCoalescer disabled() {
+        return new ReadCoalescer();
+    }
+
+    /**
+     * The loader's result for the key, loaded by this caller or shared with
+     * another one loading the same key. Inside a transaction the loader is
+     * always run by the caller and its result shared with no one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String kind, Object id, Supplier<T> loader) {
+        if (stripes.length == 0 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        Key key = new Key(kind, id, PrimaryPin.isPinned());
+        Stripe stripe = stripeOf(key);
+        Flight flight;
+        boolean leader = false;
+        stripe.lock.lock();
+        try {
+            long now = System.nanoTime();
+            flight = stripe.flights.get(key);
+            if (flight == null || flight.expired(now)) {
+                if (windowNanos > 0) {
+                    stripe.sweep(now, windowNanos);
+                }
+                flight = new Flight();
+                stripe.flights.put(key, flight);
+                leader = true;
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+        if (!leader) {
+            count(kind, flight.result.isDone() ? Outcome.REUSED : Outcome.JOINED);
+            try {
+                return (T) flight.result.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        count(kind, Outcome.LOADED);
+        boolean loaded = false;
+        try {
+            T value = loader.get();
+            loaded = true;
+            flight.expiresAt = System.nanoTime() + windowNanos;
+            flight.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!loaded || windowNanos <= 0) {
+                remove(stripe, key, flight);
+            }
+        }
+    }
+
+    /** Stops sharing the lookups of the key, running or finished; callers already waiting still get them. */
+    public void forget(String kind, Object id) {
+        if (stripes.length == 0) {
+            return;
+        }
+        for (boolean pinned : new boolean[] { false, true }) {
+            Key key = new Key(kind, id, pinned);
+            Stripe stripe = stripeOf(key);
+            stripe.lock.lock();
+            try {
+                stripe.flights.remove(key);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeOf(Key key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ hash >>> 16) & stripes.length - 1];
+    }
+
+    private static void remove(Stripe stripe, Key key, Flight flight) {
+        stripe.lock.lock();
+        try {
+            stripe.flights.remove(key, flight);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void count(String kind, Outcome outcome) {
+        counters.computeIfAbsent(kind, this::register)[outcome.ordinal()].increment();
+    }
+
+    private Counter[] register(String kind) {
+        Counter[] byOutcome = new Counter[Outcome.values().length];
+        for (Outcome outcome : Outcome.values()) {
+            byOutcome[outcome.ordinal()] = Counter.builder("library.coalescing.calls")
+                    .description("Coalesced reads, by whether they ran the lookup or shared another's")
+                    .tag("kind", kind)
+                    .tag("outcome", outcome.tag)
+                    .register(registry);
+        }
+        return byOutcome;
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return failure instanceof RuntimeException runtime ? runtime : new IllegalStateException(failure);
+    }
+
+    private enum Outcome {
+        LOADED("loaded"), JOINED("joined"), REUSED("reused");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record Key(String kind, Object id, boolean pinned) {
+    }
+
+    private static final class Flight {
+
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        /** When a finished lookup stops being shared; written before the result is completed. */
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean expired(long now) {
+            return result.isDone() && now - expiresAt >= 0;
+        }
+    }
+
+    private static final class Stripe {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<Key, Flight> flights = new HashMap<>();
+        long nextSweep;
+
+        /** Drops finished lookups whose window has passed, at most once per window. */
+        void sweep(long now, long windowNanos) {
+            if (now - nextSweep < 0) {
+                return;
+            }
+            flights.values().removeIf(flight -> flight.expired(now));
+            nextSweep = now + windowNanos;
+        }
+    }
+}
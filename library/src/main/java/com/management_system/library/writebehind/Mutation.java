@@ -0,0 +1,10 @@
+package com.management_system.library.writebehind;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A queued create or update, as written to the mutation log. The payload is the
+ * request body; {@code targetId} is the entity being updated, if any.
+ */
+public record Mutation(long seq, String trackingId, MutationType type, Long targetId, JsonNode payload) {
+}
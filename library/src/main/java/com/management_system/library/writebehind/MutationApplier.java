@@ -0,0 +1,72 @@
+package com.management_system.library.writebehind;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.BookService;
+
+/**
+ * Applies a queued mutation through the regular services, the same way the
+ * synchronous endpoints do. Missing targets are reported as failures; database
+ * errors are thrown so the surrounding transaction rolls back.
+ */
+@Component
+public class MutationApplier {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public WriteStatus apply(Mutation mutation) {
+        try {
+            return switch (mutation.type()) {
+                case CREATE_BOOK -> createBook(mutation);
+                case UPDATE_BOOK -> updateBook(mutation);
+                case CREATE_AUTHOR -> createAuthor(mutation);
+                case UPDATE_AUTHOR -> updateAuthor(mutation);
+            };
+        } catch (JsonProcessingException e) {
+            return WriteStatus.failed(mutation.trackingId(), "Unreadable payload: " + e.getOriginalMessage());
+        }
+    }
+
+    private WriteStatus createBook(Mutation mutation) throws JsonProcessingException {
+        Book book = objectMapper.treeToValue(mutation.payload(), Book.class);
+        book.setId(null);
+        book.setVersion(null);
+        return WriteStatus.applied(mutation.trackingId(), bookService.saveBook(book).getId());
+    }
+
+    private WriteStatus updateBook(Mutation mutation) throws JsonProcessingException {
+        Book details = objectMapper.treeToValue(mutation.payload(), Book.class);
+        return bookService.updateBook(mutation.targetId(), details, null)
+                .map(saved -> WriteStatus.applied(mutation.trackingId(), saved.getId()))
+                .orElseGet(() -> WriteStatus.failed(mutation.trackingId(),
+                        "Book " + mutation.targetId() + " not found."));
+    }
+
+    private WriteStatus createAuthor(Mutation mutation) throws JsonProcessingException {
+        Author author = objectMapper.treeToValue(mutation.payload(), Author.class);
+        author.setId(null);
+        author.setVersion(null);
+        return WriteStatus.applied(mutation.trackingId(), authorService.saveAuthor(author).getId());
+    }
+
+    private WriteStatus updateAuthor(Mutation mutation) throws JsonProcessingException {
+        Author details = objectMapper.treeToValue(mutation.payload(), Author.class);
+        return authorService.updateAuthor(mutation.targetId(), details, null)
+                .map(saved -> WriteStatus.applied(mutation.trackingId(), saved.getId()))
+                .orElseGet(() -> WriteStatus.failed(mutation.trackingId(),
+                        "Author " + mutation.targetId() + " not found."));
+    }
+}
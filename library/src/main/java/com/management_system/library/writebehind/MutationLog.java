@@ -0,0 +1,282 @@
+package com.management_system.library.writebehind;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Append-only log of queued mutations, one JSON object per line, split into
+ * segment files. A mutation is followed later by a {@code {"done": seq}} marker
+ * once it has been applied, written to whichever segment is current by then.
+ * A segment is deleted when all its mutations are done and every older
+ * segment its markers refer to is gone, so a replay never finds a mutation
+ * without the marker that covered it. Appends from concurrent requests share
+ * one fsync through {@link #syncTo(long)}.
+ */
+class MutationLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationLog.class);
+
+    private static final String SEGMENT_PREFIX = "mutations-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final ObjectMapper objectMapper;
+    private final Object syncLock = new Object();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<Long, Segment> segmentBySeq = new HashMap<>();
+
+    private Segment current;
+    private long nextSegment = 1;
+    private long nextSeq = 1;
+    private long written;
+    private volatile long synced;
+
+    MutationLog(Path directory, long segmentSize, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the existing segments and returns the mutations without a done
+     * marker, in log order, then opens a fresh segment for new appends. A torn
+     * last line from a crash is skipped.
+     */
+    synchronized List<Mutation> replay() throws IOException {
+        Files.createDirectories(directory);
+        Map<Long, Mutation> pending = new LinkedHashMap<>();
+        Set<Long> done = new HashSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(MutationLog::isSegment).sorted().toList()) {
+                Segment segment = new Segment(path);
+                segments.put(segment.number(), segment);
+                nextSegment = Math.max(nextSegment, segment.number() + 1);
+                try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        JsonNode record = parse(path, line);
+                        if (record == null) {
+                            continue;
+                        }
+                        if (record.has("done")) {
+                            long seq = record.get("done").asLong();
+                            done.add(seq);
+                            Segment marked = segmentBySeq.get(seq);
+                            if (marked != null && marked != segment) {
+                                segment.markersFor.add(marked);
+                            }
+                        } else {
+                            Mutation mutation = objectMapper.treeToValue(record, Mutation.class);
+                            pending.put(mutation.seq(), mutation);
+                            segmentBySeq.put(mutation.seq(), segment);
+                        }
+                        nextSeq = Math.max(nextSeq, (record.has("done") ? record.get("done") : record.get("seq"))
+                                .asLong() + 1);
+                    }
+                }
+            }
+        }
+        List<Mutation> replayed = new ArrayList<>();
+        for (Mutation mutation : pending.values()) {
+            if (done.contains(mutation.seq())) {
+                segmentBySeq.remove(mutation.seq());
+            } else {
+                segmentBySeq.get(mutation.seq()).pending++;
+                replayed.add(mutation);
+            }
+        }
+        for (Segment segment : List.copyOf(segments.values())) {
+            deleteIfDone(segment);
+        }
+        roll();
+        return replayed;
+    }
+
+    /**
+     * Appends a mutation and returns it with its sequence number. The returned
+     * position must be passed to {@link #syncTo(long)} before the mutation can
+     * be considered durable.
+     */
+    synchronized Appended append(String trackingId, MutationType type, Long targetId, JsonNode payload)
+            throws IOException {
+        if (current.size >= segmentSize) {
+            roll();
+        }
+        Mutation mutation = new Mutation(nextSeq++, trackingId, type, targetId, payload);
+        write(objectMapper.writeValueAsBytes(mutation));
+        current.pending++;
+        segmentBySeq.put(mutation.seq(), current);
+        return new Appended(mutation, written);
+    }
+
+    /**
+     * Makes everything up to the given position durable. Callers that arrive
+     * while another fsync is running wait for it and usually find their bytes
+     * already covered.
+     */
+    void syncTo(long position) throws IOException {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            FileChannel channel;
+            long target;
+            synchronized (this) {
+                channel = current.channel;
+                target = written;
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // The segment was rolled, which forces it before closing.
+            }
+            synced = Math.max(synced, target);
+        }
+    }
+
+    /**
+     * Records the mutations as applied and deletes segments that no longer
+     * hold anything needed. The markers are forced to disk before returning.
+     */
+    void markDone(Collection<Mutation> mutations) throws IOException {
+        long position;
+        synchronized (this) {
+            for (Mutation mutation : mutations) {
+                ObjectNode marker = objectMapper.createObjectNode().put("done", mutation.seq());
+                write(objectMapper.writeValueAsBytes(marker));
+                Segment segment = segmentBySeq.remove(mutation.seq());
+                if (segment != null) {
+                    segment.pending--;
+                    if (segment != current) {
+                        current.markersFor.add(segment);
+                    }
+                    deleteIfDone(segment);
+                }
+            }
+            position = written;
+        }
+        syncTo(position);
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.channel.force(false);
+            current.channel.close();
+        }
+    }
+
+    private void write(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            current.size += current.channel.write(buffer);
+        }
+        written += record.length + 1;
+    }
+
+    private void roll() throws IOException {
+        Segment previous = current;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSegment++, SEGMENT_SUFFIX));
+        current = new Segment(path);
+        current.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        segments.put(current.number(), current);
+        if (previous != null) {
+            previous.channel.force(false);
+            previous.channel.close();
+            previous.channel = null;
+            deleteIfDone(previous);
+        }
+    }
+
+    /**
+     * Deletes the segment once it is closed, its mutations are all done and
+     * the segments its markers cover are gone, then looks again at the
+     * segments holding markers for it.
+     */
+    private void deleteIfDone(Segment segment) throws IOException {
+        if (segment == current || segment.channel != null || segment.pending > 0 || !segment.markersFor.isEmpty()
+                || segments.get(segment.number()) != segment) {
+            return;
+        }
+        Files.deleteIfExists(segment.path);
+        segments.remove(segment.number());
+        for (Segment other : List.copyOf(segments.values())) {
+            if (other.markersFor.remove(segment)) {
+                deleteIfDone(other);
+            }
+        }
+    }
+
+    private JsonNode parse(Path path, String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable record in {}: {}", path.getFileName(), e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    record Appended(Mutation mutation, long position) {
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        /** Older segments still on disk that hold mutations this one has done markers for. */
+        private final Set<Segment> markersFor = new HashSet<>();
+        private FileChannel channel;
+        private long size;
+        private int pending;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+
+        private long number() {
+            String name = path.getFileName().toString();
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        }
+    }
+}
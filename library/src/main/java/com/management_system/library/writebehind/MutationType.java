@@ -0,0 +1,8 @@
+package com.management_system.library.writebehind;
+
+public enum MutationType {
+    CREATE_BOOK,
+    UPDATE_BOOK,
+    CREATE_AUTHOR,
+    UPDATE_AUTHOR
+}
@@ -0,0 +1,21 @@
+package com.management_system.library.writebehind;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the write-behind queue cannot take more mutations; the caller
+ * should retry after the suggested delay.
+ */
+public class QueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public QueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,333 @@
+package com.management_system.library.writebehind;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Accepts book and author mutations without waiting for the database. Each
+ * mutation is fsynced to the {@link MutationLog} before it is acknowledged,
+ * then a single batcher thread applies queued mutations in log order, up to
+ * {@code batch-size} per transaction. Because one thread applies everything in
+ * sequence, mutations of the same entity are applied in the order they were
+ * accepted. If a batch fails, its mutations are retried one per transaction so
+ * a single bad row only fails itself. While the database is unreachable the
+ * batcher keeps retrying the same batch with backoff, holding back later ones.
+ * <p>
+ * Mutations are applied at least once: a crash after a batch commits but
+ * before its done markers reach the disk replays that batch on the next start.
+ */
+@Component
+@ConditionalOnProperty(name = "library.write-behind.enabled", havingValue = "true")
+public class WriteBehindQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    @Autowired
+    private MutationApplier applier;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${library.write-behind.directory:data/write-behind}")
+    private Path directory;
+
+    @Value("${library.write-behind.capacity:10000}")
+    private int capacity = 10000;
+
+    @Value("${library.write-behind.batch-size:500}")
+    private int batchSize = 500;
+
+    @Value("${library.write-behind.max-delay:20ms}")
+    private Duration maxDelay = Duration.ofMillis(20);
+
+    @Value("${library.write-behind.segment-size:64MB}")
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    private final BlockingQueue<MutationLog.Appended> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Object submitLock = new Object();
+    private final Cache<String, WriteStatus> statuses = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    private MutationLog mutationLog;
+    private Thread batcher;
+    private volatile boolean running;
+    private volatile double nanosPerMutation;
+
+    /**
+     * Logs the mutation durably and queues it. Throws {@link QueueFullException}
+     * when {@code capacity} mutations are already waiting.
+     */
+    public WriteStatus submit(MutationType type, Long targetId, Object payload) throws IOException {
+        String trackingId = UUID.randomUUID().toString();
+        MutationLog.Appended appended;
+        synchronized (submitLock) {
+            if (!running) {
+                throw new QueueFullException("Write-behind queue is not running.", Duration.ofSeconds(1));
+            }
+            if (depth.get() >= capacity) {
+                throw new QueueFullException("Write-behind queue is full.", retryAfter());
+            }
+            appended = mutationLog.append(trackingId, type, targetId, objectMapper.valueToTree(payload));
+            depth.incrementAndGet();
+            statuses.put(trackingId, WriteStatus.pending(trackingId));
+            queue.add(appended);
+        }
+        mutationLog.syncTo(appended.position());
+        return WriteStatus.pending(trackingId);
+    }
+
+    public Optional<WriteStatus> status(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    @Override
+    public void start() {
+        try {
+            mutationLog = new MutationLog(directory, segmentSize.toBytes(), objectMapper);
+            List<Mutation> replayed = mutationLog.replay();
+            for (Mutation mutation : replayed) {
+                statuses.put(mutation.trackingId(), WriteStatus.pending(mutation.trackingId()));
+                queue.add(new MutationLog.Appended(mutation, 0));
+            }
+            depth.set(replayed.size());
+            if (!replayed.isEmpty()) {
+                log.info("Replaying {} queued mutations from {}", replayed.size(), directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the write-behind log in " + directory, e);
+        }
+        meterRegistry.ifAvailable(registry -> Gauge.builder("library.writebehind.queue.depth", depth, AtomicInteger::get)
+                .description("Mutations accepted but not yet applied")
+                .register(registry));
+        running = true;
+        batcher = new Thread(this::drain, "write-behind-batcher");
+        batcher.setDaemon(true);
+        batcher.start();
+    }
+
+    /**
+     * Stops accepting mutations and lets the batcher finish its current batch.
+     * Anything still queued stays in the log and is replayed on the next start.
+     */
+    @Override
+    public void stop() {
+        synchronized (submitLock) {
+            running = false;
+        }
+        try {
+            batcher.join(TimeUnit.SECONDS.toMillis(30));
+            mutationLog.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Could not close the write-behind log", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before the web server takes requests and stops after it has
+     * stopped, so no request sees the queue closed.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drain() {
+        List<MutationLog.Appended> batch = new ArrayList<>(batchSize);
+        long backoffMillis = 0;
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    collect(batch);
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                } else if (!pause(backoffMillis)) {
+                    break;
+                }
+                applyBatch(batch);
+                backoffMillis = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    backoffMillis = Math.min(Math.max(backoffMillis * 2, 500), MAX_BACKOFF_MILLIS);
+                    log.warn("Database unavailable, retrying {} queued mutations in {} ms: {}", batch.size(),
+                            backoffMillis, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                } else {
+                    abandon(batch, e);
+                }
+            } catch (IOException e) {
+                abandon(batch, e);
+            }
+        }
+    }
+
+    private void collect(List<MutationLog.Appended> batch) throws InterruptedException {
+        MutationLog.Appended first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxDelay.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long wait = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || wait <= 0) {
+                return;
+            }
+            MutationLog.Appended next = queue.poll(wait, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Applies the batch in one transaction, or one mutation per transaction if
+     * that fails. Completed mutations are removed from the batch; on a transient
+     * database error the rest stay in it to be retried.
+     */
+    private void applyBatch(List<MutationLog.Appended> batch) throws IOException {
+        long start = System.nanoTime();
+        mutationLog.syncTo(batch.get(batch.size() - 1).position());
+        List<Mutation> mutations = batch.stream().map(MutationLog.Appended::mutation).toList();
+        List<WriteStatus> results;
+        try {
+            results = transactionTemplate.execute(status -> mutations.stream().map(applier::apply).toList());
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            log.warn("Write-behind batch of {} mutations failed, applying them one by one: {}", mutations.size(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            results = new ArrayList<>();
+            try {
+                for (Mutation mutation : mutations) {
+                    results.add(applyAlone(mutation));
+                }
+            } finally {
+                complete(batch, results, start);
+            }
+            return;
+        }
+        complete(batch, results, start);
+    }
+
+    private WriteStatus applyAlone(Mutation mutation) {
+        try {
+            return transactionTemplate.execute(status -> applier.apply(mutation));
+        } catch (OptimisticLockingFailureException e) {
+            return WriteStatus.failed(mutation.trackingId(), "Modified concurrently; the given version is stale.");
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            return WriteStatus.failed(mutation.trackingId(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void complete(List<MutationLog.Appended> batch, List<WriteStatus> results, long start)
+            throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+        List<MutationLog.Appended> done = batch.subList(0, results.size());
+        mutationLog.markDone(done.stream().map(MutationLog.Appended::mutation).toList());
+        results.forEach(result -> statuses.put(result.trackingId(), result));
+        depth.addAndGet(-results.size());
+        done.clear();
+        double perMutation = (double) (System.nanoTime() - start) / results.size();
+        nanosPerMutation = nanosPerMutation == 0 ? perMutation : 0.8 * nanosPerMutation + 0.2 * perMutation;
+    }
+
+    private void abandon(List<MutationLog.Appended> batch, Exception e) {
+        log.error("Write-behind batch of {} mutations could not be completed; they will be replayed on restart",
+                batch.size(), e);
+        depth.addAndGet(-batch.size());
+        batch.clear();
+    }
+
+    private boolean pause(long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (running && System.currentTimeMillis() < deadline) {
+            Thread.sleep(Math.min(100, millis));
+        }
+        return running;
+    }
+
+    /**
+     * Whether retrying the same mutations later may succeed. A stale version
+     * never will, although Spring files optimistic locking failures under
+     * transient ones, so it sends the batch down the one-by-one path instead.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        if (e instanceof OptimisticLockingFailureException) {
+            return false;
+        }
+        return e instanceof TransientDataAccessException || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException || e instanceof CannotCreateTransactionException;
+    }
+
+    private Duration retryAfter() {
+        long nanos = (long) (nanosPerMutation * depth.get());
+        return Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.management_system.library.writebehind;
+
+/**
+ * Progress of a queued mutation. {@code entityId} is set once it is applied and
+ * {@code message} explains a failure.
+ */
+public record WriteStatus(String trackingId, State state, Long entityId, String message) {
+
+    public enum State {
+        PENDING,
+        APPLIED,
+        FAILED
+    }
+
+    public static WriteStatus pending(String trackingId) {
+        return new WriteStatus(trackingId, State.PENDING, null, null);
+    }
+
+    public static WriteStatus applied(String trackingId, Long entityId) {
+        return new WriteStatus(trackingId, State.APPLIED, entityId, null);
+    }
+
+    public static WriteStatus failed(String trackingId, String message) {
+        return new WriteStatus(trackingId, State.FAILED, null, message);
+    }
+}
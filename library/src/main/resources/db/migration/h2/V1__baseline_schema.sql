@@ -0,0 +1,19 @@
+-- H2 counterpart of the MySQL baseline, used by the tests and benchmarks.
+
+create table author (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    birthdate timestamp(6) not null,
+    primary key (id)
+);
+
+create table book (
+    id bigint generated by default as identity,
+    title varchar(255) not null,
+    isbn varchar(255) not null,
+    publication_date timestamp(6) not null,
+    author_id bigint not null,
+    primary key (id),
+    constraint uk_book_isbn unique (isbn),
+    constraint fk_book_author foreign key (author_id) references author (id)
+);
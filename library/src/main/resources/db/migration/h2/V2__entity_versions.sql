@@ -0,0 +1,7 @@
+-- Optimistic locking versions and modification times for conditional
+-- requests. Rows that predate the columns start at version 0 and have no
+-- modification time until their next update.
+alter table author add column version bigint not null default 0;
+alter table author add column last_modified timestamp(6) with time zone;
+alter table book add column version bigint not null default 0;
+alter table book add column last_modified timestamp(6) with time zone;
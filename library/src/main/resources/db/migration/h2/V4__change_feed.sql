@@ -0,0 +1,21 @@
+-- The change feed of books and authors and its sequence counter, which the
+-- sequencer creates on first use.
+create table change_event (
+    id bigint generated by default as identity,
+    seq bigint,
+    entity_type enum ('AUTHOR','BOOK') not null,
+    entity_id bigint not null,
+    operation enum ('CREATED','DELETED','UPDATED') not null,
+    version bigint,
+    changed_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint ux_change_event_seq unique (seq)
+);
+
+create index ix_change_event_changed_at on change_event (changed_at);
+
+create table change_sequence (
+    id integer not null,
+    last_seq bigint not null,
+    primary key (id)
+);
@@ -0,0 +1,5 @@
+-- Serve the filtered book listing: publication date ranges and title prefix
+-- matches, each read in index order so that a page stops after its rows.
+-- The id makes the key unique for the keyset cursor.
+create index ix_book_publication on book (publication_date, id);
+create index ix_book_title on book (title, id);
@@ -0,0 +1,20 @@
+-- The schema as Hibernate generated it from the entities before migrations
+-- were introduced. Existing databases are baselined at this version.
+
+create table author (
+    id bigint not null auto_increment,
+    name varchar(255) not null,
+    birthdate datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table book (
+    id bigint not null auto_increment,
+    title varchar(255) not null,
+    isbn varchar(255) not null,
+    publication_date datetime(6) not null,
+    author_id bigint not null,
+    primary key (id),
+    constraint uk_book_isbn unique (isbn),
+    constraint fk_book_author foreign key (author_id) references author (id)
+) engine=InnoDB;
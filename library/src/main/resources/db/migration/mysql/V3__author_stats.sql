@@ -0,0 +1,14 @@
+-- Per-author book counts and publication ranges, filled from the books
+-- already stored. Authors without books have no row.
+create table author_stats (
+    author_id bigint not null,
+    book_count bigint not null,
+    first_publication_date datetime(6),
+    last_publication_date datetime(6),
+    primary key (author_id)
+) engine=InnoDB;
+
+insert into author_stats (author_id, book_count, first_publication_date, last_publication_date)
+select author_id, count(*), min(publication_date), max(publication_date)
+from book
+group by author_id;
@@ -0,0 +1,21 @@
+-- The change feed of books and authors and its sequence counter, which the
+-- sequencer creates on first use.
+create table change_event (
+    id bigint not null auto_increment,
+    seq bigint,
+    entity_type enum ('AUTHOR','BOOK') not null,
+    entity_id bigint not null,
+    operation enum ('CREATED','DELETED','UPDATED') not null,
+    version bigint,
+    changed_at datetime(6) not null,
+    primary key (id),
+    constraint ux_change_event_seq unique (seq)
+) engine=InnoDB;
+
+create index ix_change_event_changed_at on change_event (changed_at);
+
+create table change_sequence (
+    id integer not null,
+    last_seq bigint not null,
+    primary key (id)
+) engine=InnoDB;
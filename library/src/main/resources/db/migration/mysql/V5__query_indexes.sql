@@ -0,0 +1,4 @@
+-- Serves the per-author book lookups and, as a covering index, the author
+-- statistics: book ids by author, min/max publication date by author and the
+-- grouped recount. It also takes over from the implicit foreign key index.
+create index ix_book_author_publication on book (author_id, publication_date);
@@ -0,0 +1,148 @@
+package com.management_system.library;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.BookService;
+
+/**
+ * Runs the same read workload against the application with platform request
+ * threads and with virtual threads, and prints throughput and latency for each.
+ * <p>
+ * Opt-in, since it starts the whole application twice:
+ * {@code mvn test -Dtest=ThreadingModeLoadTest -Dlibrary.loadtest=true}.
+ * It uses an in-memory H2 database unless {@code library.loadtest.url} (with
+ * {@code .username} and {@code .password}) points at a local MySQL. The
+ * virtual-thread run is skipped on runtimes older than Java 21.
+ */
+@EnabledIfSystemProperty(named = "library.loadtest", matches = "true")
+public class ThreadingModeLoadTest {
+
+    private static final int BOOKS = 500;
+    private static final int CLIENTS = Integer.getInteger("library.loadtest.clients", 400);
+    private static final int REQUESTS = Integer.getInteger("library.loadtest.requests", 20_000);
+    private static final int TOMCAT_THREADS = Integer.getInteger("library.loadtest.tomcat-threads", 50);
+    private static final int POOL_SIZE = Integer.getInteger("library.loadtest.pool-size", 10);
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run(true));
+        } else {
+            System.out.println("Skipping virtual-thread run on Java " + Runtime.version().feature());
+        }
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "errors");
+        results.forEach(result -> System.out.printf("%-10s %10.0f %10.2f %10.2f %10d%n", result.mode(),
+                result.throughput(), result.p50Millis(), result.p99Millis(), result.errors()));
+        assertThat(results).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private Result run(boolean virtual) throws Exception {
+        String url = System.getProperty("library.loadtest.url",
+                "jdbc:h2:mem:loadtest-" + virtual + ";DB_CLOSE_DELAY=-1");
+        try (ConfigurableApplicationContext context = SpringApplication.run(LibraryApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + System.getProperty("library.loadtest.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("library.loadtest.password", ""),
+                "--spring.datasource.driver-class-name=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.cache.type=none",
+                "--library.rate-limit.enabled=false",
+                "--library.admission.enabled=false",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--spring.datasource.hikari.connection-timeout=30000")) {
+            List<Long> bookIds = seed(context);
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            return load(virtual ? "virtual" : "platform", base, bookIds);
+        }
+    }
+
+    private static List<Long> seed(ConfigurableApplicationContext context) {
+        AuthorService authorService = context.getBean(AuthorService.class);
+        BookService bookService = context.getBean(BookService.class);
+        Author author = new Author();
+        author.setName("Load Test");
+        author.setBirthdate(new Date());
+        author = authorService.saveAuthor(author);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setIsbn("LOAD-" + i);
+            book.setPublicationDate(new Date());
+            book.setAuthor(author);
+            ids.add(bookService.saveBook(book).getId());
+        }
+        return ids;
+    }
+
+    private static Result load(String mode, String base, List<Long> bookIds) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(8)).build();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        warmUp(client, base, bookIds);
+        long[] latencies = new long[REQUESTS];
+        List<Future<Boolean>> calls = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int slot = i;
+            calls.add(clients.submit(() -> {
+                long sent = System.nanoTime();
+                int status = get(client, base, bookIds);
+                latencies[slot] = System.nanoTime() - sent;
+                return status == 200;
+            }));
+        }
+        int errors = 0;
+        for (Future<Boolean> call : calls) {
+            if (!call.get()) {
+                errors++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        clients.shutdown();
+        Arrays.sort(latencies);
+        return new Result(mode, REQUESTS * 1e9 / elapsed, latencies[REQUESTS / 2] / 1e6,
+                latencies[(int) (REQUESTS * 0.99)] / 1e6, errors);
+    }
+
+    private static void warmUp(HttpClient client, String base, List<Long> bookIds) throws Exception {
+        for (int i = 0; i < 500; i++) {
+            get(client, base, bookIds);
+        }
+    }
+
+    private static int get(HttpClient client, String base, List<Long> bookIds) throws Exception {
+        Long id = bookIds.get(ThreadLocalRandom.current().nextInt(bookIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/books/" + id)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.management_system.library.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+import com.management_system.library.model.ChangeSequence;
+import com.management_system.library.repository.ChangeEventRepository;
+import com.management_system.library.repository.ChangeSequenceRepository;
+import com.management_system.library.service.ChangeFeedService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Numbers change feed entries in an in-memory H2 database and reads them back
+ * through {@link ChangeFeedService}.
+ */
+public class ChangeSequencerTest {
+
+    private SessionFactory sessionFactory;
+    private TransactionTemplate transactionTemplate;
+    private ChangeEventRepository eventRepository;
+    private ChangeSequencer sequencer;
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ChangeEvent.class)
+                .addAnnotatedClass(ChangeSequence.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:change-feed;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(sessionFactory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        eventRepository = repositories.getRepository(ChangeEventRepository.class);
+        ChangeSequenceRepository sequenceRepository = repositories.getRepository(ChangeSequenceRepository.class);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(sessionFactory));
+
+        sequencer = new ChangeSequencer();
+        ReflectionTestUtils.setField(sequencer, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(sequencer, "sequenceRepository", sequenceRepository);
+        ReflectionTestUtils.setField(sequencer, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(sequencer, "stream", mock(ChangeStream.class));
+        ReflectionTestUtils.setField(sequencer, "batchSize", 2);
+
+        changeFeedService = new ChangeFeedService();
+        ReflectionTestUtils.setField(changeFeedService, "eventRepository", eventRepository);
+        ReflectionTestUtils.setField(changeFeedService, "sequenceRepository", sequenceRepository);
+        ReflectionTestUtils.setField(changeFeedService, "sequencer", sequencer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void numbersEntriesInBatchesInInsertionOrder() {
+        record(Operation.CREATED, 1L, Instant.now());
+        record(Operation.UPDATED, 1L, Instant.now());
+        record(Operation.DELETED, 1L, Instant.now());
+
+        assertThat(sequencer.sequenceBatch()).isEqualTo(2);
+        assertThat(sequencer.sequenceBatch()).isEqualTo(1);
+        assertThat(sequencer.sequenceBatch()).isZero();
+
+        CursorPage<ChangeEvent> page = read(0);
+        assertThat(page.items()).extracting(ChangeEvent::getSeq).containsExactly(1L, 2L, 3L);
+        assertThat(page.items()).extracting(ChangeEvent::getOperation)
+                .containsExactly(Operation.CREATED, Operation.UPDATED, Operation.DELETED);
+        assertThat(page.nextCursor()).isEqualTo(3L);
+        assertThat(read(3).items()).isEmpty();
+        assertThat(read(3).nextCursor()).isEqualTo(3L);
+        assertThat(changeFeedService.getHeadSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    void entryOfALaterCommitIsNumberedAfterEverythingAlreadyRead() {
+        EntityManager slowWriter = sessionFactory.createEntityManager();
+        slowWriter.getTransaction().begin();
+        slowWriter.persist(new ChangeEvent(EntityType.BOOK, 1L, Operation.UPDATED, 1L, Instant.now()));
+        slowWriter.flush();
+        record(Operation.UPDATED, 2L, Instant.now());
+        sequencer.sequenceBatch();
+        assertThat(read(0).items()).extracting(ChangeEvent::getEntityId).containsExactly(2L);
+
+        slowWriter.getTransaction().commit();
+        slowWriter.close();
+        sequencer.sequenceBatch();
+        assertThat(read(1).items()).extracting(ChangeEvent::getEntityId).containsExactly(1L);
+        assertThat(read(1).items().get(0).getSeq()).isEqualTo(2L);
+    }
+
+    @Test
+    void purgedPositionsAreExpired() {
+        Instant old = Instant.now().minus(Duration.ofDays(30));
+        record(Operation.CREATED, 1L, old);
+        record(Operation.CREATED, 2L, old);
+        record(Operation.CREATED, 3L, Instant.now());
+        sequencer.sequenceBatch();
+        sequencer.sequenceBatch();
+
+        int purged = transactionTemplate.execute(status -> changeFeedService.purgeExpired());
+        assertThat(purged).isEqualTo(2);
+        assertThat(changeFeedService.isExpired(0)).isTrue();
+        assertThat(changeFeedService.isExpired(2)).isFalse();
+        assertThat(read(2).items()).extracting(ChangeEvent::getEntityId).containsExactly(3L);
+    }
+
+    @Test
+    void emptyFeedIsExpiredOnlyBehindTheHead() {
+        record(Operation.CREATED, 1L, Instant.now().minus(Duration.ofDays(30)));
+        sequencer.sequenceBatch();
+        transactionTemplate.execute(status -> changeFeedService.purgeExpired());
+
+        assertThat(changeFeedService.isExpired(0)).isTrue();
+        assertThat(changeFeedService.isExpired(1)).isFalse();
+    }
+
+    private void record(Operation operation, Long bookId, Instant changedAt) {
+        transactionTemplate.executeWithoutResult(status -> eventRepository
+                .save(new ChangeEvent(EntityType.BOOK, bookId, operation, null, changedAt)));
+    }
+
+    private CursorPage<ChangeEvent> read(long since) {
+        return transactionTemplate.execute(status -> changeFeedService.getChangesAfter(since, null));
+    }
+}
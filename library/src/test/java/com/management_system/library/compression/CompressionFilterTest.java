@@ -0,0 +1,163 @@
+package com.management_system.library.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.MimeType;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class CompressionFilterTest {
+
+    private final CompressionFilter filter = new CompressionFilter(
+            List.of(MimeType.valueOf("application/json")), 64, 3);
+
+    @Test
+    void largeJsonIsCompressedForZstdClients() throws Exception {
+        String body = "[" + "{\"title\":\"Book\"},".repeat(100) + "{}]";
+
+        MockHttpServletResponse response = filter(request("gzip, zstd"), "application/json", body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("zstd");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        byte[] compressed = response.getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(body.length());
+        try (ZstdInputStream decoded = new ZstdInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(decoded.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    void smallBodiesAreSentAsTheyAre() throws Exception {
+        MockHttpServletResponse response = filter(request("zstd"), "application/json", "{\"id\":1}");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(response.getContentLength()).isEqualTo(8);
+    }
+
+    @Test
+    void otherContentTypesAreSentAsTheyAre() throws Exception {
+        String body = "x".repeat(500);
+
+        MockHttpServletResponse response = filter(request("zstd"), "image/png", body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    @Test
+    void clientsWithoutZstdGetGzip() throws Exception {
+        String body = "[" + "{}, ".repeat(100) + "{}]";
+
+        MockHttpServletResponse response = filter(request("zstd;q=0, gzip"), "application/json", body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream decoded = new GZIPInputStream(
+                new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(decoded.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    void clientsWithoutAcceptEncodingGetIdentity() throws Exception {
+        String body = "[" + "{}, ".repeat(100) + "{}]";
+
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/api/books"),
+                "application/json", body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    @Test
+    void compressedBodiesHaveTheirOwnETag() throws Exception {
+        String body = "[" + "{}, ".repeat(100) + "{}]";
+        FilterChain chain = (req, res) -> {
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"5-smile\"");
+            write(res, "application/json", body);
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("gzip"), response, chain);
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"5-smile-gzip\"");
+    }
+
+    @Test
+    void validatorsOfCompressedBodiesMatchTheUncompressedTags() throws Exception {
+        MockHttpServletRequest request = request("zstd");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"4-zstd\", W/\"5-zstd\"");
+        List<String> seen = new ArrayList<>();
+        FilterChain chain = (req, res) -> {
+            seen.addAll(Collections.list(((HttpServletRequest) req).getHeaders(HttpHeaders.IF_NONE_MATCH)));
+            ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            ((HttpServletResponse) res).setHeader(HttpHeaders.ETAG, "\"5\"");
+        };
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+
+        assertThat(seen).containsExactly("\"4\", W/\"5\"");
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"5-zstd\"");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void uncompressedResponsesVaryByAcceptEncodingToo() throws Exception {
+        MockHttpServletResponse response = filter(new MockHttpServletRequest("GET", "/api/books"),
+                "application/json", "{\"id\":1}");
+
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(filter(request("gzip"), "application/json", "{\"id\":1}").getHeaders(HttpHeaders.VARY))
+                .containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void acceptEncodingNegotiation() {
+        assertThat(ContentCoding.negotiate("gzip, br, ZSTD;q=0.5")).isEqualTo(ContentCoding.ZSTD);
+        assertThat(ContentCoding.negotiate("zstd;q=0.0, gzip")).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("br, deflate")).isNull();
+        assertThat(ContentCoding.negotiate(null)).isNull();
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, String contentType, String body)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> write(res, contentType, body);
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void write(ServletResponse response, String contentType, String body)
+            throws IOException {
+        response.setContentType(contentType);
+        response.setContentLength(body.length());
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        response.getOutputStream().flush();
+    }
+}
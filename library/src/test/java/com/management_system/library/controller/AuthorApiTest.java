@@ -0,0 +1,125 @@
+package com.management_system.library.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.AuthorStats;
+import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.AuthorStatsService;
+
+/**
+ * Request handling of {@link AuthorController} against mocked services, on a
+ * standalone MockMvc that needs no application context.
+ */
+public class AuthorApiTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AuthorService authorService;
+
+    @Mock
+    private AuthorStatsService authorStatsService;
+
+    @InjectMocks
+    private AuthorController authorController;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(authorController).build();
+    }
+
+    @Test
+    void testGetAuthorsByIds() throws Exception {
+        Author author = new Author();
+        author.setId(2L);
+        author.setName("Author Two");
+
+        when(authorService.getAuthorsByIds(List.of(1L, 2L))).thenReturn(Map.of(2L, author));
+
+        mockMvc.perform(post("/api/authors/batch-get")
+                .contentType("application/json")
+                .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].found").value(false))
+                .andExpect(jsonPath("$[1].found").value(true))
+                .andExpect(jsonPath("$[1].item.name").value("Author Two"));
+    }
+
+    @Test
+    void testGetAuthorStats() throws Exception {
+        when(authorStatsService.getStats(1L))
+                .thenReturn(Optional.of(new AuthorStats(1L, 3, new Date(0), new Date(86_400_000L))));
+
+        mockMvc.perform(get("/api/authors/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorId").value(1))
+                .andExpect(jsonPath("$.bookCount").value(3))
+                .andExpect(jsonPath("$.lastPublicationDate").value(86_400_000L));
+    }
+
+    @Test
+    void testGetAuthorStatsForMissingAuthor() throws Exception {
+        when(authorStatsService.getStats(9L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/authors/9/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetAuthorStatsByIds() throws Exception {
+        when(authorStatsService.getStats(List.of(1L, 2L))).thenReturn(List.of(AuthorStats.empty(2L)));
+
+        mockMvc.perform(get("/api/authors/stats").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].authorId").value(2))
+                .andExpect(jsonPath("$[0].bookCount").value(0));
+    }
+
+    @Test
+    void testUpdateAuthorConcurrentlyModified() throws Exception {
+        Author existingAuthor = new Author();
+        existingAuthor.setId(1L);
+        existingAuthor.setName("John");
+        existingAuthor.setVersion(2L);
+
+        Author staleAuthor = new Author();
+        staleAuthor.setName("Johnny");
+        staleAuthor.setVersion(1L);
+
+        when(authorService.updateAuthor(eq(1L), any(Author.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Author.class, 1L));
+
+        mockMvc.perform(put("/api/authors/1")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(staleAuthor)))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
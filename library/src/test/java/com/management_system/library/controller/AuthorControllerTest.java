@@ -1,6 +1,8 @@
 package com.management_system.library.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -29,6 +31,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.management_system.library.model.Author;
 import com.management_system.library.service.AuthorService;
+import com.management_system.library.service.AuthorStatsService;
 
 @SpringBootTest
 @WebMvcTest(AuthorController.class)
@@ -40,6 +43,9 @@ public class AuthorControllerTest {
     @Mock
     private AuthorService authorService;
 
+    @Mock
+    private AuthorStatsService authorStatsService;
+
     @InjectMocks
     private AuthorController authorController;
 
@@ -105,6 +111,7 @@ public class AuthorControllerTest {
                 .andExpect(jsonPath("$.name").value("praveen"));
     }
     
+
     @Test
     void testUpdateAuthor() throws Exception {
         Author existingAuthor = new Author();
@@ -117,8 +124,7 @@ public class AuthorControllerTest {
         updatedAuthor.setName("John");
         updatedAuthor.setBirthdate(new Date());
 
-        when(authorService.getAuthorById(1L)).thenReturn(Optional.of(existingAuthor));
-        when(authorService.saveAuthor(any(Author.class))).thenReturn(updatedAuthor);
+        when(authorService.updateAuthor(eq(1L), any(Author.class), isNull())).thenReturn(Optional.of(updatedAuthor));
 
         mockMvc.perform(put("/api/authors/1")
                 .contentType("application/json")
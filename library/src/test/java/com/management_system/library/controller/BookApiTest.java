@@ -0,0 +1,265 @@
+package com.management_system.library.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.dto.ResourceVersion;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.BookService;
+
+/**
+ * Request handling of {@link BookController} against a mocked service, on a
+ * standalone MockMvc that needs no application context.
+ */
+public class BookApiTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BookService bookService;
+
+    @InjectMocks
+    private BookController bookController;
+
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(bookController).addInterceptors(new VaryByAccept()).build();
+    }
+
+    @Test
+    void testGetAllBooksAsSmile() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Book One");
+
+        when(bookService.getAllBooks()).thenReturn(List.of(book));
+
+        byte[] body = mockMvc.perform(get("/api/books").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode books = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(books.get(0).get("title").asText()).isEqualTo("Book One");
+    }
+
+    @Test
+    void testGetBooksPage() throws Exception {
+        Book book = new Book();
+        book.setId(11L);
+        book.setTitle("Book Eleven");
+
+        when(bookService.getBooksAfter(10L, 1)).thenReturn(new CursorPage<>(List.of(book), 11L));
+
+        mockMvc.perform(get("/api/books").param("after", "10").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.nextCursor").value(11));
+    }
+
+    @Test
+    void testFindBooksAfterADeletedCursorIsABadRequest() throws Exception {
+        when(bookService.findBooks(any(), eq(10L), eq(5)))
+                .thenThrow(new IllegalArgumentException("The cursor book 10 no longer exists"));
+
+        mockMvc.perform(get("/api/books").param("sort", "title").param("after", "10").param("limit", "5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The cursor book 10 no longer exists"));
+    }
+
+    @Test
+    void testGetBookByIdSendsValidators() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Book One");
+        book.setVersion(3L);
+        book.setLastModified(Instant.parse("2024-01-01T00:00:00Z"));
+
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Last-Modified", "Mon, 01 Jan 2024 00:00:00 GMT"));
+    }
+
+    @Test
+    void testGetBookByIdNotModified() throws Exception {
+        when(bookService.getBookVersion(1L))
+                .thenReturn(Optional.of(new ResourceVersion(3L, Instant.parse("2024-01-01T00:00:00Z"))));
+
+        mockMvc.perform(get("/api/books/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(bookService, never()).getBookById(1L);
+    }
+
+    @Test
+    void testGetBookByIdAsSmileHasItsOwnETag() throws Exception {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Book One");
+        book.setVersion(3L);
+
+        when(bookService.getBookVersion(1L)).thenReturn(Optional.of(new ResourceVersion(3L, null)));
+        when(bookService.getBookById(1L)).thenReturn(Optional.of(book));
+
+        mockMvc.perform(get("/api/books/1").accept("application/x-jackson-smile").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("ETag", "\"3-smile\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        mockMvc.perform(get("/api/books/1").accept("application/x-jackson-smile")
+                .header("If-None-Match", "\"3-smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-smile\""))
+                .andExpect(header().string("Vary", "Accept"));
+
+        mockMvc.perform(get("/api/books/1").accept("application/cbor;q=0.5, application/json;q=0.1"))
+                .andExpect(content().contentType("application/cbor"))
+                .andExpect(header().string("ETag", "\"3-cbor\""));
+    }
+
+    @Test
+    void testGetBooksByIdsKeepsRequestOrder() throws Exception {
+        Book book1 = new Book();
+        book1.setId(1L);
+        book1.setTitle("Book One");
+        Book book3 = new Book();
+        book3.setId(3L);
+        book3.setTitle("Book Three");
+
+        when(bookService.getBooksByIds(List.of(3L, 2L, 1L))).thenReturn(Map.of(1L, book1, 3L, book3));
+
+        mockMvc.perform(post("/api/books/batch-get")
+                .contentType("application/json")
+                .content("[3, 2, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].item.title").value("Book Three"))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].item").doesNotExist())
+                .andExpect(jsonPath("$[2].item.title").value("Book One"));
+    }
+
+    @Test
+    void testGetBooksByIdsRejectsOversizedRequests() throws Exception {
+        mockMvc.perform(post("/api/books/batch-get")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(new long[1001])))
+                .andExpect(status().isBadRequest());
+        verify(bookService, never()).getBooksByIds(anyList());
+    }
+
+    @Test
+    void testUpdateBookWithStaleIfMatch() throws Exception {
+        Book existingBook = new Book();
+        existingBook.setId(1L);
+        existingBook.setTitle("Old Title");
+        existingBook.setVersion(4L);
+
+        when(bookService.updateBook(eq(1L), any(Book.class), any())).thenAnswer(invocation -> {
+            Predicate<Long> precondition = invocation.getArgument(2);
+            if (!precondition.test(existingBook.getVersion())) {
+                throw new OptimisticLockingFailureException("Book 1 is at version 4");
+            }
+            return Optional.of(existingBook);
+        });
+
+        mockMvc.perform(put("/api/books/1")
+                .header("If-Match", "\"3\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(existingBook)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(bookService, never()).saveBook(any(Book.class));
+    }
+
+    @Test
+    void testUpdateBookAcceptsTheETagOfAnyFormat() throws Exception {
+        Book existingBook = new Book();
+        existingBook.setId(1L);
+        existingBook.setTitle("Old Title");
+        existingBook.setVersion(4L);
+
+        when(bookService.updateBook(eq(1L), any(Book.class), any())).thenAnswer(invocation -> {
+            Predicate<Long> precondition = invocation.getArgument(2);
+            return precondition.test(existingBook.getVersion()) ? Optional.of(existingBook) : Optional.empty();
+        });
+
+        mockMvc.perform(put("/api/books/1")
+                .header("If-Match", "\"3\", \"4-cbor\"")
+                .accept("application/x-jackson-smile")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(existingBook)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4-smile\""));
+    }
+
+    @Test
+    void testDeleteBooksByAuthorReportsTheCount() throws Exception {
+        when(bookService.deleteBooksByAuthor(7L)).thenReturn(3);
+
+        mockMvc.perform(delete("/api/books").param("authorId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(3));
+    }
+
+    @Test
+    void testDeleteBooksByIds() throws Exception {
+        when(bookService.deleteBooks(List.of(3L, 2L, 1L))).thenReturn(2);
+
+        mockMvc.perform(post("/api/books/batch-delete")
+                .contentType("application/json")
+                .content("[3, 2, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    void testDeleteBooksByIdsRejectsNullIds() throws Exception {
+        mockMvc.perform(post("/api/books/batch-delete")
+                .contentType("application/json")
+                .content("[1, null]"))
+                .andExpect(status().isBadRequest());
+        verify(bookService, never()).deleteBooks(anyList());
+    }
+}
@@ -1,6 +1,8 @@
 package com.management_system.library.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -8,6 +10,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -162,8 +165,7 @@ public class BookControllerTest {
         updatedBook.setIsbn("ISBN001");
         updatedBook.setPublicationDate(new Date());
 
-        when(bookService.getBookById(1L)).thenReturn(Optional.of(existingBook));
-        when(bookService.saveBook(any(Book.class))).thenReturn(updatedBook);
+        when(bookService.updateBook(eq(1L), any(Book.class), isNull())).thenReturn(Optional.of(updatedBook));
 
         mockMvc.perform(put("/api/books/1")
                 .contentType("application/json")
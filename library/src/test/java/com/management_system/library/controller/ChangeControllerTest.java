@@ -0,0 +1,106 @@
+package com.management_system.library.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.management_system.library.changes.ChangeStream;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+import com.management_system.library.service.ChangeFeedService;
+
+public class ChangeControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private ChangeStream changeStream;
+
+    @InjectMocks
+    private ChangeController changeController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(changeController).build();
+    }
+
+    @Test
+    void testGetChangesSince() throws Exception {
+        ChangeEvent event = new ChangeEvent(EntityType.BOOK, 7L, Operation.UPDATED, 3L, Instant.now());
+        event.setSeq(42L);
+        when(changeFeedService.getChangesAfter(41L, null)).thenReturn(new CursorPage<>(List.of(event), 42L));
+
+        mockMvc.perform(get("/api/changes").param("since", "41"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].seq").value(42))
+                .andExpect(jsonPath("$.items[0].entityType").value("BOOK"))
+                .andExpect(jsonPath("$.items[0].entityId").value(7))
+                .andExpect(jsonPath("$.items[0].operation").value("UPDATED"))
+                .andExpect(jsonPath("$.items[0].id").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(42));
+    }
+
+    @Test
+    void testGetChangesBeyondRetentionIsGone() throws Exception {
+        when(changeFeedService.isExpired(5L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/changes").param("since", "5"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void testGetChangesRejectsNegativeSince() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamResumesFromLastEventId() throws Exception {
+        when(changeStream.subscribe(17L)).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get("/api/changes").accept(MediaType.TEXT_EVENT_STREAM).header("Last-Event-ID", "17")
+                .param("since", "3"))
+                .andExpect(status().isOk());
+        verify(changeStream).subscribe(17L);
+    }
+
+    @Test
+    void testStreamStartsAtHeadByDefault() throws Exception {
+        when(changeFeedService.getHeadSeq()).thenReturn(99L);
+        when(changeStream.subscribe(99L)).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get("/api/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk());
+        verify(changeStream).subscribe(99L);
+    }
+
+    @Test
+    void testStreamRefusedWhenFull() throws Exception {
+        when(changeStream.subscribe(0L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/changes").accept(MediaType.TEXT_EVENT_STREAM).param("since", "0"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
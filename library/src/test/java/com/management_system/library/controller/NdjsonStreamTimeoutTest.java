@@ -0,0 +1,106 @@
+package com.management_system.library.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.config.StreamingConfig;
+import com.management_system.library.model.Book;
+import com.management_system.library.service.BookService;
+import com.management_system.library.service.BulkImportService;
+
+/**
+ * Streams books as NDJSON from a real Tomcat whose default async timeout is
+ * much shorter than the stream, to check that the export runs on its own
+ * {@code library.export.stream-timeout} instead.
+ */
+public class NdjsonStreamTimeoutTest {
+
+    private AnnotationConfigServletWebServerApplicationContext context;
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        bookService = mock(BookService.class);
+        context = new AnnotationConfigServletWebServerApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(
+                new MapPropertySource("test", Map.of("library.export.stream-timeout", "10s")));
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getBeanFactory().registerSingleton("bookService", bookService);
+        context.getBeanFactory().registerSingleton("bulkImportService", mock(BulkImportService.class));
+        context.getBeanFactory().registerSingleton("objectMapper", new ObjectMapper());
+        context.register(StreamingTestConfig.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void streamOutlastingTheContainerTimeoutIsSentWhole() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= 10; id++) {
+                Thread.sleep(300);
+                Book book = new Book();
+                book.setId(id);
+                consumer.accept(book);
+            }
+            return null;
+        }).when(bookService).streamAllBooks(any());
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + context.getWebServer().getPort() + "/api/books"))
+                .header("Accept", "application/x-ndjson")
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<String> lines = response.body().lines().toList();
+        assertThat(lines).hasSize(10);
+        assertThat(lines.get(9)).contains("\"id\":10");
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import({ StreamingConfig.class, BookController.class })
+    static class StreamingTestConfig {
+
+        @Bean
+        TomcatServletWebServerFactory webServerFactory() {
+            TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+            // Tomcat checks async timeouts about once a second; the stream below takes three.
+            factory.addConnectorCustomizers(connector -> connector.setAsyncTimeout(500));
+            return factory;
+        }
+
+        @Bean
+        DispatcherServlet dispatcherServlet() {
+            return new DispatcherServlet();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.management_system.library.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PoolSaturationLoggerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final PoolSaturationLogger logger = new PoolSaturationLogger();
+
+    @BeforeEach
+    void setUp() {
+        Gauge.builder("hikaricp.connections.active", active, AtomicInteger::get).tag("pool", "primary")
+                .register(registry);
+        Gauge.builder("hikaricp.connections.pending", pending, AtomicInteger::get).tag("pool", "primary")
+                .register(registry);
+        Gauge.builder("hikaricp.connections.max", () -> 10).tag("pool", "primary").register(registry);
+        Gauge.builder("hikaricp.connections.pending", () -> 0).tag("pool", "replica-1").register(registry);
+        ReflectionTestUtils.setField(logger, "registry", registry);
+    }
+
+    @Test
+    void poolIsSaturatedWhileAllConnectionsAreBusyAndThreadsWait() {
+        active.set(10);
+        logger.check();
+        assertThat(logger.saturatedPools()).isEmpty();
+
+        pending.set(3);
+        logger.check();
+        assertThat(logger.saturatedPools()).containsExactly("primary");
+
+        active.set(7);
+        pending.set(0);
+        logger.check();
+        assertThat(logger.saturatedPools()).isEmpty();
+    }
+}
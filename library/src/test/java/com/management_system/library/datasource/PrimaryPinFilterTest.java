@@ -0,0 +1,58 @@
+package com.management_system.library.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+public class PrimaryPinFilterTest {
+
+    private final PrimaryPinFilter filter = new PrimaryPinFilter(Duration.ofSeconds(5));
+
+    @Test
+    void writePinsRequestAndSetsCookie() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean pinned = pinnedDuring(new MockHttpServletRequest("PUT", "/api/books/1"), response);
+
+        assertThat(pinned).isTrue();
+        Cookie cookie = response.getCookie(PrimaryPinFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(Long.parseLong(cookie.getValue())).isGreaterThan(System.currentTimeMillis());
+        assertThat(PrimaryPin.isPinned()).isFalse();
+    }
+
+    @Test
+    void readAfterRecentWriteIsPinned() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.setCookies(new Cookie(PrimaryPinFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() + 5000)));
+
+        assertThat(pinnedDuring(request, new MockHttpServletResponse())).isTrue();
+    }
+
+    @Test
+    void readWithExpiredOrNoCookieUsesReplicas() throws Exception {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/books/1");
+        expired.setCookies(new Cookie(PrimaryPinFilter.COOKIE_NAME,
+                Long.toString(System.currentTimeMillis() - 1)));
+
+        assertThat(pinnedDuring(expired, new MockHttpServletResponse())).isFalse();
+        assertThat(pinnedDuring(new MockHttpServletRequest("GET", "/api/books/1"), new MockHttpServletResponse()))
+                .isFalse();
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(PrimaryPin.isPinned());
+        filter.doFilter(request, response, chain);
+        return pinned.get();
+    }
+}
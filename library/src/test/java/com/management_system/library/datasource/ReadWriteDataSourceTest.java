@@ -0,0 +1,112 @@
+package com.management_system.library.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routes transactions between two in-memory H2 databases standing in for the
+ * primary and a replica; each holds a single row naming itself.
+ */
+public class ReadWriteDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @AfterEach
+    void tearDown() {
+        PrimaryPin.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        ReadWriteDataSource dataSource = route(List.of(database("replica")));
+
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+        assertThat(dataSource.getReplicaPool().availableReplicas()).isEqualTo(1);
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        route(List.of(database("replica")));
+
+        assertThat(nodeIn(readWrite)).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedThreadReadsFromThePrimary() {
+        route(List.of(database("replica")));
+
+        PrimaryPin.pin();
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAreSpreadAcrossReplicas() {
+        route(List.of(database("replica-a"), database("replica-b")));
+
+        assertThat(List.of(nodeIn(readOnly), nodeIn(readOnly)))
+                .containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToThePrimary() {
+        DataSource broken = new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw new SQLException("Connection refused");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+        ReadWriteDataSource dataSource = route(List.of(broken));
+
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+        assertThat(dataSource.getReplicaPool().availableReplicas()).isZero();
+    }
+
+    private ReadWriteDataSource route(List<DataSource> replicas) {
+        ReadWriteDataSource dataSource = new ReadWriteDataSource(database("primary"), replicas, Duration.ofMinutes(1));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return dataSource;
+    }
+
+    private String nodeIn(TransactionTemplate transaction) {
+        return transaction.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(32))");
+        jdbc.update("delete from node");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,120 @@
+package com.management_system.library.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter(registry, Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testRecordsResponseSizeAndSqlStatementsByRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+            new SqlStatementCounter().inspect("select 1");
+            new SqlStatementCounter().inspect("select 2");
+            res.getOutputStream().write("{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertThat(registry.get("library.http.response.size").tag("uri", "/api/books/{id}").summary().totalAmount())
+                .isEqualTo(8);
+        assertThat(registry.get("library.http.request.sql.statements").tag("uri", "/api/books/{id}").summary()
+                .totalAmount()).isEqualTo(2);
+        assertThat(registry.find("library.http.errors").counter()).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":7}");
+    }
+
+    @Test
+    void testCountsErrorStatuses() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/99");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+            ((HttpServletResponse) res).setStatus(404);
+        });
+
+        assertThat(registry.get("library.http.errors").tag("status", "404").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCountsExceptions() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/books");
+
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("library.http.errors").tag("exception", "IllegalStateException").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testStreamingResponseIsRecordedWhenItCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/stream");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Runnable[] body = new Runnable[1];
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/stream");
+            new SqlStatementCounter().inspect("select 1");
+            req.startAsync();
+            body[0] = new RequestStatsTaskDecorator().decorate(() -> {
+                new SqlStatementCounter().inspect("select 2");
+                new SqlStatementCounter().inspect("select 3");
+                try {
+                    res.getOutputStream().write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        });
+        assertThat(registry.find("library.http.response.size").summary()).isNull();
+
+        Thread writer = new Thread(body[0]);
+        writer.start();
+        writer.join();
+        request.getAsyncContext().complete();
+
+        assertThat(registry.get("library.http.response.size").tag("uri", "/api/books/stream").summary()
+                .totalAmount()).isEqualTo(18);
+        assertThat(registry.get("library.http.request.sql.statements").tag("uri", "/api/books/stream").summary()
+                .totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void testStatementsOutsideRequestsAreIgnored() throws Exception {
+        new SqlStatementCounter().inspect("select 1");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/authors");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertThat(registry.get("library.http.request.sql.statements").summary().totalAmount()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.management_system.library.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class StartupTimesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StartupTimes startupTimes = new StartupTimes();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(startupTimes, "registry", registry);
+    }
+
+    @Test
+    void recordsTheUptimeWhenReady() {
+        startupTimes.ready();
+
+        TimeGauge ready = registry.get("library.startup.ready.time").timeGauge();
+        assertThat(ready.value(TimeUnit.MILLISECONDS)).isPositive();
+    }
+
+    @Test
+    void recordsOnlyTheFirstSuccessfulApiRequest() throws Exception {
+        startupTimes.requestHandled(handled("/actuator/health", null));
+        startupTimes.requestHandled(handled("/api/books", new IllegalStateException()));
+        assertThat(registry.find("library.startup.first.request.time").timeGauge()).isNull();
+
+        startupTimes.requestHandled(handled("/api/books", null));
+        double first = registry.get("library.startup.first.request.time").timeGauge().value(TimeUnit.MILLISECONDS);
+        Thread.sleep(5);
+        startupTimes.requestHandled(handled("/api/authors", null));
+
+        assertThat(first).isPositive();
+        assertThat(registry.get("library.startup.first.request.time").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isEqualTo(first);
+    }
+
+    private ServletRequestHandledEvent handled(String url, Throwable failure) {
+        return new ServletRequestHandledEvent(this, url, "127.0.0.1", "GET", "dispatcherServlet", null, null, 3,
+                failure, failure == null ? 200 : 500);
+    }
+}
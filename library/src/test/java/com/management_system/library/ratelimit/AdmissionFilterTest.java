@@ -0,0 +1,149 @@
+package com.management_system.library.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.management_system.library.controller.ChangeController;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+public class AdmissionFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PoolWaitMonitor poolWait = new PoolWaitMonitor(registry, Duration.ofMillis(50));
+    private final AdmissionFilter filter = new AdmissionFilter(2, 1, poolWait, new EventStreamRequests(handlers()),
+            registry);
+
+    @Test
+    void shedsRequestsBeyondTheLimitWith503() throws Exception {
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[2];
+        filter(request(), (req, res) -> {
+            inner[0] = filter(request(), (req2, res2) -> inner[1] = filter(request(), new MockFilterChain()));
+        });
+
+        assertThat(inner[0].getStatus()).isEqualTo(200);
+        assertThat(inner[1].getStatus()).isEqualTo(503);
+        assertThat(inner[1].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(filter.inFlight()).isZero();
+        assertThat(registry.counter("library.admission.shed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void lowersTheLimitWhileConnectionsAreSlowToAcquire() throws Exception {
+        Timer acquire = registry.timer("hikaricp.connections.acquire", "pool", "primary");
+        acquire.record(Duration.ofMillis(200));
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isTrue();
+
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[1];
+        filter(request(), (req, res) -> inner[0] = filter(request(), new MockFilterChain()));
+        assertThat(inner[0].getStatus()).isEqualTo(503);
+
+        acquire.record(Duration.ofMillis(1));
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isFalse();
+    }
+
+    @Test
+    void aPoolThatHandsOutNothingIsUnderPressure() throws Exception {
+        registry.timer("hikaricp.connections.acquire", "pool", "primary").record(Duration.ofMillis(1));
+        AtomicInteger pending = registry.gauge("hikaricp.connections.pending", new AtomicInteger(3));
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isFalse();
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isFalse();
+
+        Thread.sleep(60);
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isTrue();
+
+        pending.set(0);
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isFalse();
+    }
+
+    @Test
+    void acquireTimeoutsAreUnderPressure() {
+        Counter timeouts = registry.counter("hikaricp.connections.timeout", "pool", "primary");
+        poolWait.sample();
+
+        timeouts.increment();
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isTrue();
+
+        poolWait.sample();
+        assertThat(poolWait.underPressure()).isFalse();
+    }
+
+    @Test
+    void asyncRequestsHoldTheirSlotUntilComplete() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(true);
+
+        filter(request, (req, res) -> req.startAsync());
+        assertThat(filter.inFlight()).isEqualTo(1);
+
+        request.getAsyncContext().complete();
+        assertThat(filter.inFlight()).isZero();
+    }
+
+    @Test
+    void eventStreamsAreNotCounted() throws Exception {
+        MockHttpServletRequest stream = new MockHttpServletRequest("GET", "/api/changes");
+        stream.addHeader(HttpHeaders.ACCEPT, "text/event-stream");
+        int[] seen = new int[1];
+
+        filter(stream, (req, res) -> seen[0] = filter.inFlight());
+
+        assertThat(seen[0]).isZero();
+    }
+
+    @Test
+    void otherRequestsAskingForAnEventStreamAreCounted() throws Exception {
+        MockHttpServletRequest page = new MockHttpServletRequest("GET", "/api/changes");
+        MockHttpServletRequest book = request();
+        book.addHeader(HttpHeaders.ACCEPT, "text/event-stream");
+        int[] seen = new int[2];
+
+        filter(page, (req, res) -> seen[0] = filter.inFlight());
+        filter(book, (req, res) -> seen[1] = filter.inFlight());
+
+        assertThat(seen).containsExactly(1, 1);
+    }
+
+    private static RequestMappingHandlerMapping handlers() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("changeController", ChangeController.class);
+        RequestMappingHandlerMapping handlers = new RequestMappingHandlerMapping();
+        handlers.setApplicationContext(context);
+        handlers.afterPropertiesSet();
+        return handlers;
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/books/1");
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, FilterChain chain) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return response;
+    }
+}
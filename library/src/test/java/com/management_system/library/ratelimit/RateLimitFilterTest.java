@@ -0,0 +1,75 @@
+package com.management_system.library.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(1, 20, "X-API-Key", Set.of("reports"),
+            new RequestCosts(10, 20, 5), registry);
+
+    @Test
+    void refusesWith429AndRetryAfterOnceTheBucketIsEmpty() throws Exception {
+        assertThat(filter(get("/api/books", "10.0.0.1")).getStatus()).isEqualTo(200);
+        assertThat(filter(get("/api/books", "10.0.0.1")).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse refused = filter(get("/api/books", "10.0.0.1"));
+
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(registry.counter("library.ratelimit.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void pagedReadsCostOneToken() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MockHttpServletRequest request = get("/api/books", "10.0.0.2");
+            request.setParameter("limit", "50");
+            assertThat(filter(request).getStatus()).isEqualTo(200);
+        }
+        assertThat(filter(get("/api/books/1", "10.0.0.2")).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void clientsAreToldApartByApiKeyThenAddress() throws Exception {
+        MockHttpServletRequest keyed = new MockHttpServletRequest("POST", "/api/books/bulk");
+        keyed.setRemoteAddr("10.0.0.3");
+        keyed.addHeader("X-API-Key", "reports");
+        assertThat(filter(keyed).getStatus()).isEqualTo(200);
+
+        assertThat(filter(get("/api/books", "10.0.0.3")).getStatus()).isEqualTo(200);
+        assertThat(filter(get("/api/books", "10.0.0.4")).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void unknownApiKeysAreLimitedByAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = get("/api/books", "10.0.0.5");
+            request.addHeader("X-API-Key", "made-up-" + i);
+            assertThat(filter(request).getStatus()).isEqualTo(200);
+        }
+        assertThat(filter(get("/api/books", "10.0.0.5")).getStatus()).isEqualTo(429);
+    }
+
+    private static MockHttpServletRequest get(String uri, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,74 @@
+package com.management_system.library.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstThenRefillsAtTheRate() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = 7 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryTake(1, now)).isZero();
+        }
+        assertThat(bucket.tryTake(1, now)).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryTake(1, now + SECOND / 10)).isZero();
+        assertThat(bucket.available(now + SECOND)).isEqualTo(5);
+    }
+
+    @Test
+    void expensiveRequestsTakeMoreTokens() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+
+        assertThat(bucket.tryTake(4, 0)).isZero();
+        assertThat(bucket.available(0)).isEqualTo(1);
+        assertThat(bucket.tryTake(4, 0)).isEqualTo(3 * SECOND / 10);
+        assertThat(bucket.available(0)).isEqualTo(1);
+    }
+
+    @Test
+    void costAboveCapacityIsChargedTheCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+
+        assertThat(bucket.tryTake(50, 0)).isZero();
+        assertThat(bucket.tryTake(1, 0)).isPositive();
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 1000);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryTake(1, 0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(1000);
+    }
+}
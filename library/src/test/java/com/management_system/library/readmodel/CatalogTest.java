@@ -0,0 +1,127 @@
+package com.management_system.library.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+public class CatalogTest {
+
+    private final Catalog catalog = new Catalog(4);
+
+    @Test
+    void loadSortsEachAuthorsBookIds() {
+        catalog.load(book(30, 1, 0));
+        catalog.load(book(10, 1, 0));
+        catalog.load(book(20, 2, 0));
+        catalog.finishLoad();
+
+        assertThat(catalog.bookIdsOf(1)).containsExactly(10, 30);
+        assertThat(catalog.bookIdsOf(2)).containsExactly(20);
+        assertThat(catalog.bookIdsOf(3)).isEmpty();
+        assertThat(catalog.bookCount()).isEqualTo(3);
+    }
+
+    @Test
+    void movesABookToItsNewAuthor() {
+        catalog.putBook(book(10, 1, 0));
+        catalog.putBook(book(20, 1, 0));
+
+        catalog.putBook(book(10, 2, 1));
+
+        assertThat(catalog.bookIdsOf(1)).containsExactly(20);
+        assertThat(catalog.bookIdsOf(2)).containsExactly(10);
+        assertThat(catalog.book(10).authorId()).isEqualTo(2);
+    }
+
+    @Test
+    void keepsTheNewerVersionOfARow() {
+        catalog.putBook(book(10, 1, 3));
+        catalog.putBook(book(10, 2, 2));
+        catalog.putAuthor(author(1, "New name", 5));
+        catalog.putAuthor(author(1, "Old name", 4));
+
+        assertThat(catalog.book(10).version()).isEqualTo(3);
+        assertThat(catalog.bookIdsOf(1)).containsExactly(10);
+        assertThat(catalog.name(catalog.author(1))).isEqualTo("New name");
+    }
+
+    @Test
+    void removingAnAuthorRemovesTheirBooks() {
+        catalog.putAuthor(author(1, "Ann", 0));
+        catalog.putBook(book(10, 1, 0));
+        catalog.putBook(book(20, 2, 0));
+
+        catalog.removeAuthor(1);
+
+        assertThat(catalog.author(1)).isNull();
+        assertThat(catalog.book(10)).isNull();
+        assertThat(catalog.bookIdsOf(1)).isEmpty();
+        assertThat(catalog.book(20)).isNotNull();
+    }
+
+    @Test
+    void removingABookLeavesTheAuthorsOtherBooks() {
+        catalog.putBook(book(10, 1, 0));
+        catalog.putBook(book(20, 1, 0));
+
+        catalog.removeBook(10);
+        catalog.removeBook(99);
+
+        assertThat(catalog.book(10)).isNull();
+        assertThat(catalog.bookIdsOf(1)).containsExactly(20);
+    }
+
+    @Test
+    void authorsWithTheSameNameShareOneDictionaryEntry() {
+        catalog.putAuthor(author(1, "Ann Smith", 0));
+        catalog.putAuthor(author(2, "Ann Smith", 0));
+
+        assertThat(catalog.author(1).nameCode()).isEqualTo(catalog.author(2).nameCode());
+        assertThat(catalog.nameCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsConvertBackToEqualEntities() {
+        Book book = book(10, 1, 7);
+        book.setPublicationDate(new Date(86_400_000L));
+        book.setLastModified(Instant.parse("2024-05-01T10:15:30.123456789Z"));
+        catalog.putBook(book);
+        Author author = new Author();
+        author.setId(1L);
+
+        Book restored = catalog.book(10).toBook(author);
+
+        assertThat(restored.getTitle()).isEqualTo("Book 10");
+        assertThat(restored.getIsbn()).isEqualTo(book.getIsbn());
+        assertThat(restored.getPublicationDate()).isEqualTo(book.getPublicationDate());
+        assertThat(restored.getVersion()).isEqualTo(7);
+        assertThat(restored.getLastModified()).isEqualTo(book.getLastModified());
+        assertThat(restored.getAuthor()).isSameAs(author);
+    }
+
+    private static Book book(long id, long authorId, long version) {
+        Author author = new Author();
+        author.setId(authorId);
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Book " + id);
+        book.setIsbn("978-" + id);
+        book.setAuthor(author);
+        book.setVersion(version);
+        return book;
+    }
+
+    private static Author author(long id, String name, long version) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setVersion(version);
+        return author;
+    }
+}
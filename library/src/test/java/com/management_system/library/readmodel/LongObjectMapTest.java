@@ -0,0 +1,64 @@
+package com.management_system.library.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LongObjectMapTest {
+
+    @Test
+    void agreesWithAHashMapThroughGrowthAndRemovals() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            // a small key range so that probes collide and removals shift runs back
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.get(key));
+        }
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void keepsKeysWhoseSlotsWrapAround() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for (long key = 1; key <= 7; key++) {
+            map.put(key << 32, key);
+        }
+
+        map.remove(3L << 32);
+
+        assertThat(map.get(3L << 32)).isNull();
+        for (long key : new long[] { 1, 2, 4, 5, 6, 7 }) {
+            assertThat(map.get(key << 32)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void rejectsKeysThatAreNotPositive() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertThatThrownBy(() -> map.put(0, "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(-5, "x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> map.put(5, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(map.get(0)).isNull();
+        assertThat(map.remove(0)).isNull();
+    }
+}
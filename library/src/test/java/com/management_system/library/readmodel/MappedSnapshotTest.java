@@ -0,0 +1,138 @@
+package com.management_system.library.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.management_system.library.dto.SnapshotReport;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+public class MappedSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        SnapshotReport report = write(file, 42);
+
+        MappedSnapshot snapshot = MappedSnapshot.open(file);
+
+        assertThat(report.authors()).isEqualTo(3);
+        assertThat(report.books()).isEqualTo(4);
+        assertThat(report.bytes()).isEqualTo(Files.size(file));
+        assertThat(snapshot.position()).isEqualTo(42);
+        BookRow book = snapshot.book(11);
+        assertThat(book.title()).isEqualTo("Élan");
+        assertThat(book.isbn()).isEqualTo("978-11");
+        assertThat(book.authorId()).isEqualTo(1);
+        assertThat(book.publicationDate()).isEqualTo(86_400_000L);
+        assertThat(book.version()).isEqualTo(2);
+        assertThat(BookRow.instant(book.lastModifiedNanos())).isEqualTo(Instant.parse("2024-05-01T10:15:30.5Z"));
+        assertThat(snapshot.book(13).title()).isNull();
+        assertThat(snapshot.book(13).isbn()).isEqualTo("978-13");
+        assertThat(snapshot.book(12)).isNull();
+        assertThat(snapshot.name(snapshot.author(2).nameCode())).isEqualTo("Bo");
+        assertThat(snapshot.author(4)).isNull();
+    }
+
+    @Test
+    void listsEachAuthorsBooksInIdOrder() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, 0);
+
+        MappedSnapshot snapshot = MappedSnapshot.open(file);
+
+        assertThat(snapshot.bookIdsOf(1)).containsExactly(11, 14);
+        assertThat(snapshot.bookIdsOf(2)).isEmpty();
+        assertThat(snapshot.bookIdsOf(3)).containsExactly(10, 13);
+        assertThat(snapshot.bookIdsOf(4)).isNull();
+    }
+
+    @Test
+    void catalogChangesShadowTheSnapshot() throws IOException {
+        Path file = directory.resolve("catalog.snapshot");
+        write(file, 0);
+        Catalog catalog = new Catalog(4, MappedSnapshot.open(file));
+
+        catalog.putBook(book(14, 2, "Moved", 3));
+        catalog.removeBook(11);
+        catalog.removeAuthor(3);
+        catalog.putAuthor(author(2, "Bo Renamed", 1));
+
+        assertThat(catalog.book(14).authorId()).isEqualTo(2);
+        assertThat(catalog.bookIdsOf(1)).isEmpty();
+        assertThat(catalog.bookIdsOf(2)).containsExactly(14);
+        assertThat(catalog.book(11)).isNull();
+        assertThat(catalog.author(3)).isNull();
+        assertThat(catalog.book(10)).isNull();
+        assertThat(catalog.bookIdsOf(3)).isEmpty();
+        assertThat(catalog.name(catalog.author(2))).isEqualTo("Bo Renamed");
+        assertThat(catalog.name(catalog.author(1))).isEqualTo("Ann");
+    }
+
+    @Test
+    void rejectsAFileInAnotherFormat() throws IOException {
+        Path file = directory.resolve("other.snapshot");
+        Files.write(file, new byte[128]);
+
+        assertThatThrownBy(() -> MappedSnapshot.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void requiresAscendingIds() throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(directory.resolve("catalog.snapshot"), 0)) {
+            writer.addAuthor(author(2, "Bo", 0));
+
+            assertThatThrownBy(() -> writer.addAuthor(author(1, "Ann", 0)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    private static SnapshotReport write(Path file, long position) throws IOException {
+        try (SnapshotWriter writer = new SnapshotWriter(file, position)) {
+            writer.addAuthor(author(1, "Ann", 0));
+            writer.addAuthor(author(2, "Bo", 0));
+            writer.addAuthor(author(3, "Cy", 0));
+            writer.addBook(book(10, 3, "Ten", 0));
+            Book elan = book(11, 1, "Élan", 2);
+            elan.setPublicationDate(new Date(86_400_000L));
+            elan.setLastModified(Instant.parse("2024-05-01T10:15:30.5Z"));
+            writer.addBook(elan);
+            writer.addBook(book(13, 3, null, 0));
+            writer.addBook(book(14, 1, "Fourteen", 0));
+            return writer.finish();
+        }
+    }
+
+    private static Book book(long id, long authorId, String title, long version) {
+        Author author = new Author();
+        author.setId(authorId);
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setIsbn("978-" + id);
+        book.setAuthor(author);
+        book.setVersion(version);
+        return book;
+    }
+
+    private static Author author(long id, String name, long version) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        author.setVersion(version);
+        return author;
+    }
+}
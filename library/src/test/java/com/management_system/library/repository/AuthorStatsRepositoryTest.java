@@ -0,0 +1,141 @@
+package com.management_system.library.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import com.management_system.library.model.Author;
+import com.management_system.library.model.AuthorStats;
+import com.management_system.library.model.Book;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs the author statistics maintenance statements against an in-memory H2
+ * database and checks the rows against what a full recount gives.
+ */
+public class AuthorStatsRepositoryTest {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private AuthorStatsRepository statsRepository;
+    private Author author;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(AuthorStats.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:author-stats;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        statsRepository = new JpaRepositoryFactory(entityManager).getRepository(AuthorStatsRepository.class);
+        author = inTransaction(() -> {
+            Author created = new Author();
+            created.setName("Author");
+            created.setBirthdate(new Date());
+            entityManager.persist(created);
+            return created;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    void addBooksCreatesAndWidensTheRow() {
+        inTransaction(() -> statsRepository.addBooks(author.getId(), 1, date(5), date(5)));
+        inTransaction(() -> statsRepository.addBooks(author.getId(), 2, date(3), date(4)));
+        inTransaction(() -> statsRepository.addBooks(author.getId(), 1, date(9), date(9)));
+
+        AuthorStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(4);
+        assertThat(stats.getFirstPublicationDate()).hasSameTimeAs(date(3));
+        assertThat(stats.getLastPublicationDate()).hasSameTimeAs(date(9));
+    }
+
+    @Test
+    void removingTheLatestBookRecomputesTheRange() {
+        Book first = book("A", date(1));
+        Book last = book("B", date(7));
+        book("C", date(4));
+        inTransaction(() -> statsRepository.addBooks(author.getId(), 3, date(1), date(7)));
+
+        inTransaction(() -> {
+            entityManager.remove(entityManager.find(Book.class, last.getId()));
+            entityManager.flush();
+            return statsRepository.removeBook(author.getId(), date(7));
+        });
+        assertThat(stats().getBookCount()).isEqualTo(2);
+        assertThat(stats().getFirstPublicationDate()).hasSameTimeAs(date(1));
+        assertThat(stats().getLastPublicationDate()).hasSameTimeAs(date(4));
+
+        inTransaction(() -> {
+            entityManager.remove(entityManager.find(Book.class, first.getId()));
+            entityManager.flush();
+            return statsRepository.removeBook(author.getId(), date(1));
+        });
+        assertThat(stats().getBookCount()).isEqualTo(1);
+        assertThat(stats().getFirstPublicationDate()).hasSameTimeAs(date(4));
+    }
+
+    @Test
+    void rebuildRecountsFromTheBookTable() {
+        book("A", date(2));
+        book("B", date(6));
+        inTransaction(() -> statsRepository.addBooks(author.getId(), 5, date(1), date(1)));
+
+        inTransaction(() -> {
+            statsRepository.deleteRange(0L, author.getId());
+            return statsRepository.insertComputed(List.of(author.getId()));
+        });
+
+        AuthorStats stats = stats();
+        assertThat(stats.getBookCount()).isEqualTo(2);
+        assertThat(stats.getFirstPublicationDate()).hasSameTimeAs(date(2));
+        assertThat(stats.getLastPublicationDate()).hasSameTimeAs(date(6));
+    }
+
+    private AuthorStats stats() {
+        entityManager.clear();
+        return statsRepository.findById(author.getId()).orElseThrow();
+    }
+
+    private Book book(String isbn, Date publicationDate) {
+        return inTransaction(() -> {
+            Book book = new Book();
+            book.setTitle("Book " + isbn);
+            book.setIsbn(isbn);
+            book.setPublicationDate(publicationDate);
+            book.setAuthor(entityManager.find(Author.class, author.getId()));
+            entityManager.persist(book);
+            return book;
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        entityManager.getTransaction().begin();
+        T result = work.get();
+        entityManager.getTransaction().commit();
+        return result;
+    }
+
+    private static Date date(int day) {
+        return new Date(day * 86_400_000L);
+    }
+}
@@ -0,0 +1,151 @@
+package com.management_system.library.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.AuthorStats;
+import com.management_system.library.model.Book;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs the filtered book listing against an in-memory H2 database and pages
+ * through it with the keyset cursor.
+ */
+public class BookSpecificationsTest {
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BookRepository bookRepository;
+    private Author tolkien;
+    private Author austen;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(AuthorStats.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:book-filters;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+        bookRepository = new JpaRepositoryFactory(entityManager).getRepository(BookRepository.class);
+        tolkien = author("Tolkien");
+        austen = author("Austen");
+        book("The Hobbit", tolkien, 1937);
+        book("The Fellowship of the Ring", tolkien, 1954);
+        book("The Two Towers", tolkien, 1954);
+        book("Pride and Prejudice", austen, 1813);
+        book("Emma", austen, 1815);
+        book("100% Fiction", austen, 1900);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    void filtersByPublicationRangeAndAuthor() {
+        BookQuery query = new BookQuery(year(1815), year(1954), List.of(austen.getId(), tolkien.getId()), null,
+                null, BookQuery.SortKey.PUBLICATION_DATE, false);
+
+        assertThat(titles(query, 10)).containsExactly("Emma", "100% Fiction", "The Hobbit");
+    }
+
+    @Test
+    void matchesTitlesByPrefixAndByContainedTextIgnoringCase() {
+        BookQuery prefix = new BookQuery(null, null, null, null, "The ", BookQuery.SortKey.TITLE, false);
+        BookQuery contains = new BookQuery(null, null, null, "RING", null, BookQuery.SortKey.TITLE, false);
+        BookQuery wildcard = new BookQuery(null, null, null, "0%", null, BookQuery.SortKey.TITLE, false);
+
+        assertThat(titles(prefix, 10)).containsExactly("The Fellowship of the Ring", "The Hobbit", "The Two Towers");
+        assertThat(titles(contains, 10)).containsExactly("The Fellowship of the Ring");
+        assertThat(titles(wildcard, 10)).containsExactly("100% Fiction");
+    }
+
+    @Test
+    void pagesThroughTiesInBothDirections() {
+        BookQuery newest = BookQuery.ALL.sortedBy("-publicationDate").orElseThrow();
+
+        assertThat(titles(newest, 2)).containsExactly("The Two Towers", "The Fellowship of the Ring", "The Hobbit",
+                "100% Fiction", "Emma", "Pride and Prejudice");
+        assertThat(titles(BookQuery.ALL.sortedBy("title").orElseThrow(), 4)).containsExactly("100% Fiction", "Emma",
+                "Pride and Prejudice", "The Fellowship of the Ring", "The Hobbit", "The Two Towers");
+    }
+
+    @Test
+    void rejectsUnknownSortProperties() {
+        assertThat(BookQuery.ALL.sortedBy("isbn")).isEmpty();
+        assertThat(BookQuery.ALL.sortedBy(null)).contains(BookQuery.ALL);
+    }
+
+    /** Titles of every matching book, read page by page. */
+    private List<String> titles(BookQuery query, int pageSize) {
+        List<String> titles = new ArrayList<>();
+        Book after = null;
+        while (true) {
+            Specification<Book> spec = BookSpecifications.matching(query);
+            if (after != null) {
+                spec = spec.and(BookSpecifications.after(query, after));
+            }
+            List<Book> page = bookRepository.findBy(spec,
+                    q -> q.limit(pageSize).sortBy(BookSpecifications.order(query)).all());
+            page.forEach(book -> titles.add(book.getTitle()));
+            if (page.size() < pageSize) {
+                return titles;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    private Author author(String name) {
+        return inTransaction(() -> {
+            Author author = new Author();
+            author.setName(name);
+            author.setBirthdate(new Date());
+            entityManager.persist(author);
+            return author;
+        });
+    }
+
+    private void book(String title, Author author, int year) {
+        inTransaction(() -> {
+            Book book = new Book();
+            book.setTitle(title);
+            book.setIsbn(title);
+            book.setPublicationDate(year(year));
+            book.setAuthor(entityManager.find(Author.class, author.getId()));
+            entityManager.persist(book);
+            return book;
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        entityManager.getTransaction().begin();
+        T result = work.get();
+        entityManager.getTransaction().commit();
+        return result;
+    }
+
+    private static Date year(int year) {
+        return new Date((year - 1970) * 31_556_952_000L);
+    }
+}
@@ -0,0 +1,327 @@
+package com.management_system.library.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.dto.BookQuery.SortKey;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.AuthorStats;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeSequence;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Applies the H2 migrations and checks them against the entity mappings.
+ * Then runs every repository query method, and each shape of the filtered
+ * book listing, and explains the SQL Hibernate sent for it, so a migration
+ * that misses an index fails here as a full table scan.
+ */
+public class MigratedSchemaTest {
+
+    private static final String URL = "jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1";
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* ([\\w.]+)\\.tableScan");
+
+    /** Queries that read the whole table by design, such as the exports. */
+    private static final Set<String> SCANS = Set.of("BookRepository.findAll", "BookRepository.streamAll",
+            "AuthorRepository.streamAll", "BookSpecifications.titleContains");
+
+    private Connection connection;
+    private final List<String> prepared = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.createStatement().execute("drop all objects");
+        connection.close();
+    }
+
+    @Test
+    void migratedSchemaMatchesTheEntities() {
+        validateEntities();
+    }
+
+    @Test
+    void databaseCreatedBeforeMigrationsIsBaselinedAndUpgraded() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+            statement.execute("create table author (id bigint generated by default as identity, "
+                    + "name varchar(255) not null, birthdate timestamp(6) not null, primary key (id))");
+            statement.execute("create table book (id bigint generated by default as identity, "
+                    + "title varchar(255) not null, isbn varchar(255) not null unique, "
+                    + "publication_date timestamp(6) not null, author_id bigint not null references author (id), "
+                    + "primary key (id))");
+            statement.execute("insert into author (name, birthdate) values ('Frank Herbert', '1920-10-08')");
+            statement.execute("insert into book (title, isbn, publication_date, author_id) "
+                    + "values ('Dune', '978-0-441-17271-9', '1965-08-01', 1)");
+        }
+
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        validateEntities();
+        try (Statement statement = connection.createStatement();
+                ResultSet book = statement.executeQuery("select b.version, s.book_count from book b "
+                        + "join author_stats s on s.author_id = b.author_id")) {
+            assertThat(book.next()).isTrue();
+            assertThat(book.getLong(1)).isZero();
+            assertThat(book.wasNull()).isFalse();
+            assertThat(book.getLong(2)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void noRepositoryQueryScansAfterMigration() throws Exception {
+        Map<String, List<String>> statements = runRepositoryQueries();
+        assertThat(statements).allSatisfy((method, sqls) -> assertThat(sqls).as(method).isNotEmpty());
+
+        Map<String, List<String>> scanning = new TreeMap<>();
+        statements.forEach((method, sqls) -> {
+            if (!SCANS.contains(method)) {
+                sqls.forEach(sql -> {
+                    List<String> tables = fullScans(sql);
+                    if (!tables.isEmpty()) {
+                        scanning.computeIfAbsent(method, m -> new ArrayList<>()).add(tables + " in " + sql);
+                    }
+                });
+            }
+        });
+
+        assertThat(scanning).isEmpty();
+    }
+
+    @Test
+    void reportsAQueryWithoutAnIndex() {
+        assertThat(fullScans("select b.id from book b where b.version = ?")).containsExactly("PUBLIC.BOOK");
+    }
+
+    @Test
+    void everyRepositoryQueryMethodIsExplained() throws Exception {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+        Set<String> declared = new TreeSet<>();
+        for (var candidate : scanner.findCandidateComponents("com.management_system.library.repository")) {
+            Class<?> repository = Class.forName(candidate.getBeanClassName());
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(method -> !method.isDefault() && !method.isSynthetic())
+                    .map(Method::getName)
+                    .forEach(name -> declared.add(repository.getSimpleName() + "." + name));
+        }
+        Set<String> explained = new TreeSet<>(runRepositoryQueries().keySet());
+        explained.removeIf(method -> method.startsWith("BookSpecifications."));
+
+        assertThat(explained).isEqualTo(declared);
+    }
+
+    /**
+     * Runs each query method once, each in a transaction that is rolled back,
+     * and returns the statements Hibernate prepared for it.
+     */
+    private Map<String, List<String>> runRepositoryQueries() {
+        Map<String, List<String>> statements = new TreeMap<>();
+        try (SessionFactory sessionFactory = entities()
+                .setStatementInspector(sql -> {
+                    prepared.add(sql);
+                    return sql;
+                })
+                .buildSessionFactory();
+                EntityManager entityManager = sessionFactory.createEntityManager()) {
+            JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+            BookRepository books = factory.getRepository(BookRepository.class);
+            AuthorRepository authors = factory.getRepository(AuthorRepository.class);
+            AuthorStatsRepository stats = factory.getRepository(AuthorStatsRepository.class);
+            ChangeEventRepository changes = factory.getRepository(ChangeEventRepository.class);
+            ChangeSequenceRepository sequence = factory.getRepository(ChangeSequenceRepository.class);
+            List<Long> ids = List.of(1L, 2L);
+            List<String> isbns = List.of("978-0-441-17271-9", "978-0-261-10221-7");
+            Limit limit = Limit.of(100);
+            Date date = new Date();
+
+            QueryRun run = (method, query) -> {
+                // Spring Data refuses to stream outside a transaction it can see.
+                entityManager.getTransaction().begin();
+                TransactionSynchronizationManager.setActualTransactionActive(true);
+                prepared.clear();
+                try {
+                    query.run();
+                    entityManager.flush();
+                } finally {
+                    TransactionSynchronizationManager.setActualTransactionActive(false);
+                    entityManager.getTransaction().rollback();
+                    entityManager.clear();
+                }
+                statements.put(method, List.copyOf(prepared));
+            };
+
+            run.run("BookRepository.findAll", books::findAll);
+            run.run("BookRepository.findByAuthorId", () -> books.findByAuthorId(1L));
+            run.run("BookRepository.findByIdIn", () -> books.findByIdIn(ids));
+            run.run("BookRepository.findByIdGreaterThanOrderByIdAsc",
+                    () -> books.findByIdGreaterThanOrderByIdAsc(1L, limit));
+            run.run("BookRepository.streamAll", () -> {
+                try (Stream<Book> stream = books.streamAll()) {
+                    stream.forEach(book -> { });
+                }
+            });
+            run.run("BookRepository.findSummariesAfter", () -> books.findSummariesAfter(1L, limit));
+            run.run("BookRepository.findSummariesByIsbnIn", () -> books.findSummariesByIsbnIn(isbns));
+            run.run("BookRepository.findSummariesByIdIn", () -> books.findSummariesByIdIn(ids));
+            run.run("BookRepository.findPlacementById", () -> books.findPlacementById(1L));
+            run.run("BookRepository.findIdsByAuthorId", () -> books.findIdsByAuthorId(1L));
+            run.run("BookRepository.lockIdsByAuthorId", () -> books.lockIdsByAuthorId(1L));
+            run.run("BookRepository.lockAuthorIdsByIdIn", () -> books.lockAuthorIdsByIdIn(ids));
+            run.run("BookRepository.deleteByAuthor", () -> books.deleteByAuthor(1L));
+            run.run("BookRepository.deleteByIds", () -> books.deleteByIds(ids));
+            run.run("BookRepository.findIdsByIsbnIn", () -> books.findIdsByIsbnIn(isbns));
+            run.run("BookRepository.findExistingIsbns", () -> books.findExistingIsbns(isbns));
+            run.run("BookRepository.findVersionById", () -> books.findVersionById(1L));
+
+            run.run("AuthorRepository.findByIdIn", () -> authors.findByIdIn(ids));
+            run.run("AuthorRepository.findByIdGreaterThanOrderByIdAsc",
+                    () -> authors.findByIdGreaterThanOrderByIdAsc(1L, limit));
+            run.run("AuthorRepository.streamAll", () -> {
+                try (Stream<Author> stream = authors.streamAll()) {
+                    stream.forEach(author -> { });
+                }
+            });
+            run.run("AuthorRepository.findSummariesAfter", () -> authors.findSummariesAfter(1L, limit));
+            run.run("AuthorRepository.findIdsAfter", () -> authors.findIdsAfter(1L, limit));
+            run.run("AuthorRepository.findExistingIds", () -> authors.findExistingIds(ids));
+            run.run("AuthorRepository.findVersionById", () -> authors.findVersionById(1L));
+            run.run("AuthorRepository.deleteAuthor", () -> authors.deleteAuthor(1L));
+
+            run.run("AuthorStatsRepository.findByAuthorIdIn", () -> stats.findByAuthorIdIn(ids));
+            run.run("AuthorStatsRepository.findByAuthorIdGreaterThanOrderByAuthorIdAsc",
+                    () -> stats.findByAuthorIdGreaterThanOrderByAuthorIdAsc(1L, limit));
+            run.run("AuthorStatsRepository.addBooks", () -> stats.addBooks(1L, 1, date, date));
+            run.run("AuthorStatsRepository.removeBook", () -> stats.removeBook(1L, date));
+            run.run("AuthorStatsRepository.deleteByAuthor", () -> stats.deleteByAuthor(1L));
+            run.run("AuthorStatsRepository.deleteByAuthors", () -> stats.deleteByAuthors(ids));
+            run.run("AuthorStatsRepository.deleteRange", () -> stats.deleteRange(1L, 500L));
+            run.run("AuthorStatsRepository.insertComputed", () -> stats.insertComputed(ids));
+
+            run.run("ChangeEventRepository.findBySeqIsNullOrderByIdAsc",
+                    () -> changes.findBySeqIsNullOrderByIdAsc(Limit.of(500)));
+            run.run("ChangeEventRepository.findBySeqGreaterThanOrderBySeqAsc",
+                    () -> changes.findBySeqGreaterThanOrderBySeqAsc(1L, limit));
+            run.run("ChangeEventRepository.findOldestSeq", changes::findOldestSeq);
+            run.run("ChangeEventRepository.findNewestSeq", changes::findNewestSeq);
+            run.run("ChangeEventRepository.findNewestSeqBefore", () -> changes.findNewestSeqBefore(Instant.now()));
+            run.run("ChangeEventRepository.deleteUpTo", () -> changes.deleteUpTo(1L));
+
+            run.run("ChangeSequenceRepository.lockById", () -> sequence.lockById(ChangeSequence.ID));
+
+            Book cursor = new Book();
+            cursor.setId(1L);
+            cursor.setPublicationDate(date);
+            run.run("BookSpecifications.publishedBetween", () -> listBooks(books,
+                    new BookQuery(date, date, null, null, null, SortKey.PUBLICATION_DATE, false), null));
+            run.run("BookSpecifications.authorIds", () -> listBooks(books,
+                    new BookQuery(null, null, ids, null, null, SortKey.PUBLICATION_DATE, false), null));
+            run.run("BookSpecifications.titlePrefix", () -> listBooks(books,
+                    new BookQuery(null, null, null, null, "Du", SortKey.TITLE, false), null));
+            run.run("BookSpecifications.after", () -> listBooks(books,
+                    new BookQuery(null, null, null, null, null, SortKey.PUBLICATION_DATE, false), cursor));
+            run.run("BookSpecifications.titleContains", () -> listBooks(books,
+                    new BookQuery(null, null, null, "une", null, SortKey.ID, false), null));
+        }
+        return statements;
+    }
+
+    /** Reads a page of the filtered listing the way {@code BookService} does. */
+    private static void listBooks(BookRepository books, BookQuery query, Book cursor) {
+        Specification<Book> spec = BookSpecifications.matching(query);
+        if (cursor != null) {
+            spec = spec.and(BookSpecifications.after(query, cursor));
+        }
+        books.findBy(spec, q -> q.limit(100).sortBy(BookSpecifications.order(query)).project("author").all());
+    }
+
+    /** The tables the plan of a statement reads from end to end. */
+    private List<String> fullScans(String sql) {
+        List<String> tables = new ArrayList<>();
+        try (PreparedStatement explain = connection.prepareStatement("explain " + sql);
+                ResultSet plan = explain.executeQuery()) {
+            while (plan.next()) {
+                Matcher scan = H2_TABLE_SCAN.matcher(plan.getString(1));
+                while (scan.find()) {
+                    tables.add(scan.group(1));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not explain " + sql, e);
+        }
+        return tables;
+    }
+
+    private static Configuration entities() {
+        return new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(AuthorStats.class)
+                .addAnnotatedClass(ChangeEvent.class)
+                .addAnnotatedClass(ChangeSequence.class)
+                .setImplicitNamingStrategy(new SpringImplicitNamingStrategy())
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "validate");
+    }
+
+    private static void validateEntities() {
+        entities().buildSessionFactory().close();
+    }
+
+    private interface QueryRun {
+        void run(String method, Runnable query);
+    }
+}
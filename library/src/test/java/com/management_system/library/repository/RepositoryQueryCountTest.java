@@ -0,0 +1,245 @@
+package com.management_system.library.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.management_system.library.dto.AuthorSummary;
+import com.management_system.library.dto.BookAuthorId;
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.ResourceVersion;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+
+/**
+ * Counts the SQL statements the list queries issue against an in-memory H2
+ * database, so a fetch plan regression shows up as an N+1 failure here.
+ */
+public class RepositoryQueryCountTest {
+
+    private static final int AUTHORS = 5;
+    private static final int BOOKS_PER_AUTHOR = 3;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Author.class)
+                .addAnnotatedClass(Book.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:query-count;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+
+        JpaRepositoryFactory factory = new JpaRepositoryFactory(entityManager);
+        bookRepository = factory.getRepository(BookRepository.class);
+        authorRepository = factory.getRepository(AuthorRepository.class);
+
+        entityManager.getTransaction().begin();
+        for (int a = 0; a < AUTHORS; a++) {
+            Author author = new Author();
+            author.setName("Author " + a);
+            author.setBirthdate(new Date());
+            entityManager.persist(author);
+            for (int b = 0; b < BOOKS_PER_AUTHOR; b++) {
+                Book book = new Book();
+                book.setTitle("Book " + a + "-" + b);
+                book.setIsbn("ISBN-" + a + "-" + b);
+                book.setPublicationDate(new Date());
+                book.setAuthor(author);
+                entityManager.persist(book);
+            }
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Test
+    void findAllLoadsAuthorsInTheSameStatement() {
+        List<Book> books = bookRepository.findAll();
+        books.forEach(book -> book.getAuthor().getName());
+
+        assertThat(books).hasSize(AUTHORS * BOOKS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByAuthorIdIsOneStatement() {
+        Long authorId = authorRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics().clear();
+
+        List<Book> books = bookRepository.findByAuthorId(authorId);
+        books.forEach(book -> book.getAuthor().getName());
+
+        assertThat(books).hasSize(BOOKS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPageIsOneStatement() {
+        List<Book> books = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(4));
+        books.forEach(book -> book.getAuthor().getName());
+
+        assertThat(books).hasSize(4);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByIdInIsOneStatement() {
+        List<Long> ids = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(5)).stream()
+                .map(Book::getId)
+                .toList();
+        entityManager.clear();
+        statistics().clear();
+
+        List<Book> books = bookRepository.findByIdIn(ids);
+        books.forEach(book -> book.getAuthor().getName());
+
+        assertThat(books).extracting(Book::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void streamAllIsOneStatement() {
+        // Spring Data refuses to stream outside a transaction it can see.
+        entityManager.getTransaction().begin();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try (Stream<Book> books = bookRepository.streamAll()) {
+            assertThat(books.map(book -> book.getAuthor().getName()).count())
+                    .isEqualTo(AUTHORS * BOOKS_PER_AUTHOR);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            entityManager.getTransaction().commit();
+        }
+
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authorListDoesNotTouchBooks() {
+        List<Author> authors = authorRepository.findAll();
+
+        assertThat(authors).hasSize(AUTHORS);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bookSummariesAreOneStatement() {
+        List<BookSummary> summaries = bookRepository.findSummariesAfter(0L, Limit.of(100));
+
+        assertThat(summaries).hasSize(AUTHORS * BOOKS_PER_AUTHOR);
+        assertThat(summaries.get(0).authorName()).isEqualTo("Author 0");
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authorSummariesCountBooksInOneStatement() {
+        List<AuthorSummary> summaries = authorRepository.findSummariesAfter(0L, Limit.of(100));
+
+        assertThat(summaries).hasSize(AUTHORS);
+        assertThat(summaries).allSatisfy(summary -> assertThat(summary.bookCount()).isEqualTo(BOOKS_PER_AUTHOR));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void versionLookupDoesNotLoadTheEntity() {
+        Long bookId = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).get(0).getId();
+        entityManager.clear();
+        statistics().clear();
+
+        ResourceVersion version = bookRepository.findVersionById(bookId).orElseThrow();
+
+        assertThat(version.version()).isZero();
+        assertThat(version.lastModified()).isNotNull();
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void updateIncrementsVersionAndRejectsStaleCopies() {
+        Book stale = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1)).get(0);
+        entityManager.clear();
+
+        entityManager.getTransaction().begin();
+        Book current = entityManager.find(Book.class, stale.getId());
+        current.setTitle("Renamed");
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+
+        assertThat(bookRepository.findVersionById(stale.getId()).orElseThrow().version()).isEqualTo(1L);
+
+        entityManager.getTransaction().begin();
+        stale.setTitle("Lost update");
+        assertThatThrownBy(() -> entityManager.merge(stale)).isInstanceOf(OptimisticLockException.class);
+        entityManager.getTransaction().rollback();
+    }
+
+    @Test
+    void deletingAnAuthorWithBooksLoadsNothing() {
+        Long authorId = authorRepository.findIdsAfter(0L, Limit.of(1)).get(0);
+        statistics().clear();
+
+        entityManager.getTransaction().begin();
+        List<Long> bookIds = bookRepository.lockIdsByAuthorId(authorId);
+        assertThat(bookRepository.deleteByAuthor(authorId)).isEqualTo(BOOKS_PER_AUTHOR);
+        assertThat(authorRepository.deleteAuthor(authorId)).isEqualTo(1);
+        entityManager.getTransaction().commit();
+
+        assertThat(bookIds).hasSize(BOOKS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+        assertThat(bookRepository.count()).isEqualTo((AUTHORS - 1) * BOOKS_PER_AUTHOR);
+    }
+
+    @Test
+    void deletingBooksByIdIsTwoStatements() {
+        List<Long> ids = bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(4)).stream()
+                .map(Book::getId)
+                .toList();
+        entityManager.clear();
+        statistics().clear();
+
+        entityManager.getTransaction().begin();
+        List<BookAuthorId> rows = bookRepository.lockAuthorIdsByIdIn(ids);
+        assertThat(bookRepository.deleteByIds(ids)).isEqualTo(4);
+        entityManager.getTransaction().commit();
+
+        assertThat(rows).extracting(BookAuthorId::bookId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    private Statistics statistics() {
+        return sessionFactory.getStatistics();
+    }
+}
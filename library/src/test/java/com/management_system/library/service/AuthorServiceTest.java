@@ -1,11 +1,16 @@
 package com.management_system.library.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.doNothing;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +18,45 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 
+import com.management_system.library.dto.CursorPage;
 import com.management_system.library.model.Author;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.readmodel.CatalogReadModel;
 import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 public class AuthorServiceTest {
 
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private AuthorStatsService authorStatsService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private CatalogReadModel readModel;
+
+    @Spy
+    private ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ZERO, new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthorService authorService;
 
@@ -59,9 +94,114 @@ public class AuthorServiceTest {
 
     @Test
     void testDeleteAuthor() {
-        doNothing().when(authorRepository).deleteById(1L);
+        authorService.deleteAuthor(1L);
+        verify(bookRepository, times(1)).deleteByAuthor(1L);
+        verify(authorRepository, times(1)).deleteAuthor(1L);
+        verify(authorRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testGetAuthorsAfterReturnsNextCursorWhenPageIsFull() {
+        Author first = new Author();
+        first.setId(11L);
+        Author second = new Author();
+        second.setId(12L);
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CursorPage<Author> page = authorService.getAuthorsAfter(10L, 2);
+        assertThat(page.items()).containsExactly(first, second);
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void testGetAuthorsAfterLastPageHasNoCursor() {
+        Author only = new Author();
+        only.setId(5L);
+        when(authorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPage.MAX_LIMIT))).thenReturn(List.of(only));
+
+        CursorPage<Author> page = authorService.getAuthorsAfter(null, 1_000_000);
+        assertThat(page.items()).containsExactly(only);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void testDeleteAuthorEvictsAuthorAndBooks() {
+        when(bookRepository.lockIdsByAuthorId(1L)).thenReturn(List.of(10L, 11L));
 
         authorService.deleteAuthor(1L);
-        verify(authorRepository, times(1)).deleteById(1L);
+        verify(authorRepository).deleteAuthor(1L);
+        verify(cacheInvalidator).evictAuthor(1L);
+        verify(cacheInvalidator).evictBooksByAuthor(1L);
+        verify(cacheInvalidator).evictBook(10L);
+        verify(cacheInvalidator).evictBook(11L);
+        verify(authorStatsService).authorDeleted(1L);
+        verify(changeFeedService).deleted(EntityType.AUTHOR, List.of(1L));
+        verify(changeFeedService).deleted(EntityType.BOOK, List.of(10L, 11L));
+    }
+
+    @Test
+    void testUpdateAuthorChangesTheStoredAuthorNotTheReadModels() {
+        Author stored = new Author();
+        stored.setId(1L);
+        stored.setName("John");
+        stored.setVersion(3L);
+        Author details = new Author();
+        details.setName("Johnny");
+        when(readModel.isReady()).thenReturn(true);
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(authorRepository.save(stored)).thenReturn(stored);
+
+        Optional<Author> result = authorService.updateAuthor(1L, details, null);
+        assertThat(result).containsSame(stored);
+        assertThat(stored.getName()).isEqualTo("Johnny");
+        verify(readModel, never()).findAuthor(anyLong());
+    }
+
+    @Test
+    void testUpdateAuthorAtAnotherVersionChangesNothing() {
+        Author stored = new Author();
+        stored.setId(1L);
+        stored.setName("John");
+        stored.setVersion(3L);
+        Author details = new Author();
+        details.setName("Johnny");
+        details.setVersion(2L);
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> authorService.updateAuthor(1L, details, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThatThrownBy(() -> authorService.updateAuthor(1L, new Author(), version -> version == 2L))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(stored.getName()).isEqualTo("John");
+        verify(authorRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateMissingAuthor() {
+        when(authorRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(authorService.updateAuthor(1L, new Author(), null)).isEmpty();
+    }
+
+    @Test
+    void testSaveNewAuthorDoesNotLookUpBooks() {
+        Author author = new Author();
+        when(authorRepository.save(author)).thenReturn(author);
+
+        authorService.saveAuthor(author);
+        verify(bookRepository, never()).findIdsByAuthorId(any());
+        verify(changeFeedService).authorSaved(author, true);
+    }
+
+    @Test
+    void testFailedSaveEvictsNothingAndKeepsItsError() {
+        Author author = new Author();
+        author.setId(1L);
+        OptimisticLockingFailureException conflict = new OptimisticLockingFailureException("stale");
+        when(authorRepository.save(author)).thenThrow(conflict);
+
+        assertThatThrownBy(() -> authorService.saveAuthor(author)).isSameAs(conflict);
+        verify(bookRepository, never()).findIdsByAuthorId(any());
+        verify(cacheInvalidator, never()).evictAuthor(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.management_system.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import com.management_system.library.dto.BookSummary;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.model.ChangeEvent.Operation;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+public class BookSearchIndexLoaderTest {
+
+    @Spy
+    private BookSearchIndex searchIndex = new BookSearchIndex();
+
+    @Mock
+    private AuthorService authorService;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private BookSearchIndexLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Author author = author(1L, "J. R. R. Tolkien");
+        doAnswer(invocation -> {
+            invocation.<Consumer<Author>>getArgument(0).accept(author);
+            return null;
+        }).when(authorService).streamAllAuthors(any());
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book(1L, "The Hobbit", author));
+            consumer.accept(book(2L, "The Silmarillion", author));
+            return null;
+        }).when(bookService).streamAllBooks(any());
+        when(changeFeedService.getHeadSeq()).thenReturn(10L);
+    }
+
+    @Test
+    void testRefreshAppliesChangesMadeElsewhere() {
+        loader.rebuild();
+        when(changeFeedService.getChangesAfter(10L, 500)).thenReturn(new CursorPage<>(List.of(
+                event(11L, EntityType.BOOK, 2L, Operation.DELETED),
+                event(12L, EntityType.AUTHOR, 1L, Operation.UPDATED),
+                event(13L, EntityType.BOOK, 3L, Operation.CREATED)), 13L));
+        when(authorRepository.findByIdIn(Set.of(1L))).thenReturn(List.of(author(1L, "John Ronald Reuel Tolkien")));
+        when(bookRepository.findSummariesByIdIn(Set.of(2L, 3L))).thenReturn(List.of(
+                new BookSummary(3L, "Unfinished Tales", "978-0-261-10216-4", new Date(), 1L, null)));
+
+        loader.refresh();
+
+        assertThat(searchIndex.search("silmarillion", 10)).isEmpty();
+        assertThat(searchIndex.search("unfinished", 10)).extracting(BookSummary::authorName)
+                .containsExactly("John Ronald Reuel Tolkien");
+        assertThat(searchIndex.search("ronald hobbit", 10)).extracting(BookSummary::id).containsExactly(1L);
+
+        when(changeFeedService.getChangesAfter(13L, 500)).thenReturn(new CursorPage<>(List.of(), 13L));
+        loader.refresh();
+        verify(changeFeedService).getChangesAfter(13L, 500);
+    }
+
+    @Test
+    void testRefreshBeforeTheFirstBuildDoesNothing() {
+        loader.refresh();
+
+        verify(changeFeedService, never()).getChangesAfter(anyLong(), any());
+    }
+
+    @Test
+    void testIndexBehindThePurgedFeedIsBuiltAgain() {
+        loader.rebuild();
+        searchIndex.remove(1L);
+        when(changeFeedService.isExpired(10L)).thenReturn(true);
+
+        loader.refresh();
+
+        assertThat(searchIndex.search("hobbit", 10)).extracting(BookSummary::id).containsExactly(1L);
+        verify(changeFeedService, never()).getChangesAfter(anyLong(), any());
+    }
+
+    @Test
+    void testSearchesDuringARebuildSeeTheOldIndex() {
+        loader.rebuild();
+        Author author = author(1L, "J. R. R. Tolkien");
+        List<List<Long>> seenMidway = new ArrayList<>();
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book(3L, "Unfinished Tales", author));
+            seenMidway.add(searchIndex.search("tolkien", 10).stream().map(BookSummary::id).toList());
+            return null;
+        }).when(bookService).streamAllBooks(any());
+        when(changeFeedService.isExpired(10L)).thenReturn(true);
+
+        loader.refresh();
+
+        assertThat(seenMidway).containsExactly(List.of(1L, 2L));
+        assertThat(searchIndex.search("tolkien", 10)).extracting(BookSummary::id).containsExactly(3L);
+    }
+
+    private static Author author(Long id, String name) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName(name);
+        return author;
+    }
+
+    private static Book book(Long id, String title, Author author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setIsbn("978-0-00-00000" + id);
+        book.setAuthor(author);
+        return book;
+    }
+
+    private static ChangeEvent event(Long seq, EntityType type, Long id, Operation operation) {
+        ChangeEvent event = new ChangeEvent(type, id, operation, null, Instant.now());
+        event.setSeq(seq);
+        return event;
+    }
+}
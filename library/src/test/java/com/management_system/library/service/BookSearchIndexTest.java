@@ -0,0 +1,117 @@
+package com.management_system.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.management_system.library.dto.BookSummary;
+
+public class BookSearchIndexTest {
+
+    private BookSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new BookSearchIndex();
+        searchIndex.index(book(1L, "The Hobbit", "978-0-261-10221-8", 1L, "J. R. R. Tolkien"));
+        searchIndex.index(book(2L, "The Lord of the Rings", "978-0-261-10320-7", 1L, "J. R. R. Tolkien"));
+        searchIndex.index(book(3L, "Dune", "978-0-441-17271-9", 2L, "Frank Herbert"));
+        searchIndex.index(book(4L, "Herbert's Garden", "978-1-000-00000-1", 3L, "Émile Zola"));
+    }
+
+    @Test
+    void testExactTitleWord() {
+        assertThat(ids(searchIndex.search("dune", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void testPrefixMatch() {
+        assertThat(ids(searchIndex.search("hob", 10))).containsExactly(1L);
+        assertThat(ids(searchIndex.search("tolk", 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void testTypoTolerance() {
+        assertThat(ids(searchIndex.search("hobbti", 10))).containsExactly(1L);
+        assertThat(ids(searchIndex.search("tolkein", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(searchIndex.search("dnue", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void testHyphenatedIsbnPrefix() {
+        assertThat(ids(searchIndex.search("978-0-261", 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(searchIndex.search("9780441172719", 10))).containsExactly(3L);
+    }
+
+    @Test
+    void testAllTokensMustMatch() {
+        assertThat(ids(searchIndex.search("tolkien rings", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void testTitleMatchRanksAboveAuthorMatch() {
+        assertThat(ids(searchIndex.search("herbert", 10))).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void testAccentsAreFolded() {
+        assertThat(ids(searchIndex.search("emile", 10))).containsExactly(4L);
+    }
+
+    @Test
+    void testAuthorRenameReindexesBooks() {
+        searchIndex.putAuthor(2L, "Brian Herbert");
+
+        assertThat(ids(searchIndex.search("brian", 10))).containsExactly(3L);
+        assertThat(searchIndex.search("frank", 10)).isEmpty();
+    }
+
+    @Test
+    void testMissingAuthorNameIsFilledFromKnownAuthors() {
+        searchIndex.index(book(5L, "Children of Dune", "978-0-441-10402-4", 2L, null));
+
+        assertThat(searchIndex.search("frank children", 10)).extracting(BookSummary::authorName)
+                .containsExactly("Frank Herbert");
+    }
+
+    @Test
+    void testRemoveAndReplace() {
+        searchIndex.remove(3L);
+        searchIndex.index(book(1L, "There and Back Again", "978-0-261-10221-8", 1L, "J. R. R. Tolkien"));
+
+        assertThat(searchIndex.search("dune", 10)).isEmpty();
+        assertThat(searchIndex.search("hobbit", 10)).isEmpty();
+        assertThat(ids(searchIndex.search("back again", 10))).containsExactly(1L);
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemoveAuthorDropsTheirBooks() {
+        searchIndex.removeAuthor(1L);
+
+        assertThat(searchIndex.search("tolkien", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testWithinOneEdit() {
+        assertThat(BookSearchIndex.withinOneEdit("book", "book")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("book", "boko")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("book", "books")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("book", "bok")).isTrue();
+        assertThat(BookSearchIndex.withinOneEdit("book", "bark")).isFalse();
+        assertThat(BookSearchIndex.withinOneEdit("book", "bo")).isFalse();
+    }
+
+    private static BookSummary book(Long id, String title, String isbn, Long authorId, String authorName) {
+        return new BookSummary(id, title, isbn, new Date(), authorId, authorName);
+    }
+
+    private static List<Long> ids(List<BookSummary> results) {
+        return results.stream().map(BookSummary::id).toList();
+    }
+}
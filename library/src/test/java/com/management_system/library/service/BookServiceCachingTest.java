@@ -0,0 +1,240 @@
+package com.management_system.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.MapPropertySource;
+
+import com.management_system.library.datasource.PrimaryPin;
+import com.management_system.library.dto.BookPlacement;
+import com.management_system.library.model.Author;
+import com.management_system.library.model.Book;
+import com.management_system.library.repository.BookRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Runs {@link BookService} behind the real caching proxy to check that reads
+ * are served from the cache and that writes evict the affected entries.
+ */
+public class BookServiceCachingTest {
+
+    private AnnotationConfigApplicationContext context;
+    private BookRepository bookRepository;
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        start(Map.of());
+    }
+
+    private void start(Map<String, Object> properties) {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        // Registered as a ready singleton so Spring does not autowire the mock's fields.
+        context.getBeanFactory().registerSingleton("authorStatsService", mock(AuthorStatsService.class));
+        context.getBeanFactory().registerSingleton("changeFeedService", mock(ChangeFeedService.class));
+        context.register(CachingTestConfig.class);
+        context.refresh();
+        bookRepository = context.getBean(BookRepository.class);
+        bookService = context.getBean(BookService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        PrimaryPin.clear();
+    }
+
+    @Test
+    void testGetBookByIdIsServedFromCache() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L, 7L)));
+
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+        verify(bookRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testMissingBookIsNotCached() {
+        when(bookRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(bookService.getBookById(2L)).isEmpty();
+        assertThat(bookService.getBookById(2L)).isEmpty();
+        verify(bookRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void testMovingBookEvictsBothAuthorLists() {
+        Book book = book(1L, 8L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L, 7L)));
+        when(bookRepository.findByAuthorId(7L)).thenReturn(List.of(book(1L, 7L)));
+        when(bookRepository.findByAuthorId(8L)).thenReturn(List.of());
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(new BookPlacement(7L, new Date())));
+        when(bookRepository.save(book)).thenReturn(book);
+
+        bookService.getBookById(1L);
+        bookService.getBooksByAuthorId(7L);
+        bookService.getBooksByAuthorId(8L);
+        bookService.saveBook(book);
+        reset(bookRepository);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.findByAuthorId(7L)).thenReturn(List.of());
+        when(bookRepository.findByAuthorId(8L)).thenReturn(List.of(book));
+
+        assertThat(bookService.getBookById(1L)).contains(book);
+        assertThat(bookService.getBooksByAuthorId(7L)).isEmpty();
+        assertThat(bookService.getBooksByAuthorId(8L)).containsExactly(book);
+    }
+
+    @Test
+    void testReadsPinnedToThePrimaryBypassTheCache() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L, 7L)));
+        when(bookRepository.findByIdIn(List.of(1L))).thenReturn(List.of(book(1L, 7L)));
+        bookService.getBookById(1L);
+
+        PrimaryPin.pin();
+        bookService.getBookById(1L);
+        bookService.getBooksByIds(List.of(1L));
+        verify(bookRepository, times(2)).findById(1L);
+        verify(bookRepository, times(1)).findByIdIn(List.of(1L));
+    }
+
+    @Test
+    void testReplicaReadsJustAfterAWriteAreNotCached() {
+        context.close();
+        start(Map.of("library.datasource.replica-urls", "jdbc:h2:mem:replica",
+                "library.datasource.sticky-window", "1m"));
+        Book book = book(1L, 7L);
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(new BookPlacement(7L, new Date())));
+        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(book(2L, 7L)));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.findByIdIn(List.of(1L))).thenReturn(List.of(book));
+        bookService.saveBook(book);
+
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+        bookService.getBooksByIds(List.of(1L));
+        bookService.getBooksByIds(List.of(1L));
+        bookService.getBookById(2L);
+        bookService.getBookById(2L);
+        verify(bookRepository, times(2)).findById(1L);
+        verify(bookRepository, times(2)).findByIdIn(List.of(1L));
+        verify(bookRepository, times(1)).findById(2L);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.findByAuthorId(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(book(1L, 7L));
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Book>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> bookService.getBooksByAuthorId(7L)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<Book>> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).hasSize(1);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(bookRepository, times(1)).findByAuthorId(7L);
+    }
+
+    @Test
+    void testBatchGetReadsMissesOnlyAndCachesThem() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(1L, 7L)));
+        when(bookRepository.findByIdIn(List.of(2L, 3L))).thenReturn(List.of(book(2L, 7L)));
+
+        bookService.getBookById(1L);
+        assertThat(bookService.getBooksByIds(List.of(1L, 2L, 3L, 2L))).containsOnlyKeys(1L, 2L);
+        assertThat(bookService.getBookById(2L)).isPresent();
+        verify(bookRepository, times(1)).findByIdIn(anyCollection());
+        verify(bookRepository, times(0)).findById(2L);
+    }
+
+    @Test
+    void testBatchGetLoadsLargeListsInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+
+        bookService.getBooksByIds(ids);
+        verify(bookRepository, times(2)).findByIdIn(argThat(chunk -> chunk.size() == BatchLookup.CHUNK_SIZE));
+        verify(bookRepository, times(1)).findByIdIn(argThat(chunk -> chunk.size() == 200));
+    }
+
+    private static Book book(Long id, Long authorId) {
+        Author author = new Author();
+        author.setId(authorId);
+        Book book = new Book();
+        book.setId(id);
+        book.setAuthor(author);
+        return book;
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({ BookService.class, CatalogCacheInvalidator.class, BookSearchIndex.class })
+    static class CachingTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setCacheSpecification("maximumSize=100");
+            return cacheManager;
+        }
+
+        @Bean
+        ReadCoalescer readCoalescer() {
+            return new ReadCoalescer(4, Duration.ZERO, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        BookRepository bookRepository() {
+            return mock(BookRepository.class);
+        }
+
+        @Bean
+        EntityManager entityManager() {
+            return mock(EntityManager.class);
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.management_system.library.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -13,15 +22,46 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
+import com.management_system.library.dto.BookAuthorId;
+import com.management_system.library.dto.BookPlacement;
+import com.management_system.library.dto.BookQuery;
+import com.management_system.library.dto.CursorPage;
+import com.management_system.library.model.Author;
 import com.management_system.library.model.Book;
+import com.management_system.library.model.ChangeEvent.EntityType;
 import com.management_system.library.repository.BookRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
 public class BookServiceTest {
 
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private AuthorStatsService authorStatsService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Spy
+    private ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ZERO, new SimpleMeterRegistry());
+
     @InjectMocks
     private BookService bookService;
 
@@ -64,4 +104,213 @@ public class BookServiceTest {
         bookService.deleteBook(1L);
         verify(bookRepository, times(1)).deleteById(1L);
     }
+
+    @Test
+    void testGetBooksAfterReturnsNextCursorWhenPageIsFull() {
+        Book first = new Book();
+        first.setId(11L);
+        Book second = new Book();
+        second.setId(12L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(2))).thenReturn(List.of(first, second));
+
+        CursorPage<Book> page = bookService.getBooksAfter(10L, 2);
+        assertThat(page.items()).containsExactly(first, second);
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void testGetBooksAfterLastPageHasNoCursor() {
+        Book only = new Book();
+        only.setId(5L);
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(CursorPage.MAX_LIMIT))).thenReturn(List.of(only));
+
+        CursorPage<Book> page = bookService.getBooksAfter(null, 1_000_000);
+        assertThat(page.items()).containsExactly(only);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void testSaveBookEvictsPreviousAndNewAuthorLists() {
+        Author newAuthor = new Author();
+        newAuthor.setId(8L);
+        Book book = new Book();
+        book.setId(1L);
+        book.setAuthor(newAuthor);
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(new BookPlacement(7L, new Date())));
+        when(bookRepository.save(book)).thenReturn(book);
+
+        bookService.saveBook(book);
+        verify(cacheInvalidator).evictBook(1L);
+        verify(cacheInvalidator).evictBooksByAuthor(7L);
+        verify(cacheInvalidator).evictBooksByAuthor(8L);
+    }
+
+    @Test
+    void testSaveBookResolvesAuthorGivenById() {
+        Author reference = new Author();
+        reference.setId(8L);
+        Author stored = new Author();
+        stored.setId(8L);
+        stored.setVersion(2L);
+        Book book = new Book();
+        book.setAuthor(reference);
+        when(entityManager.find(Author.class, 8L)).thenReturn(stored);
+        when(bookRepository.save(book)).thenReturn(book);
+
+        bookService.saveBook(book);
+        assertThat(book.getAuthor()).isSameAs(stored);
+    }
+
+    @Test
+    void testSaveBookMovesAuthorStats() {
+        Date published = new Date(0);
+        Author newAuthor = new Author();
+        newAuthor.setId(8L);
+        Book book = new Book();
+        book.setId(1L);
+        book.setAuthor(newAuthor);
+        book.setPublicationDate(published);
+        BookPlacement previous = new BookPlacement(7L, published);
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(previous));
+        when(bookRepository.save(book)).thenReturn(book);
+
+        bookService.saveBook(book);
+        verify(authorStatsService).bookChanged(previous, new BookPlacement(8L, published));
+    }
+
+    @Test
+    void testUpdateBookChangesTheStoredBook() {
+        Date published = new Date(0);
+        Author oldAuthor = new Author();
+        oldAuthor.setId(7L);
+        Author newAuthor = new Author();
+        newAuthor.setId(8L);
+        newAuthor.setVersion(1L);
+        Book stored = new Book();
+        stored.setId(1L);
+        stored.setTitle("Old Title");
+        stored.setAuthor(oldAuthor);
+        stored.setPublicationDate(published);
+        stored.setVersion(3L);
+        Book details = new Book();
+        details.setTitle("New Title");
+        details.setAuthor(newAuthor);
+        details.setPublicationDate(published);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(bookRepository.save(stored)).thenReturn(stored);
+
+        Optional<Book> result = bookService.updateBook(1L, details, version -> version == 3L);
+        assertThat(result).containsSame(stored);
+        assertThat(stored.getTitle()).isEqualTo("New Title");
+        verify(bookRepository, never()).findPlacementById(any());
+        verify(authorStatsService).bookChanged(new BookPlacement(7L, published), new BookPlacement(8L, published));
+        verify(changeFeedService).bookSaved(stored, false);
+        verify(cacheInvalidator).evictBooksByAuthor(7L);
+        verify(cacheInvalidator).evictBooksByAuthor(8L);
+    }
+
+    @Test
+    void testUpdateBookAtAnotherVersionChangesNothing() {
+        Book stored = new Book();
+        stored.setId(1L);
+        stored.setTitle("Old Title");
+        stored.setVersion(3L);
+        Book details = new Book();
+        details.setTitle("New Title");
+        details.setVersion(2L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        assertThatThrownBy(() -> bookService.updateBook(1L, details, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(stored.getTitle()).isEqualTo("Old Title");
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void testFindBooksAfterAMissingCursorBookIsRejected() {
+        BookQuery byTitle = BookQuery.ALL.sortedBy("title").orElseThrow();
+        when(bookRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bookService.findBooks(byTitle, 9L, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("9");
+        verify(bookRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testDeleteBookEvictsAuthorList() {
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(new BookPlacement(7L, new Date())));
+
+        bookService.deleteBook(1L);
+        verify(cacheInvalidator).evictBook(1L);
+        verify(cacheInvalidator).evictBooksByAuthor(7L);
+    }
+
+    @Test
+    void testDeleteBookUncountsItFromAuthorStats() {
+        BookPlacement placement = new BookPlacement(7L, new Date());
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(placement));
+
+        bookService.deleteBook(1L);
+        verify(authorStatsService).bookChanged(placement, null);
+    }
+
+    @Test
+    void testSaveBookRecordsCreateOrUpdateInChangeFeed() {
+        Book created = new Book();
+        when(bookRepository.save(created)).thenReturn(created);
+        Book updated = new Book();
+        updated.setId(1L);
+        when(bookRepository.findPlacementById(1L)).thenReturn(Optional.of(new BookPlacement(7L, new Date())));
+        when(bookRepository.save(updated)).thenReturn(updated);
+
+        bookService.saveBook(created);
+        bookService.saveBook(updated);
+        verify(changeFeedService).bookSaved(created, true);
+        verify(changeFeedService).bookSaved(updated, false);
+    }
+
+    @Test
+    void testDeleteBookRecordsDeletionInChangeFeed() {
+        bookService.deleteBook(1L);
+        verify(changeFeedService).deleted(EntityType.BOOK, List.of(1L));
+    }
+
+    @Test
+    void testDeleteBooksByAuthorIsOneStatementAndRecountsTheAuthor() {
+        when(bookRepository.lockIdsByAuthorId(7L)).thenReturn(List.of(10L, 11L));
+
+        assertThat(bookService.deleteBooksByAuthor(7L)).isEqualTo(2);
+        verify(bookRepository).deleteByAuthor(7L);
+        verify(authorStatsService).recount(List.of(7L));
+        verify(changeFeedService).deleted(EntityType.BOOK, List.of(10L, 11L));
+        verify(cacheInvalidator).evictBook(10L);
+        verify(cacheInvalidator).evictBook(11L);
+        verify(cacheInvalidator).evictBooksByAuthor(7L);
+    }
+
+    @Test
+    void testDeleteBooksByAuthorWithoutBooksWritesNothing() {
+        assertThat(bookService.deleteBooksByAuthor(7L)).isZero();
+        verify(bookRepository, never()).deleteByAuthor(7L);
+    }
+
+    @Test
+    void testDeleteBooksDeletesOnlyExistingIdsInChunks() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 600).boxed().toList());
+        ids.add(0, 600L);
+        List<Long> firstChunk = LongStream.rangeClosed(1, BatchLookup.CHUNK_SIZE).boxed().toList();
+        List<Long> secondChunk = LongStream.rangeClosed(BatchLookup.CHUNK_SIZE + 1, 600).boxed().toList();
+        when(bookRepository.lockAuthorIdsByIdIn(firstChunk))
+                .thenReturn(List.of(new BookAuthorId(1L, 8L), new BookAuthorId(2L, 7L)));
+        when(bookRepository.lockAuthorIdsByIdIn(secondChunk)).thenReturn(List.of(new BookAuthorId(600L, 7L)));
+
+        assertThat(bookService.deleteBooks(ids)).isEqualTo(3);
+        verify(bookRepository).deleteByIds(List.of(1L, 2L));
+        verify(bookRepository).deleteByIds(List.of(600L));
+        verify(authorStatsService).recount(Set.of(7L, 8L));
+        verify(changeFeedService).deleted(EntityType.BOOK, List.of(1L, 2L, 600L));
+        verify(cacheInvalidator).evictBooksByAuthor(7L);
+        verify(cacheInvalidator).evictBooksByAuthor(8L);
+    }
 }
@@ -0,0 +1,284 @@
+package com.management_system.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.dto.BulkImportReport;
+import com.management_system.library.dto.BulkImportReport.RowError;
+import com.management_system.library.model.ChangeEvent.EntityType;
+import com.management_system.library.repository.AuthorRepository;
+import com.management_system.library.repository.BookRepository;
+
+public class BulkImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CatalogCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private AuthorStatsService authorStatsService;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(authorRepository.findExistingIds(anyCollection())).thenReturn(Set.of(1L));
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(Set.of());
+    }
+
+    @Test
+    void testImportBooksAddsToAuthorStats() throws Exception {
+        bulkImportService.importBooksJson(body("""
+                [
+                  {"title": "One", "isbn": "ISBN-1", "publicationDate": "2021-06-01", "author": {"id": 1}},
+                  {"title": "Two", "isbn": "ISBN-2", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                  {"title": "Three", "isbn": "ISBN-3", "publicationDate": "2020-05-01", "author": {"id": 1}}
+                ]
+                """));
+
+        verify(authorStatsService).booksAdded(1L, 3, date("2020-01-01"), date("2021-06-01"));
+    }
+
+    @Test
+    void testImportBooksJsonReportsInvalidRows() throws Exception {
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(Set.of("ISBN-TAKEN"));
+
+        BulkImportReport report = bulkImportService.importBooksJson(body("""
+                [
+                  {"title": "One", "isbn": "ISBN-1", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                  {"title": "Two", "isbn": "ISBN-TAKEN", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                  {"title": "Three", "isbn": "ISBN-3", "publicationDate": "2020-01-01", "author": {"id": 9}},
+                  {"title": "Four", "isbn": "ISBN-1", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                  {"isbn": "ISBN-5", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                  {"title": "Six", "isbn": "ISBN-6", "publicationDate": "not a date", "author": {"id": 1}}
+                ]
+                """));
+
+        assertThat(report.received()).isEqualTo(6);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(RowError::row).containsExactly(2, 3, 4, 5, 6);
+        assertThat(report.errors().get(0).message()).contains("already exists");
+        assertThat(report.errors().get(1).message()).contains("Author 9");
+        assertThat(report.errors().get(2).message()).contains("Duplicate ISBN");
+    }
+
+    @Test
+    void testImportBooksCsvWritesInChunks() throws Exception {
+        ReflectionTestUtils.setField(bulkImportService, "chunkSize", 2);
+
+        BulkImportReport report = bulkImportService.importBooksCsv(body("""
+                title,isbn,publicationDate,authorId
+                "Dune, Part One",ISBN-1,1965-08-01,1
+                Second,ISBN-2,1966-01-01,1
+                Third,ISBN-3,1967-01-01,1
+                Broken,ISBN-4,yesterday,1
+                """));
+
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.errors()).extracting(RowError::row).containsExactly(4);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Object>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(BulkImportService.INSERT_BOOK), rows.capture(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(rows.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+        verify(bookRepository, times(2)).findExistingIsbns(anyCollection());
+    }
+
+    @Test
+    void testImportBooksRejectsValuesLongerThanTheirColumns() throws Exception {
+        String title = "T".repeat(BulkImportService.MAX_TEXT_LENGTH + 1);
+
+        BulkImportReport report = bulkImportService.importBooksCsv(body("""
+                title,isbn,publicationDate,authorId
+                %s,ISBN-1,1965-08-01,1
+                Dune,%s,1965-08-01,1
+                """.formatted(title, "9".repeat(BulkImportService.MAX_TEXT_LENGTH + 1))));
+
+        assertThat(report.imported()).isZero();
+        assertThat(report.errors()).containsExactly(new RowError(1, "Title must be at most 255 characters."),
+                new RowError(2, "ISBN must be at most 255 characters."));
+    }
+
+    @Test
+    void testImportBooksRetriesARefusedBatchRowByRow() throws Exception {
+        when(bookRepository.findExistingIsbns(anyCollection())).thenReturn(Set.of("ISBN-TAKEN"));
+        when(jdbcTemplate.batchUpdate(eq(BulkImportService.INSERT_BOOK), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    PreparedStatement statement = mock(PreparedStatement.class);
+                    doThrow(new SQLException("Data too long for column 'isbn'")).when(statement)
+                            .setString(2, "ISBN-BAD");
+                    try {
+                        for (Object row : invocation.<Collection<Object>>getArgument(1)) {
+                            setter.setValues(statement, row);
+                        }
+                    } catch (SQLException e) {
+                        throw new DataIntegrityViolationException(e.getMessage(), e);
+                    }
+                    return new int[0][];
+                });
+
+        BulkImportReport report = bulkImportService.importBooksCsv(body("""
+                title,isbn,publicationDate,authorId
+                One,ISBN-1,1965-08-01,1
+                Two,ISBN-BAD,1965-08-01,1
+                Three,ISBN-TAKEN,1965-08-01,1
+                Four,ISBN-4,1965-08-01,1
+                """));
+
+        assertThat(report.received()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).extracting(RowError::row).containsExactly(2, 3);
+        assertThat(report.errors().get(0).message()).isEqualTo("Rejected by database: Data too long for column 'isbn'");
+        assertThat(report.errors().get(1).message()).contains("already exists");
+    }
+
+    @Test
+    void testImportBooksCsvRequiresHeader() {
+        assertThatThrownBy(() -> bulkImportService.importBooksCsv(body("title,isbn\nOne,ISBN-1\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testImportBooksJsonRequiresArray() {
+        assertThatThrownBy(() -> bulkImportService.importBooksJson(body("{\"title\": \"One\"}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testImportBooksJsonKeepsRowsBeforeSyntaxError() throws Exception {
+        BulkImportReport report = bulkImportService.importBooksJson(body("""
+                [{"title": "One", "isbn": "ISBN-1", "publicationDate": "2020-01-01", "author": {"id": 1}},
+                 {"title": "Two", oops
+                """));
+
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(RowError::row).containsExactly(2);
+    }
+
+    @Test
+    void testImportAuthorsCsv() throws Exception {
+        BulkImportReport report = bulkImportService.importAuthorsCsv(body("""
+                name,birthdate
+                Frank Herbert,1920-10-08
+                ,1920-01-01
+                """));
+
+        assertThat(report.received()).isEqualTo(2);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.errors()).containsExactly(new RowError(2, "Name must be provided."));
+        ArgumentCaptor<PreparedStatementCreator> statement = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> rows = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(statement.capture(), rows.capture(), any(KeyHolder.class));
+        Connection connection = mock(Connection.class);
+        statement.getValue().createPreparedStatement(connection);
+        verify(connection).prepareStatement(BulkImportService.INSERT_AUTHOR, new String[] { "id" });
+        assertThat(rows.getValue().getBatchSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testImportAuthorsRecordsGeneratedIdsInChangeFeed() throws Exception {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(invocation -> {
+                    GeneratedKeyHolder keys = invocation.getArgument(2);
+                    keys.getKeyList().add(Map.of("ID", 41L));
+                    keys.getKeyList().add(Map.of("ID", 42L));
+                    return new int[] { 1, 1 };
+                });
+
+        bulkImportService.importAuthorsCsv(body("""
+                name,birthdate
+                Frank Herbert,1920-10-08
+                Ursula K. Le Guin,1929-10-21
+                """));
+        verify(changeFeedService).created(EntityType.AUTHOR, List.of(41L, 42L));
+    }
+
+    @Test
+    void testImportBooksRecordsInsertedIdsInChangeFeed() throws Exception {
+        when(bookRepository.findIdsByIsbnIn(List.of("isbn-1", "isbn-2"))).thenReturn(List.of(10L, 11L));
+
+        bulkImportService.importBooksCsv(body("""
+                title,isbn,publicationDate,authorId
+                Dune,isbn-1,1965-08-01,1
+                Children of Dune,isbn-2,1976-04-01,1
+                """));
+        verify(changeFeedService).created(EntityType.BOOK, List.of(10L, 11L));
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Date date(String value) {
+        return Date.from(LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
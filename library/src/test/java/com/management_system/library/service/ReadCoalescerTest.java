@@ -0,0 +1,164 @@
+package com.management_system.library.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.management_system.library.datasource.PrimaryPin;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReadCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        PrimaryPin.clear();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ZERO, registry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<String> loader = () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "book";
+        };
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> coalescer.load("books", 1L, loader)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("book");
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(calls("books", "loaded")).isEqualTo(1);
+        assertThat(calls("books", "joined")).isEqualTo(7);
+    }
+
+    @Test
+    void differentKeysLoadSeparately() {
+        ReadCoalescer coalescer = new ReadCoalescer(1, Duration.ofMinutes(1), registry);
+
+        assertThat(coalescer.load("books", 1L, () -> "one")).isEqualTo("one");
+        assertThat(coalescer.load("books", 2L, () -> "two")).isEqualTo("two");
+        assertThat(coalescer.load("authors", 1L, () -> "author")).isEqualTo("author");
+        assertThat(calls("books", "loaded")).isEqualTo(2);
+    }
+
+    @Test
+    void finishedLoadIsReusedOnlyWithinTheWindow() throws Exception {
+        ReadCoalescer shared = new ReadCoalescer(4, Duration.ofMinutes(1), registry);
+        shared.load("books", 1L, () -> "first");
+        assertThat(shared.load("books", 1L, () -> "second")).isEqualTo("first");
+        assertThat(calls("books", "reused")).isEqualTo(1);
+
+        ReadCoalescer unshared = new ReadCoalescer(4, Duration.ZERO, new SimpleMeterRegistry());
+        unshared.load("books", 1L, () -> "first");
+        assertThat(unshared.load("books", 1L, () -> "second")).isEqualTo("second");
+
+        ReadCoalescer brief = new ReadCoalescer(4, Duration.ofMillis(20), new SimpleMeterRegistry());
+        brief.load("books", 1L, () -> "first");
+        Thread.sleep(50);
+        assertThat(brief.load("books", 1L, () -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    void forgetStartsAFreshLoad() {
+        ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ofMinutes(1), registry);
+        coalescer.load("books", 1L, () -> "before");
+
+        coalescer.forget("books", 1L);
+        assertThat(coalescer.load("books", 1L, () -> "after")).isEqualTo("after");
+    }
+
+    @Test
+    void failureReachesWaitingCallersAndIsNotKept() throws Exception {
+        ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ofMinutes(1), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = callers.submit(() -> coalescer.load("books", 1L, () -> {
+            await(release);
+            throw new IllegalStateException("down");
+        }));
+        Thread.sleep(100);
+        Future<String> follower = callers.submit(() -> coalescer.load("books", 1L, () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<String> result : List.of(leader, follower)) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("down");
+        }
+        assertThat(coalescer.load("books", 1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void callersPinnedToThePrimaryShareOnlyWithEachOther() {
+        ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ofMinutes(1), registry);
+        coalescer.load("books", 1L, () -> "replica");
+
+        PrimaryPin.pin();
+        assertThat(coalescer.load("books", 1L, () -> "primary")).isEqualTo("primary");
+        assertThat(coalescer.load("books", 1L, () -> "again")).isEqualTo("primary");
+    }
+
+    @Test
+    void callersInsideATransactionNeitherShareNorAreShared() {
+        ReadCoalescer coalescer = new ReadCoalescer(4, Duration.ofMinutes(1), registry);
+        coalescer.load("books", 1L, () -> "outside");
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(coalescer.load("books", 1L, () -> "managed")).isEqualTo("managed");
+        assertThat(coalescer.load("books", 2L, () -> "managed")).isEqualTo("managed");
+
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertThat(coalescer.load("books", 1L, () -> "again")).isEqualTo("outside");
+        assertThat(coalescer.load("books", 2L, () -> "detached")).isEqualTo("detached");
+    }
+
+    @Test
+    void disabledCoalescerRunsEveryLoad() {
+        ReadCoalescer coalescer = ReadCoalescer.disabled();
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.load("books", 1L, loads::incrementAndGet);
+        coalescer.load("books", 1L, loads::incrementAndGet);
+        assertThat(loads).hasValue(2);
+    }
+
+    private double calls(String kind, String outcome) {
+        return registry.counter("library.coalescing.calls", "kind", kind, "outcome", outcome).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.management_system.library.writebehind;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class MutationLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replayReturnsMutationsWithoutDoneMarker() throws IOException {
+        MutationLog log = open(1024 * 1024);
+        Mutation first = append(log, "a");
+        Mutation second = append(log, "b");
+        append(log, "c");
+        log.markDone(List.of(first, second));
+        log.close();
+
+        List<Mutation> replayed = open(1024 * 1024).replay();
+
+        assertThat(replayed).extracting(Mutation::trackingId).containsExactly("c");
+        assertThat(replayed.get(0).payload().get("title").asText()).isEqualTo("c");
+    }
+
+    @Test
+    void sequenceContinuesAfterReplay() throws IOException {
+        MutationLog log = open(1024 * 1024);
+        Mutation first = append(log, "a");
+        log.markDone(List.of(first));
+        log.close();
+
+        MutationLog reopened = open(1024 * 1024);
+        reopened.replay();
+
+        assertThat(append(reopened, "b").seq()).isEqualTo(first.seq() + 1);
+    }
+
+    @Test
+    void tornLastLineIsSkipped() throws IOException {
+        MutationLog log = open(1024 * 1024);
+        append(log, "a");
+        log.close();
+        try (var files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.writeString(segment, "{\"seq\":2,\"trackingId\":\"b\",\"ty", StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND);
+        }
+
+        assertThat(open(1024 * 1024).replay()).extracting(Mutation::trackingId).containsExactly("a");
+    }
+
+    @Test
+    void segmentsAreDeletedOnceEverythingInThemIsDone() throws IOException {
+        MutationLog log = open(50);
+        List<Mutation> mutations = List.of(append(log, "a"), append(log, "b"), append(log, "c"), append(log, "d"));
+        assertThat(log.segmentCount()).isEqualTo(4);
+
+        log.markDone(mutations);
+
+        assertThat(log.segmentCount()).isEqualTo(1);
+        try (var files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void markersOutliveTheirSegmentWhileTheMutationsTheyCoverAreKept() throws IOException {
+        MutationLog log = open(1024 * 1024);
+        Mutation first = append(log, "a");
+        append(log, "b");
+        log.close();
+
+        MutationLog reopened = open(10);
+        reopened.markDone(List.of(first));
+        append(reopened, "c");
+
+        List<Mutation> afterCrash = new MutationLog(directory, 10, objectMapper).replay();
+
+        assertThat(afterCrash).extracting(Mutation::trackingId).containsExactly("b", "c");
+    }
+
+    @Test
+    void segmentHoldingOnlyMarkersGoesWithTheSegmentTheyCover() throws IOException {
+        MutationLog log = open(1024 * 1024);
+        Mutation first = append(log, "a");
+        Mutation second = append(log, "b");
+        log.close();
+
+        MutationLog reopened = open(10);
+        reopened.markDone(List.of(first));
+        append(reopened, "c");
+        assertThat(reopened.segmentCount()).isEqualTo(3);
+
+        reopened.markDone(List.of(second));
+
+        assertThat(reopened.segmentCount()).isEqualTo(1);
+        try (var files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+    }
+
+    private MutationLog open(long segmentSize) throws IOException {
+        MutationLog log = new MutationLog(directory, segmentSize, objectMapper);
+        log.replay();
+        return log;
+    }
+
+    private Mutation append(MutationLog log, String trackingId) throws IOException {
+        ObjectNode payload = objectMapper.createObjectNode().put("title", trackingId);
+        MutationLog.Appended appended = log.append(trackingId, MutationType.CREATE_BOOK, null, payload);
+        log.syncTo(appended.position());
+        return appended.mutation();
+    }
+}
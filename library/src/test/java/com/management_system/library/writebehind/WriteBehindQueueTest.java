@@ -0,0 +1,222 @@
+package com.management_system.library.writebehind;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.management_system.library.model.Book;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class WriteBehindQueueTest {
+
+    @Mock
+    private MutationApplier applier;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private WriteBehindQueue queue;
+
+    @TempDir
+    Path directory;
+
+    private final List<String> applied = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        configure(queue);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(applier.apply(any())).thenAnswer(invocation -> {
+            Mutation mutation = invocation.getArgument(0);
+            applied.add(mutation.payload().get("title").asText());
+            return WriteStatus.applied(mutation.trackingId(), mutation.seq());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void appliesMutationsInSubmissionOrder() throws Exception {
+        queue.start();
+        List<String> trackingIds = List.of(
+                queue.submit(MutationType.UPDATE_BOOK, 1L, book("first")).trackingId(),
+                queue.submit(MutationType.UPDATE_BOOK, 1L, book("second")).trackingId(),
+                queue.submit(MutationType.UPDATE_BOOK, 1L, book("third")).trackingId());
+
+        awaitApplied(trackingIds);
+
+        assertThat(applied).containsExactly("first", "second", "third");
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    void rejectsMutationsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            Mutation mutation = invocation.getArgument(0);
+            return WriteStatus.applied(mutation.trackingId(), mutation.seq());
+        }).when(applier).apply(any());
+        ReflectionTestUtils.setField(queue, "capacity", 2);
+        queue.start();
+
+        queue.submit(MutationType.CREATE_BOOK, null, book("a"));
+        queue.submit(MutationType.CREATE_BOOK, null, book("b"));
+
+        assertThatThrownBy(() -> queue.submit(MutationType.CREATE_BOOK, null, book("c")))
+                .isInstanceOf(QueueFullException.class)
+                .satisfies(e -> assertThat(((QueueFullException) e).getRetryAfter()).isPositive());
+        release.countDown();
+    }
+
+    @Test
+    void failedBatchIsRetriedOneMutationAtATime() throws Exception {
+        AtomicInteger transactions = new AtomicInteger();
+        doAnswer(invocation -> {
+            Object result = invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            if (transactions.incrementAndGet() == 1 && result instanceof List<?>) {
+                throw new DataIntegrityViolationException("Duplicate ISBN");
+            }
+            return result;
+        }).when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            Mutation mutation = invocation.getArgument(0);
+            if (mutation.payload().get("title").asText().equals("bad") && transactions.get() > 0) {
+                throw new DataIntegrityViolationException("Duplicate ISBN");
+            }
+            return WriteStatus.applied(mutation.trackingId(), mutation.seq());
+        }).when(applier).apply(any());
+        ReflectionTestUtils.setField(queue, "maxDelay", Duration.ofMillis(200));
+        queue.start();
+
+        String good = queue.submit(MutationType.CREATE_BOOK, null, book("good")).trackingId();
+        String bad = queue.submit(MutationType.CREATE_BOOK, null, book("bad")).trackingId();
+        awaitApplied(List.of(good, bad));
+
+        assertThat(queue.status(good).orElseThrow().state()).isEqualTo(WriteStatus.State.APPLIED);
+        assertThat(queue.status(bad).orElseThrow().state()).isEqualTo(WriteStatus.State.FAILED);
+        assertThat(queue.status(bad).orElseThrow().message()).isEqualTo("Duplicate ISBN");
+    }
+
+    @Test
+    void staleVersionFailsAloneAndLaterMutationsApply() throws Exception {
+        doAnswer(invocation -> {
+            Mutation mutation = invocation.getArgument(0);
+            if (mutation.payload().get("title").asText().equals("stale")) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            applied.add(mutation.payload().get("title").asText());
+            return WriteStatus.applied(mutation.trackingId(), mutation.seq());
+        }).when(applier).apply(any());
+        ReflectionTestUtils.setField(queue, "maxDelay", Duration.ofMillis(200));
+        queue.start();
+
+        String stale = queue.submit(MutationType.UPDATE_BOOK, 1L, book("stale")).trackingId();
+        String valid = queue.submit(MutationType.UPDATE_BOOK, 2L, book("valid")).trackingId();
+        awaitApplied(List.of(stale, valid));
+
+        assertThat(queue.status(stale).orElseThrow().state()).isEqualTo(WriteStatus.State.FAILED);
+        assertThat(queue.status(stale).orElseThrow().message()).contains("stale");
+        assertThat(queue.status(valid).orElseThrow().state()).isEqualTo(WriteStatus.State.APPLIED);
+        assertThat(applied).containsExactly("valid");
+        assertThat(queue.depth()).isZero();
+    }
+
+    @Test
+    void pendingMutationsAreReplayedAfterRestart() throws Exception {
+        doThrow(new CannotCreateTransactionException("database down")).when(transactionTemplate).execute(any());
+        queue.start();
+        String trackingId = queue.submit(MutationType.CREATE_BOOK, null, book("survivor")).trackingId();
+        queue.stop();
+
+        WriteBehindQueue restarted = new WriteBehindQueue();
+        configure(restarted);
+        ReflectionTestUtils.setField(restarted, "applier", applier);
+        ReflectionTestUtils.setField(restarted, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(restarted, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(restarted, "meterRegistry", meterRegistry);
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            Mutation mutation = invocation.getArgument(0);
+            applied.add(mutation.payload().get("title").asText());
+            return WriteStatus.applied(mutation.trackingId(), 42L);
+        }).when(applier).apply(any());
+        restarted.start();
+        try {
+            awaitApplied(restarted, List.of(trackingId));
+            assertThat(applied).containsExactly("survivor");
+            assertThat(restarted.status(trackingId).orElseThrow().entityId()).isEqualTo(42L);
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    private void configure(WriteBehindQueue target) {
+        ReflectionTestUtils.setField(target, "directory", directory);
+        ReflectionTestUtils.setField(target, "maxDelay", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(target, "segmentSize", DataSize.ofKilobytes(64));
+    }
+
+    private void awaitApplied(List<String> trackingIds) throws InterruptedException {
+        awaitApplied(queue, trackingIds);
+    }
+
+    private static void awaitApplied(WriteBehindQueue target, List<String> trackingIds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (trackingIds.stream().anyMatch(id -> target.status(id).orElseThrow().state() == WriteStatus.State.PENDING)) {
+            assertThat(System.nanoTime()).as("mutations applied in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        return book;
+    }
+}